@@ -0,0 +1,39 @@
+/**
+ * @file BenchmarkMain.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH entry point accepting the regular JMH command line, always adding the gc and peak heap profilers
+ * so every result reports the allocation rate and peak heap next to the score.
+ */
+public class BenchmarkMain {
+
+	public static void main( String[] args ) throws CommandLineOptionException, RunnerException, IOException {
+		CommandLineOptions commandLine = new CommandLineOptions( args );
+		if ( commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats() ) {
+			org.openjdk.jmh.Main.main( args );
+			return;
+		}
+		Options options = new OptionsBuilder()
+				.parent( commandLine )
+				.addProfiler( GCProfiler.class )
+				.addProfiler( PeakHeapProfiler.class )
+				.build();
+		new Runner( options ).run();
+	}
+}
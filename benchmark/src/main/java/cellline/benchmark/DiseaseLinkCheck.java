@@ -0,0 +1,137 @@
+/**
+ * @file DiseaseLinkCheck.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import cellline.application.AsyncLogging;
+import cellline.match.DiseaseMatcher;
+import cellline.match.EntityFeatures;
+import cellline.model.DiseaseOntologyModel;
+import cellline.model.EFOOntologyModel;
+import cellline.object.CrossReference;
+import cellline.object.Disease;
+
+/**
+ * Checks the disease link fast path on chains of cell line diseases joined by DOID diseases cross referencing
+ * two of them, such as A - DOID 1 - C - DOID 3 - E. Neighbours of a chain share a linked DOID disease and
+ * match, the ends of a chain do not match through it. The content match of every pair must stay the one of
+ * merging the linked DOID diseases into each disease and comparing them with Disease.equals().
+ */
+public class DiseaseLinkCheck {
+
+	static final Logger logger = LoggerFactory.getLogger( DiseaseLinkCheck.class );
+
+	private List<String> failures = new ArrayList<String>();
+
+	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
+		if ( !new DiseaseLinkCheck().run() )
+			System.exit( -1 );
+	}
+
+	/**
+	 * @return false if any pair of the chains does not match as expected
+	 */
+	public boolean run() {
+		// A - DOID 1 - C - DOID 3 - E
+		List<Disease> chain = chain( "A", "C", "E" );
+		this.checkLink( chain.get( 0 ), chain.get( 1 ), true );
+		this.checkLink( chain.get( 1 ), chain.get( 2 ), true );
+		this.checkLink( chain.get( 0 ), chain.get( 2 ), false );
+		for ( int i = 0; i < chain.size(); i ++ )
+			for ( int j = 0; j < chain.size(); j ++ )
+				this.checkContent( chain.get( i ), chain.get( j ) );
+
+		// A - DOID 1 - B - DOID 2 - C - DOID 3 - E, whose ends share nothing even after one hop
+		chain = chain( "A", "B", "C", "E" );
+		this.checkLink( chain.get( 0 ), chain.get( 3 ), false );
+		this.check( !matchContent( chain.get( 0 ), chain.get( 3 ) ), "A and E of a four disease chain match by content" );
+		for ( int i = 0; i < chain.size(); i ++ )
+			for ( int j = 0; j < chain.size(); j ++ )
+				this.checkContent( chain.get( i ), chain.get( j ) );
+
+		if ( this.failures.isEmpty() ) {
+			logger.info( "Disease links match neighbours only and the content match is unchanged" );
+			return true;
+		}
+		for ( String failure : this.failures )
+			logger.error( failure );
+		return false;
+	}
+
+	/**
+	 * @return the cell line diseases named by the letters, each two neighbours cross referenced by one DOID disease,
+	 *         linked to the DOID diseases as EFOCLOMapping links them
+	 */
+	static List<Disease> chain( String... letters ) {
+		List<Disease> diseases = new ArrayList<Disease>();
+		for ( String letter : letters ) {
+			Disease disease = new Disease( "EFO", "000000" + ( letter.charAt( 0 ) - 'A' + 1 ) );
+			disease.setName( "disease " + letter );
+			diseases.add( disease );
+		}
+		for ( int i = 0; i + 1 < diseases.size(); i ++ ) {
+			Disease linked = new Disease( "DOID", String.valueOf( i + 1 ) );
+			linked.setName( "linked disease " + ( i + 1 ) );
+			linked.addCrossReferences( new CrossReference( diseases.get( i ).getAccession() ) );
+			linked.addCrossReferences( new CrossReference( diseases.get( i + 1 ).getAccession() ) );
+			link( diseases.get( i ), linked );
+			link( diseases.get( i + 1 ), linked );
+		}
+		return diseases;
+	}
+
+	private static void link( Disease disease, Disease linked ) {
+		List<Disease> crossReferenceDiseases = new ArrayList<Disease>( disease.getCrossReferenceDiseases() );
+		crossReferenceDiseases.add( linked );
+		disease.setCrossReferenceDiseases( crossReferenceDiseases );
+	}
+
+	private void checkLink( Disease source, Disease target, boolean expected ) {
+		boolean linked = EntityFeatures.of( source, null ).matchLinked( EntityFeatures.of( target, null ) );
+		this.check( linked == expected, source.getName() + " and " + target.getName() + ( expected ? " not" : "" ) + " linked" );
+		this.check( !linked || matchContent( source, target ), source.getName() + " and " + target.getName() + " linked but not matching by content" );
+	}
+
+	private void checkContent( Disease source, Disease target ) {
+		boolean expected = merged( source ).equals( merged( target ) );
+		this.check( matchContent( source, target ) == expected, source.getName() + " and " + target.getName()
+				+ ( expected ? " not" : "" ) + " matching by content, unlike after merging their linked diseases" );
+	}
+
+	private static boolean matchContent( Disease source, Disease target ) {
+		// No semantic match, so no DOID or EFO model to load
+		DiseaseMatcher matcher = new DiseaseMatcher( (DiseaseOntologyModel) null, (EFOOntologyModel) null );
+		matcher.setSource( source );
+		matcher.setTarget( target );
+		return matcher.matchContent();
+	}
+
+	/**
+	 * @return a copy of the disease with its linked DOID diseases merged into it
+	 */
+	private static Disease merged( Disease disease ) {
+		Disease copy = new Disease( disease.getAccession() );
+		copy.setName( disease.getName() );
+		copy.addAllSynonyms( disease.getSynonyms() );
+		copy.addAllCrossReferences( disease.getCrossReferences() );
+		for ( Disease linked : disease.getCrossReferenceDiseases() )
+			copy.merge( linked );
+		return copy;
+	}
+
+	private void check( boolean condition, String description ) {
+		if ( !condition )
+			this.failures.add( description );
+	}
+}
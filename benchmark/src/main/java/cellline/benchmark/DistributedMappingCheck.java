@@ -0,0 +1,266 @@
+/**
+ * @file DistributedMappingCheck.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+import cellline.application.AsyncLogging;
+import cellline.application.EFOCLOMapping;
+
+/**
+ * Localhost check of the distributed mapping mode: maps the same input once in a single process and once
+ * with a coordinator and several worker processes, then compares the four mapping files line by line,
+ * ignoring their order. Every run gets its own directory under the output path with the mapping, the
+ * metrics report and the log of each process.
+ */
+public class DistributedMappingCheck {
+	/*
+	 * args4j options declaration
+	 */
+	@Option(
+			name = "-s",
+			usage = "Source[EFO] owl file path.",
+			required = false,
+			aliases = {"--source-file", "--source"},
+			forbids = {"--synthetic-scale"}
+			)
+	private String efoFileName;
+	@Option(
+			name = "-i",
+			usage = "Intermediate[Cellosaurus] txt data file path.",
+			required = false,
+			aliases = {"--intermediate-file", "--intermediate"},
+			forbids = {"--synthetic-scale"}
+			)
+	private String clsFileName;
+	@Option(
+			name = "-t",
+			usage = "Target[CLO] ontology owl file path.",
+			required = false,
+			aliases = {"--target-file"},
+			forbids = {"--synthetic-scale"}
+			)
+	private String cloFileName;
+	@Option(
+			name = "--doid-file",
+			usage = "Disease ontology owl file path, instead of the bundled DOID.",
+			required = false
+			)
+	private String doidFileName;
+	@Option(
+			name = "--synthetic-scale",
+			usage = "Map SyntheticDataGenerator data of this scale instead of -s, -i and -t.",
+			required = false
+			)
+	private Integer syntheticScale;
+	@Option(
+			name = "-o",
+			usage = "Output directory path for the mapping runs.",
+			required = true,
+			aliases = {"--output-path"}
+			)
+	private String outputDirectory;
+	@Option(
+			name = "--workers",
+			usage = "Number of worker processes (default 3).",
+			required = false
+			)
+	private int workerCount = 3;
+	@Option(
+			name = "--batch-size",
+			usage = "Number of EFO cell lines per coordinator batch (default 4, small so that every worker gets batches).",
+			required = false
+			)
+	private int batchSize = 4;
+
+	static final Logger logger = LoggerFactory.getLogger( DistributedMappingCheck.class );
+
+	public static final String[] MAPPING_FILE_NAMES = { EFOCLOMapping.EXACT_VALID_FILE_NAME, EFOCLOMapping.EXACT_INVALID_FILE_NAME,
+			EFOCLOMapping.MULTI_FILE_NAME, EFOCLOMapping.FUZZY_FILE_NAME };
+
+	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
+		if ( !new DistributedMappingCheck().run( args ) )
+			System.exit( -1 );
+	}
+
+	/**
+	 * @return false if a process failed or the distributed mapping differs from the single process one
+	 */
+	public boolean run( String[] args ) {
+		CmdLineParser parser = new CmdLineParser( this );
+
+		// Load arguments
+		try {
+			parser.parseArgument( args );
+		} catch( CmdLineException e ) {
+			logger.error( "Incorrect arguments" );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+		if ( this.syntheticScale == null && ( this.efoFileName == null || this.clsFileName == null || this.cloFileName == null ) ) {
+			logger.error( "Either -s, -i and -t or --synthetic-scale is required" );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+		if ( this.workerCount < 1 || this.batchSize < 1 ) {
+			logger.error( "Incorrect number of workers or batch size" );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+
+		File directory = new File( this.outputDirectory );
+		directory.mkdirs();
+		if ( this.syntheticScale != null ) {
+			File inputDirectory = new File( directory, "synthetic" );
+			new SyntheticDataGenerator().run( new String[] { "-o", inputDirectory.getPath(), "--scale", this.syntheticScale.toString() } );
+			this.efoFileName = new File( inputDirectory, SyntheticDataGenerator.EFO_FILE_NAME ).getPath();
+			this.clsFileName = new File( inputDirectory, SyntheticDataGenerator.CELLOSAURUS_FILE_NAME ).getPath();
+			this.cloFileName = new File( inputDirectory, SyntheticDataGenerator.CLO_FILE_NAME ).getPath();
+			this.doidFileName = new File( inputDirectory, SyntheticDataGenerator.DOID_FILE_NAME ).getPath();
+		}
+
+		File singleDirectory = new File( directory, "single" );
+		File distributedDirectory = new File( directory, "distributed" );
+		try {
+			// Single process
+			logger.info( "Mapping in a single process to {}", singleDirectory.getPath() );
+			Process single = this.startMapping( singleDirectory, "mapping" );
+			if ( single.waitFor() != 0 ) {
+				logger.error( "Single process mapping failed, see {}", new File( singleDirectory, "mapping.log" ).getPath() );
+				return false;
+			}
+
+			// Coordinator and workers
+			int port;
+			ServerSocket probe = new ServerSocket( 0 );
+			try {
+				port = probe.getLocalPort();
+			} finally {
+				probe.close();
+			}
+			logger.info( "Mapping with a coordinator on port {} and {} workers to {}", port, this.workerCount, distributedDirectory.getPath() );
+			Process coordinator = this.startMapping( distributedDirectory, "coordinator",
+					"--coordinator-port", String.valueOf( port ), "--batch-size", String.valueOf( this.batchSize ) );
+			List<Process> workers = new ArrayList<Process>();
+			for ( int i = 1; i <= this.workerCount; i ++ )
+				workers.add( this.startMapping( new File( distributedDirectory, "worker" + i ), "worker", "--worker", "localhost:" + port ) );
+			boolean workersDone = true;
+			for ( int i = 0; i < workers.size(); i ++ ) {
+				if ( workers.get( i ).waitFor() != 0 ) {
+					logger.error( "Worker {} failed, see {}", i + 1, new File( distributedDirectory, "worker" + ( i + 1 ) + File.separator + "worker.log" ).getPath() );
+					workersDone = false;
+				}
+			}
+			// Without any worker left the coordinator would wait forever for the outstanding batches
+			if ( !workersDone ) {
+				coordinator.destroy();
+				return false;
+			}
+			if ( coordinator.waitFor() != 0 ) {
+				logger.error( "Coordinator failed, see {}", new File( distributedDirectory, "coordinator.log" ).getPath() );
+				return false;
+			}
+		} catch ( IOException e ) {
+			logger.error( "Fail to run the mapping processes", e );
+			return false;
+		} catch ( InterruptedException e ) {
+			logger.error( "Interrupted while waiting for the mapping processes" );
+			return false;
+		}
+
+		// Compare
+		boolean identical = true;
+		for ( String name : MAPPING_FILE_NAMES ) {
+			String singleFileName = EFOCLOMapping.getOutputFileName( singleDirectory.getPath() + File.separator, name, "" );
+			String distributedFileName = EFOCLOMapping.getOutputFileName( distributedDirectory.getPath() + File.separator, name, "" );
+			try {
+				List<String> expected = readSortedLines( new File( singleFileName ) );
+				List<String> actual = readSortedLines( new File( distributedFileName ) );
+				if ( expected.equals( actual ) ) {
+					logger.info( "{}: {} identical lines", name, expected.size() );
+				} else {
+					logger.error( "{}: {} lines in a single process, {} distributed, {} missing and {} extra", name, expected.size(), actual.size(),
+							countMissing( expected, actual ), countMissing( actual, expected ) );
+					identical = false;
+				}
+			} catch ( IOException e ) {
+				logger.error( "Fail to compare mapping output: " + name, e );
+				identical = false;
+			}
+		}
+		if ( identical )
+			logger.info( "Distributed mapping with {} workers is identical to the single process mapping", this.workerCount );
+		return identical;
+	}
+
+	/**
+	 * Start EFOCLOMapping in a new JVM with this JVM's class path and options, logging to name.log in the directory.
+	 */
+	private Process startMapping( File directory, String name, String... options ) throws IOException {
+		directory.mkdirs();
+		List<String> command = new ArrayList<String>();
+		command.add( System.getProperty( "java.home" ) + File.separator + "bin" + File.separator + "java" );
+		command.addAll( ManagementFactory.getRuntimeMXBean().getInputArguments() );
+		command.add( "-cp" );
+		command.add( System.getProperty( "java.class.path" ) );
+		command.add( EFOCLOMapping.class.getName() );
+		command.add( "-s" );
+		command.add( this.efoFileName );
+		command.add( "-i" );
+		command.add( this.clsFileName );
+		command.add( "-t" );
+		command.add( this.cloFileName );
+		command.add( "-o" );
+		command.add( directory.getPath() + File.separator );
+		if ( this.doidFileName != null ) {
+			command.add( "--doid-file" );
+			command.add( this.doidFileName );
+		}
+		command.add( "--quiet-scoring" );
+		Collections.addAll( command, options );
+		ProcessBuilder builder = new ProcessBuilder( command );
+		builder.redirectErrorStream( true );
+		builder.redirectOutput( new File( directory, name + ".log" ) );
+		return builder.start();
+	}
+
+	private static List<String> readSortedLines( File file ) throws IOException {
+		if ( !file.exists() )
+			return Collections.emptyList();
+		List<String> lines = new ArrayList<String>( Files.readLines( file, Charsets.UTF_8 ) );
+		Collections.sort( lines );
+		return lines;
+	}
+
+	/**
+	 * @return the number of lines of the first sorted list not in the second
+	 */
+	private static int countMissing( List<String> lines, List<String> reference ) {
+		int missing = 0;
+		for ( String line : lines )
+			if ( Collections.binarySearch( reference, line ) < 0 )
+				missing ++;
+		return missing;
+	}
+}
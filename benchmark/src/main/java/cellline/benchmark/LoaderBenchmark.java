@@ -0,0 +1,341 @@
+/**
+ * @file LoaderBenchmark.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import cellline.model.CLOOntologyModel;
+import cellline.model.CellosaurusModel;
+import cellline.model.DiseaseOntologyModel;
+import cellline.model.EFOOntologyModel;
+import cellline.model.InferenceCache;
+import cellline.model.OntologyModel;
+
+/**
+ * Single shot time of loading the EFO, CLO, DOID and Cellosaurus inputs, and of every parse phase
+ * of the ontology models, run with {@link PeakHeapProfiler} so each phase also reports its peak heap.
+ * The checked-in fixtures are used unless a release is given, e.g. -p efoFile=/path/to/efo.owl, and the
+ * ontologies are converted to every input format OntologyModel detects, e.g. -p format=obographs for one.
+ * cloInference compares HermiT with the EL reasoner selection, and a cold run with a warm inference cache.
+ */
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 10 )
+@Fork( value = 1, jvmArgsAppend = { "-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED" } )
+public class LoaderBenchmark {
+
+	public static final String EFO_FIXTURE = "fixtures/efo-fixture.owl";
+	public static final String CLO_FIXTURE = "fixtures/clo-fixture.owl";
+	public static final String DOID_FIXTURE = "fixtures/doid-fixture.owl";
+	public static final String CELLOSAURUS_FIXTURE = "fixtures/cellosaurus-fixture.txt";
+
+	/**
+	 * Parse phases of the EFO and CLO models, in the order their constructors run them.
+	 */
+	public static final List<String> PHASES = Arrays.asList( "cellTypes", "organismParts", "diseases", "cellLines" );
+
+	@State( Scope.Benchmark )
+	public static class Inputs {
+
+		/**
+		 * Input files, empty for the checked-in fixtures
+		 */
+		@Param( "" )
+		public String efoFile;
+		@Param( "" )
+		public String cloFile;
+		@Param( "" )
+		public String doidFile;
+		@Param( "" )
+		public String cellosaurusFile;
+		/**
+		 * Format the EFO, CLO and DOID inputs are converted to before loading: rdfxml as given, rdfxml.gz,
+		 * functional syntax or obographs JSON
+		 */
+		@Param( { "rdfxml", "rdfxml.gz", "functional", "obographs" } )
+		public String format;
+		/**
+		 * Parse workers of the EFO and CLO phases, e.g. -p parseThreads=1,4 for the parallel parse speedup
+		 */
+		@Param( "1" )
+		public int parseThreads;
+
+		File efo;
+		File clo;
+		File doid;
+		File cellosaurus;
+
+		@Setup( Level.Trial )
+		public void setUp() throws IOException, OWLException {
+			OntologyModel.setParseThreads( this.parseThreads );
+			this.efo = convert( resolve( this.efoFile, EFO_FIXTURE ), this.format );
+			this.clo = convert( resolve( this.cloFile, CLO_FIXTURE ), this.format );
+			this.doid = convert( resolve( this.doidFile, DOID_FIXTURE ), this.format );
+			this.cellosaurus = resolve( this.cellosaurusFile, CELLOSAURUS_FIXTURE );
+		}
+
+		private static File convert( File owlFile, String format ) throws IOException, OWLException {
+			if ( format.equals( "rdfxml" ) )
+				return owlFile;
+			String name = owlFile.getName();
+			name = name.substring( 0, name.lastIndexOf( '.' ) );
+			File converted;
+			if ( format.equals( "rdfxml.gz" ) ) {
+				converted = File.createTempFile( name, ".owl.gz" );
+				OutputStream output = new GZIPOutputStream( new FileOutputStream( converted ) );
+				try {
+					Files.copy( owlFile.toPath(), output );
+				} finally {
+					output.close();
+				}
+			} else {
+				OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+				OWLOntology ontology = manager.loadOntologyFromOntologyDocument( owlFile );
+				if ( format.equals( "functional" ) ) {
+					converted = File.createTempFile( name, ".ofn" );
+					manager.saveOntology( ontology, new FunctionalSyntaxDocumentFormat(), IRI.create( converted ) );
+				} else if ( format.equals( "obographs" ) ) {
+					converted = File.createTempFile( name, ".json" );
+					OboGraphWriter.write( ontology, converted );
+				} else
+					throw new IllegalArgumentException( "Unknown ontology format: " + format );
+			}
+			converted.deleteOnExit();
+			return converted;
+		}
+
+		private static File resolve( String file, String fixture ) throws IOException {
+			if ( !file.isEmpty() )
+				return new File( file );
+			String name = new File( fixture ).getName();
+			File copy = File.createTempFile( name.substring( 0, name.indexOf( '.' ) ), name.substring( name.indexOf( '.' ) ) );
+			copy.deleteOnExit();
+			InputStream input = LoaderBenchmark.class.getClassLoader().getResourceAsStream( fixture );
+			try {
+				Files.copy( input, copy.toPath(), StandardCopyOption.REPLACE_EXISTING );
+			} finally {
+				input.close();
+			}
+			return copy;
+		}
+	}
+
+	/**
+	 * EFO model loaded and parsed up to, not including, the measured phase.
+	 */
+	@State( Scope.Thread )
+	public static class EFOPhase {
+
+		@Param( { "cellTypes", "organismParts", "diseases", "cellLines" } )
+		public String efoPhase;
+
+		EFOOntologyModel model;
+
+		@Setup( Level.Iteration )
+		public void setUp( Inputs inputs ) {
+			this.model = new EFOOntologyModel();
+			this.model.loadFromFile( inputs.efo );
+			for ( String phase : PHASES.subList( 0, PHASES.indexOf( this.efoPhase ) ) )
+				parse( this.model, phase );
+			System.gc();
+			PeakHeapProfiler.reset();
+		}
+
+		static void parse( EFOOntologyModel model, String phase ) {
+			switch ( phase ) {
+			case "cellTypes":
+				model.parseCellTypesFromOntology();
+				break;
+			case "organismParts":
+				model.parseOrganismPartsFromOntology();
+				break;
+			case "diseases":
+				model.parseDiseasesFromOntology();
+				break;
+			case "cellLines":
+				model.parseCellLinesFromOntology();
+				break;
+			default:
+				throw new IllegalArgumentException( "Unknown EFO parse phase: " + phase );
+			}
+		}
+	}
+
+	/**
+	 * CLO model loaded and parsed up to, not including, the measured phase.
+	 */
+	@State( Scope.Thread )
+	public static class CLOPhase {
+
+		@Param( { "cellTypes", "organismParts", "diseases", "cellLines" } )
+		public String cloPhase;
+
+		CLOOntologyModel model;
+
+		@Setup( Level.Iteration )
+		public void setUp( Inputs inputs ) {
+			this.model = new CLOOntologyModel();
+			this.model.loadFromFile( inputs.clo );
+			for ( String phase : PHASES.subList( 0, PHASES.indexOf( this.cloPhase ) ) )
+				parse( this.model, phase );
+			System.gc();
+			PeakHeapProfiler.reset();
+		}
+
+		static void parse( CLOOntologyModel model, String phase ) {
+			switch ( phase ) {
+			case "cellTypes":
+				model.parseCellTypesFromOntology();
+				break;
+			case "organismParts":
+				model.parseOrganismPartsFromOntology();
+				break;
+			case "diseases":
+				model.parseDiseasesFromOntology();
+				break;
+			case "cellLines":
+				model.parseCellLinesFromOntology();
+				break;
+			default:
+				throw new IllegalArgumentException( "Unknown CLO parse phase: " + phase );
+			}
+		}
+	}
+
+	/**
+	 * DOID model loaded but not parsed.
+	 */
+	@State( Scope.Thread )
+	public static class DOIDPhase {
+
+		DiseaseOntologyModel model;
+
+		@Setup( Level.Iteration )
+		public void setUp( Inputs inputs ) {
+			this.model = new DiseaseOntologyModel( inputs.doid, false );
+			System.gc();
+			PeakHeapProfiler.reset();
+		}
+	}
+
+	/**
+	 * CLO model loaded for computeInference(), with an inference cache filled by a first run when cached.
+	 */
+	@State( Scope.Thread )
+	public static class InferencePhase {
+
+		@Param( { "hermit", "auto" } )
+		public String reasoner;
+		@Param( { "false", "true" } )
+		public boolean cached;
+
+		CLOOntologyModel model;
+
+		@Setup( Level.Iteration )
+		public void setUp( Inputs inputs ) throws IOException {
+			if ( OntologyModel.getInferenceCache() == null || !this.cached ) {
+				OntologyModel.setReasoner( this.reasoner );
+				OntologyModel.setInferenceCache( null );
+				if ( this.cached ) {
+					File directory = Files.createTempDirectory( "inference" ).toFile();
+					directory.deleteOnExit();
+					OntologyModel.setInferenceCache( new InferenceCache( directory ) );
+					CLOOntologyModel model = new CLOOntologyModel();
+					model.loadFromFile( inputs.clo );
+					model.computeInference();
+					for ( File file : directory.listFiles() )
+						file.deleteOnExit();
+				}
+			}
+			this.model = new CLOOntologyModel();
+			this.model.loadFromFile( inputs.clo );
+			System.gc();
+			PeakHeapProfiler.reset();
+		}
+	}
+
+	@Benchmark
+	public EFOOntologyModel efoLoad( Inputs inputs ) {
+		EFOOntologyModel model = new EFOOntologyModel();
+		model.loadFromFile( inputs.efo );
+		return model;
+	}
+
+	@Benchmark
+	public EFOOntologyModel efoParse( EFOPhase phase ) {
+		EFOPhase.parse( phase.model, phase.efoPhase );
+		return phase.model;
+	}
+
+	@Benchmark
+	public CLOOntologyModel cloLoad( Inputs inputs ) {
+		CLOOntologyModel model = new CLOOntologyModel();
+		model.loadFromFile( inputs.clo );
+		return model;
+	}
+
+	@Benchmark
+	public CLOOntologyModel cloParse( CLOPhase phase ) {
+		CLOPhase.parse( phase.model, phase.cloPhase );
+		return phase.model;
+	}
+
+	@Benchmark
+	public DiseaseOntologyModel doidLoad( Inputs inputs ) {
+		return new DiseaseOntologyModel( inputs.doid, false );
+	}
+
+	@Benchmark
+	public DiseaseOntologyModel doidParseDiseases( DOIDPhase phase ) {
+		phase.model.parseDiseasesFromOntology();
+		return phase.model;
+	}
+
+	@Benchmark
+	public CLOOntologyModel cloInference( InferencePhase phase ) {
+		phase.model.computeInference();
+		return phase.model;
+	}
+
+	@Benchmark
+	public CellosaurusModel cellosaurusLoad( Inputs inputs ) {
+		CellosaurusModel model = new CellosaurusModel();
+		model.loadFromFile( inputs.cellosaurus );
+		return model;
+	}
+}
@@ -0,0 +1,121 @@
+/**
+ * @file LoggingBenchmark.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cost for a scoring thread of logging one mapping line, as MatchThread does per match, with the former
+ * configuration (synchronous appender with file and line location) and the log4j.xml one (asynchronous
+ * appender without location), with the message level enabled or filtered out.
+ *
+ * The appenders write to a discarding writer, so the score is the overhead of the logging pipeline itself.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Threads( 4 )
+@Fork( value = 1, jvmArgsAppend = { "-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED" } )
+public class LoggingBenchmark {
+
+	public static final String SYNC_PATTERN = "%-4r %5p [%t] (%F:%L) - %m%n";
+	public static final String ASYNC_PATTERN = "%-4r %5p [%t] (%c{1}) - %m%n";
+
+	@State( Scope.Benchmark )
+	public static class Appenders {
+
+		@Param( { "sync", "async" } )
+		public String appender;
+
+		/**
+		 * Root logger level, WARN filters out the INFO mapping lines.
+		 */
+		@Param( { "INFO", "WARN" } )
+		public String level;
+
+		Logger logger;
+
+		@Setup( org.openjdk.jmh.annotations.Level.Trial )
+		public void setUp() {
+			LogManager.resetConfiguration();
+			org.apache.log4j.Logger root = LogManager.getRootLogger();
+			root.setLevel( Level.toLevel( this.level ) );
+			Writer discard = new Writer() {
+				@Override
+				public void write( char[] buffer, int offset, int length ) {}
+				@Override
+				public void flush() {}
+				@Override
+				public void close() {}
+			};
+			if ( this.appender.equals( "async" ) ) {
+				AsyncAppender async = new AsyncAppender();
+				async.setBufferSize( 8192 );
+				async.setBlocking( false );
+				async.setLocationInfo( false );
+				async.addAppender( new WriterAppender( new PatternLayout( ASYNC_PATTERN ), discard ) );
+				root.addAppender( async );
+			} else {
+				root.addAppender( new WriterAppender( new PatternLayout( SYNC_PATTERN ), discard ) );
+			}
+			this.logger = LoggerFactory.getLogger( LoggingBenchmark.class );
+		}
+
+		@TearDown( org.openjdk.jmh.annotations.Level.Trial )
+		public void tearDown() {
+			LogManager.shutdown();
+		}
+	}
+
+	@State( Scope.Thread )
+	public static class Mapping {
+
+		String efoAccession = "EFO_0002179";
+		String cloAccession = "CLO_0003684";
+		int score = 7;
+	}
+
+	/**
+	 * String.format evaluated before the level check, as MatchThread did.
+	 */
+	@Benchmark
+	public void eagerFormat( Appenders appenders, Mapping mapping ) {
+		appenders.logger.info( String.format( "[%s] inexact mapping with score (%d)%s", mapping.efoAccession, mapping.score, mapping.cloAccession ) );
+	}
+
+	/**
+	 * Parameterized message, only formatted if the level is enabled.
+	 */
+	@Benchmark
+	public void parameterized( Appenders appenders, Mapping mapping ) {
+		appenders.logger.info( "[{}] inexact mapping with score ({}){}", mapping.efoAccession, mapping.score, mapping.cloAccession );
+	}
+}
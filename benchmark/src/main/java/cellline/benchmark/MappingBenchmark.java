@@ -0,0 +1,377 @@
+/**
+ * @file MappingBenchmark.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Stopwatch;
+import com.google.common.io.Files;
+
+import au.com.bytecode.opencsv.CSVReader;
+import cellline.application.AsyncLogging;
+import cellline.application.EFOCLOMapping;
+
+/**
+ * End-to-end run of EFOCLOMapping on a fixed input set, reporting wall time, pairs compared and throughput,
+ * and the precision and recall of the mapping against the curated EFO-CLO map:
+ *
+ *   exact:   the exact valid, exact invalid and multi outputs against the Exact_Valid, Exact_Invalid and Multi rows
+ *   inexact: the inexact candidates against the Inexact rows
+ *
+ * Only EFO cell lines of the curated EFO-CLO rows are counted, the curated map does not cover the others.
+ * The run fails if any precision or recall is below its floor, by default the bundled floor of the curated
+ * EFO_CLO_FINAL_MAP.csv, which is not applied to another expected map unless given with --floor.
+ * With a baseline report from an earlier run, the run also fails if any precision or recall drops by more
+ * than the tolerance, and the speedup over the baseline is reported.
+ */
+public class MappingBenchmark {
+	/*
+	 * args4j options declaration
+	 */
+	@Option(
+			name = "-s",
+			usage = "Source[EFO] owl file path.",
+			required = false,
+			aliases = {"--source-file", "--source"},
+			forbids = {"--synthetic-scale"}
+			)
+	private String efoFileName;
+	@Option(
+			name = "-i",
+			usage = "Intermediate[Cellosaurus] txt data file path.",
+			required = false,
+			aliases = {"--intermediate-file", "--intermediate"},
+			forbids = {"--synthetic-scale"}
+			)
+	private String clsFileName;
+	@Option(
+			name = "-t",
+			usage = "Target[CLO] ontology owl file path.",
+			required = false,
+			aliases = {"--target-file"},
+			forbids = {"--synthetic-scale"}
+			)
+	private String cloFileName;
+	@Option(
+			name = "--doid-file",
+			usage = "Disease ontology owl file path, instead of the bundled DOID.",
+			required = false
+			)
+	private String doidFileName;
+	@Option(
+			name = "--synthetic-scale",
+			usage = "Map SyntheticDataGenerator data of this scale instead of -s, -i and -t.",
+			required = false
+			)
+	private Integer syntheticScale;
+	@Option(
+			name = "--quiet-scoring",
+			usage = "Run the mapping with --quiet-scoring, to compare the throughput with and without per cell line logging.",
+			required = false
+			)
+	private boolean quietScoring;
+	@Option(
+			name = "-e",
+			usage = "Curated EFO-CLO map csv file path (default EFO_CLO_FINAL_MAP.csv, or the generated map with --synthetic-scale).",
+			required = false,
+			aliases = {"--expected"}
+			)
+	private String expectedFileName;
+	@Option(
+			name = "-o",
+			usage = "Output directory path for the mapping and the benchmark report.",
+			required = true,
+			aliases = {"--output-path"}
+			)
+	private String outputDirectory;
+	@Option(
+			name = "-b",
+			usage = "Baseline benchmark report to compare against.",
+			required = false,
+			aliases = {"--baseline"}
+			)
+	private String baselineFileName;
+	@Option(
+			name = "--tolerance",
+			usage = "Allowed drop of precision and recall against the baseline (default 0).",
+			required = false
+			)
+	private double tolerance = 0.0;
+	@Option(
+			name = "--floor",
+			usage = "Minimum precision and recall json file, with the keys of the report (default the bundled floor for EFO_CLO_FINAL_MAP.csv, only when -e and --synthetic-scale are not given).",
+			required = false
+			)
+	private String floorFileName;
+
+	static final Logger logger = LoggerFactory.getLogger( MappingBenchmark.class );
+
+	public static final String REPORT_FILE_NAME = "benchmark-report.json";
+	public static final String FLOOR_RESOURCE = "fixtures/EFO_CLO_FINAL_MAP-floor.json";
+	public static final String[] QUALITY_METRICS = { "exactPrecision", "exactRecall", "inexactPrecision", "inexactRecall" };
+
+	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
+		if ( !new MappingBenchmark().run( args ) )
+			System.exit( -1 );
+	}
+
+	/**
+	 * @return false if the mapping quality is below the floor or dropped below the baseline
+	 */
+	@SuppressWarnings( "unchecked" )
+	public boolean run( String[] args ) {
+		CmdLineParser parser = new CmdLineParser( this );
+
+		// Load arguments
+		try {
+			parser.parseArgument( args );
+		} catch( CmdLineException e ) {
+			logger.error( "Incorrect arguments" );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+		if ( this.syntheticScale == null && ( this.efoFileName == null || this.clsFileName == null || this.cloFileName == null ) ) {
+			logger.error( "Either -s, -i and -t or --synthetic-scale is required" );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+
+		File directory = new File( this.outputDirectory );
+		directory.mkdirs();
+		if ( this.syntheticScale != null ) {
+			File inputDirectory = new File( directory, "synthetic" );
+			new SyntheticDataGenerator().run( new String[] { "-o", inputDirectory.getPath(), "--scale", this.syntheticScale.toString() } );
+			this.efoFileName = new File( inputDirectory, SyntheticDataGenerator.EFO_FILE_NAME ).getPath();
+			this.clsFileName = new File( inputDirectory, SyntheticDataGenerator.CELLOSAURUS_FILE_NAME ).getPath();
+			this.cloFileName = new File( inputDirectory, SyntheticDataGenerator.CLO_FILE_NAME ).getPath();
+			this.doidFileName = new File( inputDirectory, SyntheticDataGenerator.DOID_FILE_NAME ).getPath();
+			if ( this.expectedFileName == null )
+				this.expectedFileName = new File( inputDirectory, SyntheticDataGenerator.MAP_FILE_NAME ).getPath();
+		}
+
+		// Map
+		String mappingDirectory = directory.getPath() + File.separator;
+		List<String> mappingArgs = new ArrayList<String>();
+		mappingArgs.add( "-s" );
+		mappingArgs.add( this.efoFileName );
+		mappingArgs.add( "-i" );
+		mappingArgs.add( this.clsFileName );
+		mappingArgs.add( "-t" );
+		mappingArgs.add( this.cloFileName );
+		mappingArgs.add( "-o" );
+		mappingArgs.add( mappingDirectory );
+		if ( this.doidFileName != null ) {
+			mappingArgs.add( "--doid-file" );
+			mappingArgs.add( this.doidFileName );
+		}
+		if ( this.quietScoring )
+			mappingArgs.add( "--quiet-scoring" );
+		EFOCLOMapping mapping = new EFOCLOMapping();
+		Stopwatch timer = Stopwatch.createStarted();
+		mapping.run( mappingArgs.toArray( new String[mappingArgs.size()] ) );
+		long wallTime = timer.stop().elapsed( TimeUnit.MILLISECONDS );
+
+		// Score against the curated map
+		boolean curated = this.expectedFileName == null;
+		JSONObject report = new JSONObject();
+		try {
+			Set<String> expectedExact = new HashSet<String>();
+			Set<String> expectedInexact = new HashSet<String>();
+			Set<String> expectedEFO = new HashSet<String>();
+			this.readExpected( expectedExact, expectedInexact, expectedEFO );
+
+			Set<String> predictedExact = new HashSet<String>();
+			readPredicted( EFOCLOMapping.getOutputFileName( mappingDirectory, EFOCLOMapping.EXACT_VALID_FILE_NAME, "" ), expectedEFO, predictedExact );
+			readPredicted( EFOCLOMapping.getOutputFileName( mappingDirectory, EFOCLOMapping.EXACT_INVALID_FILE_NAME, "" ), expectedEFO, predictedExact );
+			readPredicted( EFOCLOMapping.getOutputFileName( mappingDirectory, EFOCLOMapping.MULTI_FILE_NAME, "" ), expectedEFO, predictedExact );
+			Set<String> predictedInexact = new HashSet<String>();
+			readPredicted( EFOCLOMapping.getOutputFileName( mappingDirectory, EFOCLOMapping.FUZZY_FILE_NAME, "" ), expectedEFO, predictedInexact );
+
+			report.put( "wallTimeMillis", wallTime );
+			report.put( "pairsCompared", mapping.getPairsCompared() );
+			report.put( "pairsPerSecond", mapping.getPairsCompared() * 1000.0 / Math.max( wallTime, 1 ) );
+			report.put( "expectedExact", expectedExact.size() );
+			report.put( "predictedExact", predictedExact.size() );
+			report.put( "exactPrecision", precision( predictedExact, expectedExact ) );
+			report.put( "exactRecall", recall( expectedExact, predictedExact ) );
+			report.put( "expectedInexact", expectedInexact.size() );
+			report.put( "predictedInexact", predictedInexact.size() );
+			report.put( "inexactPrecision", precision( predictedInexact, expectedInexact ) );
+			report.put( "inexactRecall", recall( expectedInexact, predictedInexact ) );
+
+			Writer writer = new FileWriter( new File( directory, REPORT_FILE_NAME ) );
+			try {
+				report.writeJSONString( writer );
+			} finally {
+				writer.close();
+			}
+		} catch ( IOException e ) {
+			logger.error( "Fail to score mapping output in: " + mappingDirectory, e );
+			System.exit( -1 );
+		}
+		logger.info( String.format( "Mapped in %d ms, %d pairs compared (%.1f pairs/s)",
+				wallTime, mapping.getPairsCompared(), (Double) report.get( "pairsPerSecond" ) ) );
+		for ( String metric : QUALITY_METRICS )
+			logger.info( String.format( "%s: %.4f", metric, (Double) report.get( metric ) ) );
+
+		// Compare against the floor
+		boolean pass = true;
+		if ( this.floorFileName != null || curated ) {
+			JSONObject floor;
+			try {
+				if ( this.floorFileName != null )
+					floor = readJSON( new FileReader( this.floorFileName ) );
+				else
+					floor = readJSON( new InputStreamReader( MappingBenchmark.class.getClassLoader().getResourceAsStream( FLOOR_RESOURCE ), Charsets.UTF_8 ) );
+			} catch ( IOException | ParseException e ) {
+				logger.error( "Fail to read quality floor: " + ( this.floorFileName != null ? this.floorFileName : FLOOR_RESOURCE ), e );
+				System.exit( -1 );
+				return false;
+			}
+			for ( String metric : QUALITY_METRICS ) {
+				if ( !floor.containsKey( metric ) )
+					continue;
+				double minimum = ( (Number) floor.get( metric ) ).doubleValue();
+				double actual = (Double) report.get( metric );
+				if ( actual < minimum ) {
+					logger.error( String.format( "%s %.4f is below the floor %.4f", metric, actual, minimum ) );
+					pass = false;
+				}
+			}
+		}
+
+		// Compare against the baseline
+		if ( this.baselineFileName == null )
+			return pass;
+		JSONObject baseline;
+		try {
+			baseline = readJSON( new FileReader( this.baselineFileName ) );
+		} catch ( IOException | ParseException e ) {
+			logger.error( "Fail to read baseline report: " + this.baselineFileName, e );
+			System.exit( -1 );
+			return false;
+		}
+		double baselineWallTime = ( (Number) baseline.get( "wallTimeMillis" ) ).doubleValue();
+		logger.info( String.format( "Speedup over baseline: %.2fx (%d ms -> %d ms)", baselineWallTime / Math.max( wallTime, 1 ), (long) baselineWallTime, wallTime ) );
+		for ( String metric : QUALITY_METRICS ) {
+			double expected = ( (Number) baseline.get( metric ) ).doubleValue();
+			double actual = (Double) report.get( metric );
+			if ( actual < expected - this.tolerance ) {
+				logger.error( String.format( "%s dropped from %.4f to %.4f", metric, expected, actual ) );
+				pass = false;
+			}
+		}
+		return pass;
+	}
+
+	/**
+	 * Read a json object, such as a report or a floor, and close the reader.
+	 */
+	private static JSONObject readJSON( Reader reader ) throws IOException, ParseException {
+		try {
+			return (JSONObject) new JSONParser().parse( reader );
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Read the EFO-CLO rows of the curated map as "EFO\tCLO" pairs, exact (Exact_Valid, Exact_Invalid, Multi) and inexact.
+	 */
+	private void readExpected( Set<String> exact, Set<String> inexact, Set<String> efoAccessions ) throws IOException {
+		InputStream input;
+		if ( this.expectedFileName != null )
+			input = new FileInputStream( this.expectedFileName );
+		else
+			input = MappingBenchmark.class.getClassLoader().getResourceAsStream( MatcherFixtures.PAIR_RESOURCE );
+		CSVReader reader = new CSVReader( new InputStreamReader( input, Charsets.UTF_8 ) );
+		try {
+			String[] row = reader.readNext();
+			while ( ( row = reader.readNext() ) != null ) {
+				if ( row.length < 5 || !row[3].equalsIgnoreCase( "EFO-CLO" ) )
+					continue;
+				efoAccessions.add( row[0] );
+				if ( row[4].equalsIgnoreCase( "Inexact" ) )
+					inexact.add( row[0] + "\t" + row[1] );
+				else
+					exact.add( row[0] + "\t" + row[1] );
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Read the "EFO\tCLO" pairs of a mapping output file for the given EFO cell lines.
+	 */
+	private static void readPredicted( String fileName, Set<String> efoAccessions, Set<String> pairs ) throws IOException {
+		if ( !new File( fileName ).exists() )
+			return;
+		CSVReader reader = new CSVReader( Files.newReader( new File( fileName ), Charsets.UTF_8 ) );
+		try {
+			String[] entry = reader.readNext();
+			while ( ( entry = reader.readNext() ) != null ) {
+				if ( entry.length >= 3 && efoAccessions.contains( entry[0] ) )
+					pairs.add( entry[0] + "\t" + entry[2] );
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * @return the fraction of the predicted pairs in the expected ones, 0 without any prediction
+	 */
+	private static double precision( Set<String> predicted, Set<String> expected ) {
+		if ( predicted.isEmpty() )
+			return 0.0;
+		return fraction( predicted, expected );
+	}
+
+	/**
+	 * @return the fraction of the expected pairs in the predicted ones, 1 if nothing is expected
+	 */
+	private static double recall( Set<String> expected, Set<String> predicted ) {
+		if ( expected.isEmpty() )
+			return 1.0;
+		return fraction( expected, predicted );
+	}
+
+	private static double fraction( Set<String> pairs, Set<String> reference ) {
+		int hits = 0;
+		for ( String pair : pairs ) {
+			if ( reference.contains( pair ) )
+				hits ++;
+		}
+		return (double) hits / pairs.size();
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * @file MatcherBenchmark.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cellline.match.CellLineMatcher;
+import cellline.match.DiseaseMatchCache;
+import cellline.match.DiseaseMatcher;
+import cellline.match.SpeciesMatcher;
+import cellline.object.CellLine;
+import cellline.object.Disease;
+import cellline.object.Species;
+
+/**
+ * Throughput of the cell line and attribute matchers on the EFO-CLO pairs of {@link MatcherFixtures}.
+ * Every invocation matches the next pair, so a measurement covers the whole mix of curation types.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( value = 1, jvmArgsAppend = { "-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED" } )
+public class MatcherBenchmark {
+
+	@State( Scope.Benchmark )
+	public static class Fixtures {
+
+		MatcherFixtures fixtures;
+
+		@Setup( Level.Trial )
+		public void setUp() throws Exception {
+			this.fixtures = MatcherFixtures.load();
+		}
+	}
+
+	/**
+	 * Disease semantic match cache shared by all benchmark threads, as in EFOCLOMapping.
+	 */
+	@State( Scope.Benchmark )
+	public static class DiseaseCache {
+
+		@Param( { "false", "true" } )
+		public boolean diseaseCache;
+
+		DiseaseMatchCache cache;
+
+		@Setup( Level.Trial )
+		public void setUp() {
+			if ( this.diseaseCache )
+				this.cache = new DiseaseMatchCache();
+		}
+	}
+
+	@State( Scope.Thread )
+	public static class Matchers {
+
+		CellLineMatcher cellLineMatcher;
+		SpeciesMatcher speciesMatcher;
+		List<CellLine[]> pairs;
+		int cursor = 0;
+
+		@Setup( Level.Trial )
+		public void setUp( Fixtures fixtures ) {
+			this.cellLineMatcher = new CellLineMatcher();
+			this.speciesMatcher = new SpeciesMatcher();
+			this.pairs = fixtures.fixtures.getPairs();
+		}
+
+		CellLine[] next() {
+			CellLine[] pair = this.pairs.get( this.cursor );
+			this.cursor = ( this.cursor + 1 ) % this.pairs.size();
+			return pair;
+		}
+
+		CellLineMatcher cellLineMatcher() {
+			CellLine[] pair = this.next();
+			this.cellLineMatcher.setSource( pair[0] );
+			this.cellLineMatcher.setTarget( pair[1] );
+			return this.cellLineMatcher;
+		}
+	}
+
+	@State( Scope.Thread )
+	public static class DiseaseMatchers {
+
+		DiseaseMatcher diseaseMatcher;
+		List<CellLine[]> pairs;
+		int cursor = 0;
+
+		@Setup( Level.Trial )
+		public void setUp( Fixtures fixtures, DiseaseCache cache ) {
+			this.diseaseMatcher = new DiseaseMatcher( fixtures.fixtures.getDOIDModel(), fixtures.fixtures.getEFOModel() );
+			this.diseaseMatcher.setCache( cache.cache );
+			this.pairs = fixtures.fixtures.getPairs();
+		}
+
+		CellLine[] next() {
+			CellLine[] pair = this.pairs.get( this.cursor );
+			this.cursor = ( this.cursor + 1 ) % this.pairs.size();
+			return pair;
+		}
+	}
+
+	@Benchmark
+	public Boolean cellLineMatch( Matchers matchers ) {
+		return matchers.cellLineMatcher().match();
+	}
+
+	@Benchmark
+	public Boolean cellLineMatchIgnoreCase( Matchers matchers ) {
+		return matchers.cellLineMatcher().matchIgnoreCase();
+	}
+
+	@Benchmark
+	public int shortestSynonymEditDistanceIgnoreCase( Matchers matchers ) {
+		return matchers.cellLineMatcher().getShortestSynonymEditDistanceIgnoreCase();
+	}
+
+	@Benchmark
+	public Boolean matchCrossReferences( Matchers matchers ) {
+		return matchers.cellLineMatcher().matchCrossReferences();
+	}
+
+	/**
+	 * All disease pairs of a cell line pair, as scored by EFOCLOMapping.
+	 */
+	@Benchmark
+	public boolean diseaseMatch( DiseaseMatchers matchers ) {
+		CellLine[] pair = matchers.next();
+		boolean match = false;
+		for ( Disease efoDisease : pair[0].getDiseases() ) {
+			for ( Disease cloDisease : pair[1].getDiseases() ) {
+				matchers.diseaseMatcher.setSource( efoDisease );
+				matchers.diseaseMatcher.setTarget( cloDisease );
+				if ( matchers.diseaseMatcher.match() )
+					match = true;
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * All species pairs of a cell line pair, as scored by EFOCLOMapping.
+	 */
+	@Benchmark
+	public boolean speciesMatch( Matchers matchers ) {
+		CellLine[] pair = matchers.next();
+		boolean match = false;
+		for ( Species efoSpecies : pair[0].getSpecies() ) {
+			for ( Species cloSpecies : pair[1].getSpecies() ) {
+				matchers.speciesMatcher.setSource( efoSpecies );
+				matchers.speciesMatcher.setTarget( cloSpecies );
+				if ( matchers.speciesMatcher.match() )
+					match = true;
+			}
+		}
+		return match;
+	}
+}
@@ -0,0 +1,267 @@
+/**
+ * @file MatcherFixtures.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+import com.google.common.base.Charsets;
+
+import au.com.bytecode.opencsv.CSVReader;
+import cellline.model.CLOOntologyModel;
+import cellline.model.DiseaseOntologyModel;
+import cellline.model.EFOOntologyModel;
+import cellline.model.OntologyModel;
+import cellline.object.CLOCellLine;
+import cellline.object.CellLine;
+import cellline.object.CrossReference;
+import cellline.object.Disease;
+import cellline.object.EFOCellLine;
+import cellline.object.OrganismPart;
+import cellline.object.Species;
+
+/**
+ * EFO-CLO cell line pairs for the matcher benchmarks, one per row of the curated EFO_CLO_FINAL_MAP.csv.
+ *
+ * With -Dbenchmark.efo, -Dbenchmark.clo and -Dbenchmark.doid pointing at real releases the pairs are the
+ * curated cell lines themselves. Otherwise each pair is rebuilt from its curation type (exact valid/invalid,
+ * multi, inexact, Cellosaurus valid/invalid) with cell line style names, synonyms, Cellosaurus cross
+ * references, species and diseases, the diseases backed by small generated DOID and EFO ontologies.
+ */
+public class MatcherFixtures {
+
+	public static final String PAIR_RESOURCE = "fixtures/EFO_CLO_FINAL_MAP.csv";
+	public static final String EFO_FILE_PROPERTY = "benchmark.efo";
+	public static final String CLO_FILE_PROPERTY = "benchmark.clo";
+	public static final String DOID_FILE_PROPERTY = "benchmark.doid";
+
+	private static final String DOID_IRI_FORMAT = "http://purl.obolibrary.org/obo/DOID_%d";
+	private static final String EFO_IRI_FORMAT = "http://www.ebi.ac.uk/efo/EFO_%07d";
+	private static final int DISEASE_GROUPS = 20;
+
+	private List<CellLine[]> pairs = new ArrayList<CellLine[]>();
+	/**
+	 * @return the EFO-CLO cell line pairs
+	 */
+	public List<CellLine[]> getPairs() {
+		return pairs;
+	}
+
+	private DiseaseOntologyModel doidModel;
+	/**
+	 * @return the doidModel
+	 */
+	public DiseaseOntologyModel getDOIDModel() {
+		return doidModel;
+	}
+
+	private EFOOntologyModel efoModel;
+	/**
+	 * @return the efoModel
+	 */
+	public EFOOntologyModel getEFOModel() {
+		return efoModel;
+	}
+
+	public static MatcherFixtures load() throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		MatcherFixtures fixtures = new MatcherFixtures();
+		List<String[]> rows = readPairs();
+		String efoFileName = System.getProperty( EFO_FILE_PROPERTY );
+		String cloFileName = System.getProperty( CLO_FILE_PROPERTY );
+		String doidFileName = System.getProperty( DOID_FILE_PROPERTY );
+		if ( efoFileName != null && cloFileName != null && doidFileName != null )
+			fixtures.loadReleases( rows, new File( efoFileName ), new File( cloFileName ), new File( doidFileName ) );
+		else
+			fixtures.generate( rows );
+		return fixtures;
+	}
+
+	private static List<String[]> readPairs() throws IOException {
+		List<String[]> rows = new ArrayList<String[]>();
+		CSVReader reader = new CSVReader( new InputStreamReader( MatcherFixtures.class.getClassLoader().getResourceAsStream( PAIR_RESOURCE ), Charsets.UTF_8 ) );
+		try {
+			String[] row = reader.readNext();
+			while ( ( row = reader.readNext() ) != null ) {
+				if ( row.length == 5 )
+					rows.add( row );
+			}
+		} finally {
+			reader.close();
+		}
+		return rows;
+	}
+
+	private void loadReleases( List<String[]> rows, File efoFile, File cloFile, File doidFile ) {
+		this.efoModel = new EFOOntologyModel( efoFile );
+		CLOOntologyModel cloModel = new CLOOntologyModel( cloFile );
+		this.doidModel = new DiseaseOntologyModel( doidFile );
+		for ( String[] row : rows ) {
+			EFOCellLine efoCellLine = this.efoModel.getCellLineFromAccession( row[0] );
+			CLOCellLine cloCellLine = cloModel.getCellLineFromAccession( row[1] );
+			if ( efoCellLine.getName() != null && cloCellLine.getName() != null )
+				this.pairs.add( new CellLine[] { efoCellLine, cloCellLine } );
+		}
+	}
+
+	private void generate( List<String[]> rows ) throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		this.writeDiseaseOntologies( rows.size() );
+
+		Species human = new Species( "NCBITaxon_9606" );
+		human.setName( "Homo sapiens" );
+		Species mouse = new Species( "NCBITaxon_10090" );
+		mouse.setName( "Mus musculus" );
+		OrganismPart organismPart = new OrganismPart( "UBERON_0002107" );
+		organismPart.setName( "liver" );
+
+		for ( int i = 0; i < rows.size(); i ++ ) {
+			String[] row = rows.get( i );
+			String step = row[3];
+			String type = row[4];
+			String name = cellLineName( row[0], row[1] );
+
+			EFOCellLine efoCellLine = new EFOCellLine( row[0] );
+			efoCellLine.setName( name );
+			efoCellLine.addSynonyms( name.replace( "-", "" ) );
+			efoCellLine.addSynonyms( name + " cells" );
+			efoCellLine.addSpecies( human );
+			efoCellLine.addOrganismPart( organismPart );
+			efoCellLine.addDisease( this.efoModel.getDiseaseFromAccession( String.format( "EFO_%07d", efoDiseaseId( i ) ) ) );
+
+			CLOCellLine cloCellLine = new CLOCellLine( row[1] );
+			cloCellLine.addSpecies( human );
+			cloCellLine.addOrganismPart( organismPart );
+			Disease cloDisease = this.doidModel.getDiseaseFromAccession( "DOID_" + doidDiseaseId( i ) );
+			if ( step.equalsIgnoreCase( "EFO-CLS-CLO" ) ) {
+				// Mapped through Cellosaurus: shared CVCL cross reference, name differs in case only
+				CrossReference cellosaurus = new CrossReference( "CVCL", String.format( "%04X", i ) );
+				efoCellLine.addCrossReferences( cellosaurus );
+				cloCellLine.addCrossReferences( cellosaurus );
+				cloCellLine.setName( name.toLowerCase() );
+				cloCellLine.addSynonyms( name.replace( "-", " " ) );
+				if ( type.equalsIgnoreCase( "Invalid" ) ) {
+					cloDisease = this.doidModel.getDiseaseFromAccession( "DOID_" + doidDiseaseId( ( i + 1 ) % rows.size() ) );
+					if ( i % 2 == 1 ) {
+						cloCellLine.getSpecies().clear();
+						cloCellLine.addSpecies( mouse );
+					}
+				}
+			} else if ( type.equalsIgnoreCase( "Inexact" ) ) {
+				// One substitution and a suffix away, disease is the parent term
+				cloCellLine.setName( name.substring( 0, name.length() - 1 ) + "X subline" );
+				cloCellLine.addSynonyms( name.substring( 0, name.length() - 1 ) + "X" );
+				cloDisease = this.doidModel.getDiseaseFromAccession( "DOID_" + doidGroupId( i ) );
+			} else {
+				cloCellLine.setName( name );
+				cloCellLine.addSynonyms( name + " cells" );
+				if ( type.equalsIgnoreCase( "Multi" ) )
+					cloCellLine.addSynonyms( name.replace( "-", "" ) );
+				if ( type.equalsIgnoreCase( "Exact_Invalid" ) ) {
+					cloDisease = this.doidModel.getDiseaseFromAccession( "DOID_" + doidDiseaseId( ( i + 1 ) % rows.size() ) );
+					if ( i % 2 == 1 ) {
+						cloCellLine.getSpecies().clear();
+						cloCellLine.addSpecies( mouse );
+					}
+				}
+			}
+			cloCellLine.addDisease( cloDisease );
+			this.pairs.add( new CellLine[] { efoCellLine, cloCellLine } );
+		}
+	}
+
+	/**
+	 * Cell line style name (e.g. "KC-645") derived from the pair accessions.
+	 */
+	private static String cellLineName( String efoAccession, String cloAccession ) {
+		int efoId = Integer.parseInt( efoAccession.replaceAll( "\\D", "" ) );
+		int cloId = Integer.parseInt( cloAccession.replaceAll( "\\D", "" ) );
+		return String.format( "%c%c-%d", 'A' + efoId % 26, 'A' + ( efoId / 26 ) % 26, cloId % 1000 );
+	}
+
+	private static int doidDiseaseId( int i ) {
+		return 900000 + i;
+	}
+
+	private static int doidGroupId( int i ) {
+		return 800000 + i % DISEASE_GROUPS;
+	}
+
+	private static int efoDiseaseId( int i ) {
+		return 9000000 + i;
+	}
+
+	/**
+	 * DOID disease per pair under DISEASE_GROUPS parent terms, cross referenced to an EFO disease per pair.
+	 */
+	private void writeDiseaseOntologies( int size ) throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		IRI label = IRI.create( OntologyModel.RDF_LABEL_IRI_STR );
+		IRI xRef = IRI.create( EFOOntologyModel.EFO_DB_XREF_IRI_STR );
+		IRI doidSynonym = IRI.create( DiseaseOntologyModel.DOID_SYNONYMS_IRI_STR[0] );
+		IRI efoSynonym = IRI.create( EFOOntologyModel.EFO_SYNONYMS_IRI_STR[0] );
+
+		OWLOntology doid = manager.createOntology( IRI.create( "http://purl.obolibrary.org/obo/doid/benchmark.owl" ) );
+		OWLOntology efo = manager.createOntology( IRI.create( "http://www.ebi.ac.uk/efo/benchmark.owl" ) );
+		OWLClass doidRoot = dataFactory.getOWLClass( IRI.create( "http://purl.obolibrary.org/obo/DOID_4" ) );
+		OWLClass efoRoot = dataFactory.getOWLClass( IRI.create( EFOOntologyModel.EFO_DISEASE_IRI_STR ) );
+		addClass( manager, doid, doidRoot, null, label, "disease" );
+		addClass( manager, efo, efoRoot, null, label, "disease" );
+		for ( int group = 0; group < DISEASE_GROUPS; group ++ ) {
+			OWLClass doidGroup = dataFactory.getOWLClass( IRI.create( String.format( DOID_IRI_FORMAT, doidGroupId( group ) ) ) );
+			addClass( manager, doid, doidGroup, doidRoot, label, "fixture disease group " + group );
+		}
+		for ( int i = 0; i < size; i ++ ) {
+			String name = "fixture disease " + i;
+			OWLClass doidDisease = dataFactory.getOWLClass( IRI.create( String.format( DOID_IRI_FORMAT, doidDiseaseId( i ) ) ) );
+			OWLClass doidGroup = dataFactory.getOWLClass( IRI.create( String.format( DOID_IRI_FORMAT, doidGroupId( i ) ) ) );
+			addClass( manager, doid, doidDisease, doidGroup, label, name );
+			addAnnotation( manager, doid, doidDisease, xRef, String.format( "EFO:%07d", efoDiseaseId( i ) ) );
+			addAnnotation( manager, doid, doidDisease, doidSynonym, name + " (DOID)" );
+
+			OWLClass efoDisease = dataFactory.getOWLClass( IRI.create( String.format( EFO_IRI_FORMAT, efoDiseaseId( i ) ) ) );
+			addClass( manager, efo, efoDisease, efoRoot, label, name + " (EFO)" );
+			addAnnotation( manager, efo, efoDisease, efoSynonym, name + " neoplasm" );
+		}
+
+		File doidFile = File.createTempFile( "benchmark-doid", ".owl" );
+		doidFile.deleteOnExit();
+		manager.saveOntology( doid, IRI.create( doidFile ) );
+		File efoFile = File.createTempFile( "benchmark-efo", ".owl" );
+		efoFile.deleteOnExit();
+		manager.saveOntology( efo, IRI.create( efoFile ) );
+
+		this.doidModel = new DiseaseOntologyModel( doidFile );
+		this.efoModel = new EFOOntologyModel( efoFile );
+	}
+
+	private static void addClass( OWLOntologyManager manager, OWLOntology ontology, OWLClass owlClass, OWLClass parent, IRI label, String name ) {
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		manager.addAxiom( ontology, dataFactory.getOWLDeclarationAxiom( owlClass ) );
+		if ( parent != null )
+			manager.addAxiom( ontology, dataFactory.getOWLSubClassOfAxiom( owlClass, parent ) );
+		addAnnotation( manager, ontology, owlClass, label, name );
+	}
+
+	private static void addAnnotation( OWLOntologyManager manager, OWLOntology ontology, OWLClass owlClass, IRI property, String value ) {
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		manager.addAxiom( ontology, dataFactory.getOWLAnnotationAssertionAxiom(
+				dataFactory.getOWLAnnotationProperty( property ), owlClass.getIRI(), dataFactory.getOWLLiteral( value ) ) );
+	}
+}
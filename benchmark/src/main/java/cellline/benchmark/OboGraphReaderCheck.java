@@ -0,0 +1,108 @@
+/**
+ * @file OboGraphReaderCheck.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import cellline.model.OboGraphReader;
+
+/**
+ * Reads the OBO Graphs JSON fixtures with {@link OboGraphReader} and checks the graph id, classes, labels,
+ * synonyms, cross references and subclass edges they declare. The fixtures cover the layouts the streaming
+ * reader has to recognise, such as a GraphDocument with its "meta" before its "graphs".
+ */
+public class OboGraphReaderCheck {
+
+	static final Logger logger = LoggerFactory.getLogger( OboGraphReaderCheck.class );
+
+	public static final String META_FIRST_RESOURCE = "fixtures/obograph-meta-first.json";
+
+	private static final String ONTOLOGY_IRI_STR = "http://purl.obolibrary.org/obo/obograph-fixture.owl";
+	private static final String CELL_LINE_IRI_STR = "http://www.ebi.ac.uk/efo/EFO_0000322";
+	private static final String K562_IRI_STR = "http://www.ebi.ac.uk/efo/EFO_0002067";
+	private static final String CML_IRI_STR = "http://purl.obolibrary.org/obo/DOID_8552";
+
+	private List<String> failures = new ArrayList<String>();
+
+	public static void main( String[] args ) {
+		if ( !new OboGraphReaderCheck().run() )
+			System.exit( -1 );
+	}
+
+	/**
+	 * @return false if a fixture could not be read or misses any of its expected axioms
+	 */
+	public boolean run() {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory dataFactory = manager.getOWLDataFactory();
+		OWLOntology ontology;
+		try {
+			InputStream input = OboGraphReaderCheck.class.getClassLoader().getResourceAsStream( META_FIRST_RESOURCE );
+			try {
+				ontology = new OboGraphReader( manager ).read( input );
+			} finally {
+				input.close();
+			}
+		} catch ( OWLOntologyCreationException | IOException e ) {
+			logger.error( "Fail to read fixture: " + META_FIRST_RESOURCE, e );
+			return false;
+		}
+
+		OWLClass cellLine = dataFactory.getOWLClass( IRI.create( CELL_LINE_IRI_STR ) );
+		OWLClass k562 = dataFactory.getOWLClass( IRI.create( K562_IRI_STR ) );
+		OWLClass cml = dataFactory.getOWLClass( IRI.create( CML_IRI_STR ) );
+		this.check( ontology.getOntologyID().getOntologyIRI().isPresent()
+				&& ontology.getOntologyID().getOntologyIRI().get().toString().equals( ONTOLOGY_IRI_STR ), "graph id as ontology IRI" );
+		this.check( ontology.getClassesInSignature().size() == 3, "3 classes, found " + ontology.getClassesInSignature().size() );
+		this.check( ontology.containsClassInSignature( cml.getIRI() ), "DOID:8552 expanded to " + CML_IRI_STR );
+		this.check( ontology.containsAxiom( dataFactory.getOWLSubClassOfAxiom( k562, cellLine ) ), "K562 is_a cell line" );
+		this.check( hasAnnotation( ontology, k562, "rdfs:label", "K562" ), "K562 label" );
+		this.check( hasAnnotation( ontology, k562, "hasExactSynonym", "K-562" ), "K562 exact synonym" );
+		this.check( hasAnnotation( ontology, k562, "hasDbXref", "CVCL:0004" ), "K562 cross reference" );
+
+		if ( this.failures.isEmpty() ) {
+			logger.info( "Read {} with {} axioms as expected", META_FIRST_RESOURCE, ontology.getAxiomCount() );
+			return true;
+		}
+		for ( String failure : this.failures )
+			logger.error( "{}: missing {}", META_FIRST_RESOURCE, failure );
+		return false;
+	}
+
+	private void check( boolean condition, String description ) {
+		if ( !condition )
+			this.failures.add( description );
+	}
+
+	/**
+	 * @return whether the class has an annotation of the property, by the end of its IRI, with the literal value
+	 */
+	private static boolean hasAnnotation( OWLOntology ontology, OWLClass owlClass, String property, String value ) {
+		String fragment = property.substring( property.indexOf( ':' ) + 1 );
+		for ( OWLAnnotationAssertionAxiom axiom : ontology.getAnnotationAssertionAxioms( owlClass.getIRI() ) ) {
+			if ( axiom.getProperty().getIRI().toString().endsWith( fragment ) && axiom.getValue().asLiteral().isPresent()
+					&& axiom.getValue().asLiteral().get().getLiteral().equals( value ) )
+				return true;
+		}
+		return false;
+	}
+}
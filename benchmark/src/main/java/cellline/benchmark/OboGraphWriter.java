@@ -0,0 +1,234 @@
+/**
+ * @file OboGraphWriter.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Set;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import com.google.common.base.Charsets;
+
+import cellline.model.OboGraphReader;
+
+/**
+ * Writes an ontology as OBO Graphs JSON, limited to what {@link OboGraphReader} reads back: annotations of
+ * classes and properties, named and existential super classes, sub properties, class assertions and
+ * equivalent classes of named classes or an intersection of named classes and existential restrictions.
+ * Used to convert the loader benchmark inputs.
+ */
+public class OboGraphWriter {
+
+	private static final String LABEL_IRI_STR = OWLRDFVocabulary.RDFS_LABEL.getIRI().toString();
+	private static final String COMMENT_IRI_STR = OWLRDFVocabulary.RDFS_COMMENT.getIRI().toString();
+	private static final String DEPRECATED_IRI_STR = OWLRDFVocabulary.OWL_DEPRECATED.getIRI().toString();
+	private static final String XREF_IRI_STR = OboGraphReader.OBO_IN_OWL_PREFIX + "hasDbXref";
+
+	@SuppressWarnings( "unchecked" )
+	public static void write( OWLOntology ontology, File file ) throws IOException {
+		JSONArray nodes = new JSONArray();
+		for ( OWLClass owlClass : ontology.getClassesInSignature( Imports.INCLUDED ) )
+			nodes.add( getNode( ontology, owlClass, "CLASS", null ) );
+		for ( OWLObjectProperty property : ontology.getObjectPropertiesInSignature( Imports.INCLUDED ) )
+			nodes.add( getNode( ontology, property, "PROPERTY", "OBJECT" ) );
+		for ( OWLAnnotationProperty property : ontology.getAnnotationPropertiesInSignature( Imports.INCLUDED ) )
+			nodes.add( getNode( ontology, property, "PROPERTY", "ANNOTATION" ) );
+
+		JSONArray edges = new JSONArray();
+		JSONArray logicalDefinitions = new JSONArray();
+		JSONArray equivalentNodeSets = new JSONArray();
+		for ( OWLAxiom axiom : ontology.getAxioms( Imports.INCLUDED ) ) {
+			if ( axiom instanceof OWLSubClassOfAxiom ) {
+				OWLSubClassOfAxiom subClassAxiom = (OWLSubClassOfAxiom) axiom;
+				if ( subClassAxiom.getSubClass().isAnonymous() ) continue;
+				String sub = subClassAxiom.getSubClass().asOWLClass().getIRI().toString();
+				OWLClassExpression superClass = subClassAxiom.getSuperClass();
+				if ( !superClass.isAnonymous() )
+					edges.add( getEdge( sub, "is_a", superClass.asOWLClass().getIRI().toString() ) );
+				else if ( isSimpleRestriction( superClass ) ) {
+					OWLObjectSomeValuesFrom restriction = (OWLObjectSomeValuesFrom) superClass;
+					edges.add( getEdge( sub, restriction.getProperty().asOWLObjectProperty().getIRI().toString(),
+							restriction.getFiller().asOWLClass().getIRI().toString() ) );
+				}
+			} else if ( axiom instanceof OWLSubAnnotationPropertyOfAxiom ) {
+				OWLSubAnnotationPropertyOfAxiom subPropertyAxiom = (OWLSubAnnotationPropertyOfAxiom) axiom;
+				edges.add( getEdge( subPropertyAxiom.getSubProperty().getIRI().toString(), "subPropertyOf",
+						subPropertyAxiom.getSuperProperty().getIRI().toString() ) );
+			} else if ( axiom instanceof OWLSubObjectPropertyOfAxiom ) {
+				OWLSubObjectPropertyOfAxiom subPropertyAxiom = (OWLSubObjectPropertyOfAxiom) axiom;
+				if ( subPropertyAxiom.getSubProperty().isAnonymous() || subPropertyAxiom.getSuperProperty().isAnonymous() ) continue;
+				edges.add( getEdge( subPropertyAxiom.getSubProperty().asOWLObjectProperty().getIRI().toString(), "subPropertyOf",
+						subPropertyAxiom.getSuperProperty().asOWLObjectProperty().getIRI().toString() ) );
+			} else if ( axiom instanceof OWLClassAssertionAxiom ) {
+				OWLClassAssertionAxiom assertion = (OWLClassAssertionAxiom) axiom;
+				if ( assertion.getIndividual().isNamed() && !assertion.getClassExpression().isAnonymous() )
+					edges.add( getEdge( assertion.getIndividual().asOWLNamedIndividual().getIRI().toString(), "type",
+							assertion.getClassExpression().asOWLClass().getIRI().toString() ) );
+			} else if ( axiom instanceof OWLEquivalentClassesAxiom )
+				addEquivalentClasses( (OWLEquivalentClassesAxiom) axiom, logicalDefinitions, equivalentNodeSets );
+		}
+
+		JSONObject graph = new JSONObject();
+		if ( ontology.getOntologyID().getOntologyIRI().isPresent() )
+			graph.put( "id", ontology.getOntologyID().getOntologyIRI().get().toString() );
+		graph.put( "nodes", nodes );
+		graph.put( "edges", edges );
+		graph.put( "logicalDefinitionAxioms", logicalDefinitions );
+		graph.put( "equivalentNodesSets", equivalentNodeSets );
+		JSONArray graphs = new JSONArray();
+		graphs.add( graph );
+		JSONObject document = new JSONObject();
+		document.put( "graphs", graphs );
+
+		Writer writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ), Charsets.UTF_8 ) );
+		try {
+			document.writeJSONString( writer );
+		} finally {
+			writer.close();
+		}
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private static JSONObject getNode( OWLOntology ontology, OWLEntity entity, String type, String propertyType ) {
+		JSONObject node = new JSONObject();
+		node.put( "id", entity.getIRI().toString() );
+		node.put( "type", type );
+		if ( propertyType != null )
+			node.put( "propertyType", propertyType );
+		JSONArray synonyms = new JSONArray();
+		JSONArray xRefs = new JSONArray();
+		JSONArray comments = new JSONArray();
+		JSONArray propertyValues = new JSONArray();
+		JSONObject meta = new JSONObject();
+		for ( OWLOntology imported : ontology.getImportsClosure() ) {
+			for ( OWLAnnotationAssertionAxiom annotation : imported.getAnnotationAssertionAxioms( entity.getIRI() ) ) {
+				String property = annotation.getProperty().getIRI().toString();
+				String value = getString( annotation.getValue() );
+				if ( property.equals( LABEL_IRI_STR ) && !node.containsKey( "lbl" ) )
+					node.put( "lbl", value );
+				else if ( property.equals( OboGraphReader.DEFINITION_IRI_STR ) && !meta.containsKey( "definition" ) ) {
+					JSONObject definition = new JSONObject();
+					definition.put( "val", value );
+					meta.put( "definition", definition );
+				} else if ( property.startsWith( OboGraphReader.OBO_IN_OWL_PREFIX ) && property.endsWith( "Synonym" ) ) {
+					JSONObject synonym = new JSONObject();
+					synonym.put( "pred", property.substring( OboGraphReader.OBO_IN_OWL_PREFIX.length() ) );
+					synonym.put( "val", value );
+					synonyms.add( synonym );
+				} else if ( property.equals( XREF_IRI_STR ) ) {
+					JSONObject xRef = new JSONObject();
+					xRef.put( "val", value );
+					xRefs.add( xRef );
+				} else if ( property.equals( COMMENT_IRI_STR ) )
+					comments.add( value );
+				else if ( property.equals( DEPRECATED_IRI_STR ) )
+					meta.put( "deprecated", Boolean.valueOf( value ) );
+				else {
+					JSONObject propertyValue = new JSONObject();
+					propertyValue.put( "pred", property );
+					propertyValue.put( "val", value );
+					propertyValues.add( propertyValue );
+				}
+			}
+		}
+		if ( !synonyms.isEmpty() )
+			meta.put( "synonyms", synonyms );
+		if ( !xRefs.isEmpty() )
+			meta.put( "xrefs", xRefs );
+		if ( !comments.isEmpty() )
+			meta.put( "comments", comments );
+		if ( !propertyValues.isEmpty() )
+			meta.put( "basicPropertyValues", propertyValues );
+		if ( !meta.isEmpty() )
+			node.put( "meta", meta );
+		return node;
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private static JSONObject getEdge( String sub, String predicate, String obj ) {
+		JSONObject edge = new JSONObject();
+		edge.put( "sub", sub );
+		edge.put( "pred", predicate );
+		edge.put( "obj", obj );
+		return edge;
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private static void addEquivalentClasses( OWLEquivalentClassesAxiom axiom, JSONArray logicalDefinitions, JSONArray equivalentNodeSets ) {
+		Set<OWLClass> namedClasses = axiom.getNamedClasses();
+		if ( namedClasses.size() == axiom.getClassExpressions().size() ) {
+			JSONArray nodeIds = new JSONArray();
+			for ( OWLClass owlClass : namedClasses )
+				nodeIds.add( owlClass.getIRI().toString() );
+			JSONObject nodeSet = new JSONObject();
+			nodeSet.put( "nodeIds", nodeIds );
+			equivalentNodeSets.add( nodeSet );
+			return;
+		}
+		if ( namedClasses.size() != 1 || axiom.getClassExpressions().size() != 2 ) return;
+		JSONArray genusIds = new JSONArray();
+		JSONArray restrictions = new JSONArray();
+		for ( OWLClassExpression expression : axiom.getClassExpressions() ) {
+			if ( !expression.isAnonymous() ) continue;
+			for ( OWLClassExpression operand : expression.asConjunctSet() ) {
+				if ( !operand.isAnonymous() )
+					genusIds.add( operand.asOWLClass().getIRI().toString() );
+				else if ( isSimpleRestriction( operand ) ) {
+					OWLObjectSomeValuesFrom restriction = (OWLObjectSomeValuesFrom) operand;
+					JSONObject json = new JSONObject();
+					json.put( "propertyId", restriction.getProperty().asOWLObjectProperty().getIRI().toString() );
+					json.put( "fillerId", restriction.getFiller().asOWLClass().getIRI().toString() );
+					restrictions.add( json );
+				} else
+					return;
+			}
+		}
+		JSONObject definition = new JSONObject();
+		definition.put( "definedClassId", namedClasses.iterator().next().getIRI().toString() );
+		definition.put( "genusIds", genusIds );
+		definition.put( "restrictions", restrictions );
+		logicalDefinitions.add( definition );
+	}
+
+	private static boolean isSimpleRestriction( OWLClassExpression expression ) {
+		if ( !( expression instanceof OWLObjectSomeValuesFrom ) )
+			return false;
+		OWLObjectSomeValuesFrom restriction = (OWLObjectSomeValuesFrom) expression;
+		return !restriction.getProperty().isAnonymous() && !restriction.getFiller().isAnonymous();
+	}
+
+	private static String getString( OWLAnnotationValue value ) {
+		if ( value instanceof IRI )
+			return value.toString();
+		return value.asLiteral().get().getLiteral();
+	}
+}
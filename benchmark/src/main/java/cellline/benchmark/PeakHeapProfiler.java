@@ -0,0 +1,64 @@
+/**
+ * @file PeakHeapProfiler.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports the peak heap usage of every iteration, summed over the heap memory pools.
+ * Benchmarks whose iteration setup allocates call {@link #reset()} at the end of the setup,
+ * so the peak only covers the measured code and what the setup left reachable.
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+	public static final String PEAK_HEAP_LABEL = "·peak.heap";
+
+	public static void reset() {
+		for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+			if ( pool.getType() == MemoryType.HEAP && pool.isValid() )
+				pool.resetPeakUsage();
+		}
+	}
+
+	public static long getPeakHeap() {
+		long peak = 0;
+		for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+			if ( pool.getType() == MemoryType.HEAP && pool.isValid() )
+				peak += pool.getPeakUsage().getUsed();
+		}
+		return peak;
+	}
+
+	@Override
+	public String getDescription() {
+		return "Peak heap usage per iteration";
+	}
+
+	@Override
+	public void beforeIteration( BenchmarkParams benchmarkParams, IterationParams iterationParams ) {
+		reset();
+	}
+
+	@Override
+	public Collection<? extends Result> afterIteration( BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result ) {
+		double peak = getPeakHeap() / ( 1024.0 * 1024.0 );
+		return Collections.singletonList( new ScalarResult( PEAK_HEAP_LABEL, peak, "MB", AggregationPolicy.MAX ) );
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * @file ScoringBenchmark.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cellline.match.CellLineFeatureMatrix;
+import cellline.match.CellLineFeatures;
+import cellline.match.CellLineScorer;
+import cellline.match.DiseaseMatchCache;
+import cellline.object.CellLine;
+
+/**
+ * Scoring of one EFO-CLO cell line pair from precomputed features, as in the EFOCLOMapping scoring loop.
+ * Every invocation scores the next pair of the EFO x CLO cross product of {@link MatcherFixtures}, so with
+ * -prof gc the gc.alloc.rate.norm of a warm disease cache is the allocation per scored pair, expected 0 B/op.
+ * scorePair scores CellLineFeatures through the matchers, scoreColumns the rows of CellLineFeatureMatrix.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( value = 1, jvmArgsAppend = { "-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED" } )
+public class ScoringBenchmark {
+
+	/**
+	 * Large enough for every disease pair of the cross product, which the default size is not.
+	 */
+	private static final long CACHE_SIZE = 1L << 21;
+
+	@State( Scope.Benchmark )
+	public static class Features {
+
+		DiseaseMatchCache cache;
+		MatcherFixtures fixtures;
+		List<CellLineFeatures> efoFeatures = new ArrayList<CellLineFeatures>();
+		List<CellLineFeatures> cloFeatures = new ArrayList<CellLineFeatures>();
+		CellLineFeatureMatrix efoMatrix;
+		CellLineFeatureMatrix cloMatrix;
+
+		@Setup( Level.Trial )
+		public void setUp() throws Exception {
+			this.fixtures = MatcherFixtures.load();
+			this.cache = new DiseaseMatchCache( CACHE_SIZE );
+			for ( CellLine[] pair : this.fixtures.getPairs() ) {
+				this.efoFeatures.add( new CellLineFeatures( pair[0], this.cache ) );
+				this.cloFeatures.add( new CellLineFeatures( pair[1], this.cache ) );
+			}
+			this.cloMatrix = new CellLineFeatureMatrix( this.cloFeatures );
+			this.efoMatrix = new CellLineFeatureMatrix( this.efoFeatures, this.cloMatrix );
+		}
+	}
+
+	@State( Scope.Thread )
+	public static class Scorer {
+
+		CellLineScorer scorer;
+		List<CellLineFeatures> efoFeatures;
+		List<CellLineFeatures> cloFeatures;
+		CellLineFeatureMatrix efoMatrix;
+		CellLineFeatureMatrix cloMatrix;
+		int efoCursor = 0;
+		int cloCursor = 0;
+
+		@Setup( Level.Trial )
+		public void setUp( Features features ) {
+			this.scorer = new CellLineScorer( features.fixtures.getDOIDModel(), features.fixtures.getEFOModel(), features.cache );
+			this.efoFeatures = features.efoFeatures;
+			this.cloFeatures = features.cloFeatures;
+			this.efoMatrix = features.efoMatrix;
+			this.cloMatrix = features.cloMatrix;
+			// Warm the disease cache, so that the measurement only sees cache hits as in a long mapping run
+			for ( CellLineFeatures efo : this.efoFeatures )
+				for ( CellLineFeatures clo : this.cloFeatures )
+					this.scorer.score( efo, clo );
+		}
+	}
+
+	@Benchmark
+	public int scorePair( Scorer scorer ) {
+		int score = scorer.scorer.score( scorer.efoFeatures.get( scorer.efoCursor ), scorer.cloFeatures.get( scorer.cloCursor ) );
+		if ( ++ scorer.cloCursor == scorer.cloFeatures.size() ) {
+			scorer.cloCursor = 0;
+			if ( ++ scorer.efoCursor == scorer.efoFeatures.size() )
+				scorer.efoCursor = 0;
+		}
+		return score;
+	}
+
+	/**
+	 * Same pairs scored from the rows of the EFO and CLO feature matrices.
+	 */
+	@Benchmark
+	public int scoreColumns( Scorer scorer ) {
+		int score = scorer.scorer.score( scorer.efoMatrix, scorer.efoCursor, scorer.cloMatrix, scorer.cloCursor );
+		if ( ++ scorer.cloCursor == scorer.cloMatrix.getRowCount() ) {
+			scorer.cloCursor = 0;
+			if ( ++ scorer.efoCursor == scorer.efoMatrix.getRowCount() )
+				scorer.efoCursor = 0;
+		}
+		return score;
+	}
+}
@@ -0,0 +1,511 @@
+/**
+ * @file SyntheticDataGenerator.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+
+import au.com.bytecode.opencsv.CSVWriter;
+import cellline.application.AsyncLogging;
+import cellline.model.CLOOntologyModel;
+import cellline.model.EFOOntologyModel;
+
+/**
+ * Write synthetic EFO, CLO and DOID ontologies, a Cellosaurus text file and the expected EFO-CLO mapping,
+ * shaped like the releases EFOCLOMapping reads, so the mapping can be run end to end offline at any size:
+ *
+ *   java -cp benchmarks.jar cellline.benchmark.SyntheticDataGenerator -o synthetic --scale 10
+ *   java -cp benchmarks.jar cellline.application.EFOCLOMapping -s synthetic/efo.owl -i synthetic/cellosaurus.txt
+ *       -t synthetic/clo.owl --doid-file synthetic/doid.owl -o synthetic/
+ *
+ * EFO cell lines follow the curation type mix of EFO_CLO_FINAL_MAP.csv: most are mapped through Cellosaurus
+ * DR lines, the others have a CLO counterpart with the same name (exact valid), the same name but another
+ * species and disease (exact invalid), a second CLO cell line sharing the name (multi) or a one letter
+ * different name (inexact). CLO and Cellosaurus are padded with unrelated cell lines.
+ * The ontologies are streamed as RDF/XML, so memory use does not grow with the scale.
+ */
+public class SyntheticDataGenerator {
+	/*
+	 * args4j options declaration
+	 */
+	@Option(
+			name = "-o",
+			usage = "Output directory path.",
+			required = true,
+			aliases = {"--output-path"}
+			)
+	private String outputDirectory;
+	@Option(
+			name = "--scale",
+			usage = "Size multiplier, 1 is about the size of the curated EFO-CLO map (default 1).",
+			required = false
+			)
+	private int scale = 1;
+	@Option(
+			name = "--seed",
+			usage = "Random seed for species, organism part, cell type and disease assignment (default 1).",
+			required = false
+			)
+	private long seed = 1;
+
+	static final Logger logger = LoggerFactory.getLogger( SyntheticDataGenerator.class );
+
+	public static final String EFO_FILE_NAME = "efo.owl";
+	public static final String CLO_FILE_NAME = "clo.owl";
+	public static final String DOID_FILE_NAME = "doid.owl";
+	public static final String CELLOSAURUS_FILE_NAME = "cellosaurus.txt";
+	public static final String MAP_FILE_NAME = "EFO_CLO_MAP.csv";
+
+	public static final int BASE_EFO_CELL_LINES = 1000;
+	public static final int BASE_CLO_CELL_LINES = 4000;
+	public static final int BASE_CELLOSAURUS_CELL_LINES = 10000;
+	public static final int BASE_DISEASES = 200;
+	public static final int DISEASE_GROUPS = 20;
+
+	/**
+	 * Curation type of the i-th EFO cell line, in the proportions of EFO_CLO_FINAL_MAP.csv
+	 */
+	static final String[][] CURATION_TYPES = {
+			{ "EFO-CLS-CLO", "Valid" },
+			{ "EFO-CLS-CLO", "Invalid" },
+			{ "EFO-CLO", "Exact_Valid" },
+			{ "EFO-CLO", "Exact_Invalid" },
+			{ "EFO-CLO", "Multi" },
+			{ "EFO-CLO", "Inexact" },
+	};
+	static final int[] CURATION_TYPE_PERCENTS = { 60, 6, 13, 5, 12, 4 };
+
+	static final String[][] SPECIES = {
+			{ "NCBITaxon_9606", "Homo sapiens" },
+			{ "NCBITaxon_10090", "Mus musculus" },
+	};
+	static final String[][] ORGANISM_PARTS = {
+			{ "UBERON_0000310", "breast" },
+			{ "UBERON_0002107", "liver" },
+			{ "UBERON_0002048", "lung" },
+			{ "UBERON_0000178", "blood" },
+			{ "UBERON_0000955", "brain" },
+			{ "UBERON_0002113", "kidney" },
+			{ "UBERON_0001155", "colon" },
+			{ "UBERON_0002367", "prostate gland" },
+			{ "UBERON_0000002", "uterine cervix" },
+			{ "UBERON_0002097", "skin of body" },
+	};
+	static final String[][] CELL_TYPES = {
+			{ "CL_0000066", "epithelial cell" },
+			{ "CL_0000182", "hepatocyte" },
+			{ "CL_0000057", "fibroblast" },
+			{ "CL_0000084", "T cell" },
+			{ "CL_0000236", "B cell" },
+			{ "CL_0000763", "myeloid cell" },
+			{ "CL_0000540", "neuron" },
+			{ "CL_0000148", "melanocyte" },
+	};
+
+	static final String OBO_PREFIX = "http://purl.obolibrary.org/obo/";
+	static final String EFO_PREFIX = "http://www.ebi.ac.uk/efo/";
+
+	private Random random;
+	private int diseaseCount;
+
+	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
+		new SyntheticDataGenerator().run( args );
+	}
+
+	public void run( String[] args ) {
+		CmdLineParser parser = new CmdLineParser( this );
+
+		// Load arguments
+		try {
+			parser.parseArgument( args );
+		} catch( CmdLineException e ) {
+			logger.error( "Incorrect arguments" );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+		if ( this.scale < 1 ) {
+			logger.error( "Incorrect scale: " + this.scale );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+
+		File directory = new File( this.outputDirectory );
+		directory.mkdirs();
+		int efoCount = BASE_EFO_CELL_LINES * this.scale;
+		int cloCount = BASE_CLO_CELL_LINES * this.scale;
+		int cellosaurusCount = BASE_CELLOSAURUS_CELL_LINES * this.scale;
+		this.diseaseCount = BASE_DISEASES * this.scale;
+		logger.info( String.format( "Generating %d EFO, %d CLO and %d Cellosaurus cell lines with %d diseases in %s",
+				efoCount, cloCount, cellosaurusCount, this.diseaseCount, directory.getAbsolutePath() ) );
+
+		try {
+			this.random = new Random( this.seed );
+			this.writeEFO( new File( directory, EFO_FILE_NAME ), efoCount );
+			this.random = new Random( this.seed );
+			int cloWritten = this.writeCLO( new File( directory, CLO_FILE_NAME ), efoCount, cloCount );
+			this.writeDOID( new File( directory, DOID_FILE_NAME ) );
+			this.writeCellosaurus( new File( directory, CELLOSAURUS_FILE_NAME ), efoCount, cloCount, cellosaurusCount );
+			this.writeMap( new File( directory, MAP_FILE_NAME ), efoCount );
+			logger.info( String.format( "Wrote %d EFO and %d CLO cell lines", efoCount, cloWritten ) );
+		} catch ( IOException e ) {
+			logger.error( "Fail to write synthetic data to: " + directory.getAbsolutePath(), e );
+			System.exit( -1 );
+		}
+	}
+
+	/**
+	 * Curation type index of the i-th EFO cell line
+	 */
+	static int getCurationType( int i ) {
+		int percent = i % 100;
+		for ( int type = 0; type < CURATION_TYPE_PERCENTS.length; type ++ ) {
+			if ( percent < CURATION_TYPE_PERCENTS[type] )
+				return type;
+			percent -= CURATION_TYPE_PERCENTS[type];
+		}
+		return 0;
+	}
+
+	static boolean isCellosaurusType( int type ) {
+		return CURATION_TYPES[type][0].equals( "EFO-CLS-CLO" );
+	}
+
+	/**
+	 * Unique cell line style name of the i-th cell line, e.g. "KC-645"
+	 */
+	static String getCellLineName( int i ) {
+		return String.format( "%c%c-%d", 'A' + i % 26, 'A' + ( i / 26 ) % 26, 100 + i / 676 );
+	}
+
+	static String getEFOAccession( int i ) {
+		return String.format( "EFO_%07d", 1000000 + i );
+	}
+
+	/**
+	 * CLO accession of the i-th cell line, i >= efoCount for the padding cell lines
+	 */
+	static String getCLOAccession( int i ) {
+		return String.format( "CLO_%07d", 1000000 + i );
+	}
+
+	/**
+	 * CLO accession of the second cell line of a multi mapping
+	 */
+	static String getCLOMultiAccession( int i ) {
+		return String.format( "CLO_%07d", 5000000 + i );
+	}
+
+	static String getCellosaurusAccession( int i ) {
+		return String.format( "CVCL_S%06d", i );
+	}
+
+	static String getDOIDAccession( int disease ) {
+		return String.format( "DOID_%d", 9000000 + disease );
+	}
+
+	static String getDOIDGroupAccession( int group ) {
+		return String.format( "DOID_%d", 8000000 + group );
+	}
+
+	static String getEFODiseaseAccession( int disease ) {
+		return String.format( "EFO_%07d", 9000000 + disease );
+	}
+
+	static String getDiseaseName( int disease ) {
+		return String.format( "synthetic %s neoplasm %d", ORGANISM_PARTS[disease % ORGANISM_PARTS.length][1], disease );
+	}
+
+	/**
+	 * Attributes of the i-th cell line, drawn in the same order for EFO and CLO so both sides agree.
+	 */
+	private int[] nextAttributes() {
+		int species = this.random.nextInt( 10 ) < 8 ? 0 : 1;
+		int organismPart = this.random.nextInt( ORGANISM_PARTS.length );
+		int cellType = this.random.nextInt( CELL_TYPES.length );
+		int disease = this.random.nextInt( this.diseaseCount );
+		return new int[] { species, organismPart, cellType, disease };
+	}
+
+	private void writeEFO( File file, int efoCount ) throws IOException {
+		RdfXmlWriter writer = new RdfXmlWriter( file, EFO_PREFIX + "synthetic.owl" );
+		try {
+			writer.objectProperty( EFOOntologyModel.EFO_DISEASE_BEARER_OF_IRI_STR );
+			writer.objectProperty( EFOOntologyModel.EFO_DERIVES_FROM_IRI_STR );
+			writer.annotationProperty( EFOOntologyModel.EFO_SYNONYMS_IRI_STR[0] );
+			writer.annotationProperty( EFOOntologyModel.EFO_DB_XREF_IRI_STR );
+
+			writer.startClass( EFOOntologyModel.EFO_CELL_LINE_IRI_STR, "cell line" ).endClass();
+			writer.startClass( EFO_PREFIX + "EFO_0002888", "cancer cell line" ).subClassOf( EFOOntologyModel.EFO_CELL_LINE_IRI_STR ).endClass();
+			writer.startClass( EFOOntologyModel.EFO_DISEASE_IRI_STR, "disease" ).endClass();
+			writer.startClass( EFOOntologyModel.EFO_ORGANISM_PART_IRI_STR, "organism part" ).endClass();
+			writer.startClass( EFOOntologyModel.EFO_CELLTYPE_IRI_STR, "cell type" ).endClass();
+			writer.startClass( EFOOntologyModel.EFO_ORGANISM_IRI_STR, "organism" ).endClass();
+			for ( String[] species : SPECIES )
+				writer.startClass( OBO_PREFIX + species[0], species[1] ).subClassOf( EFOOntologyModel.EFO_ORGANISM_IRI_STR ).endClass();
+			for ( String[] organismPart : ORGANISM_PARTS )
+				writer.startClass( OBO_PREFIX + organismPart[0], organismPart[1] ).subClassOf( EFOOntologyModel.EFO_ORGANISM_PART_IRI_STR ).endClass();
+			for ( String[] cellType : CELL_TYPES )
+				writer.startClass( OBO_PREFIX + cellType[0], cellType[1] ).subClassOf( EFOOntologyModel.EFO_CELLTYPE_IRI_STR ).endClass();
+			for ( int disease = 0; disease < this.diseaseCount; disease ++ ) {
+				writer.startClass( EFO_PREFIX + getEFODiseaseAccession( disease ), getDiseaseName( disease ) )
+						.subClassOf( EFOOntologyModel.EFO_DISEASE_IRI_STR )
+						.annotation( EFOOntologyModel.EFO_DB_XREF_IRI_STR, getDOIDAccession( disease ).replace( '_', ':' ) )
+						.endClass();
+			}
+
+			for ( int i = 0; i < efoCount; i ++ ) {
+				int type = getCurationType( i );
+				int[] attributes = this.nextAttributes();
+				String name = getCellLineName( i );
+				writer.startClass( EFO_PREFIX + getEFOAccession( i ), name )
+						.subClassOf( EFO_PREFIX + "EFO_0002888" )
+						.annotation( EFOOntologyModel.EFO_SYNONYMS_IRI_STR[0], name.replace( "-", "" ) )
+						.annotation( EFOOntologyModel.EFO_SYNONYMS_IRI_STR[0], name + " cells" );
+				if ( isCellosaurusType( type ) )
+					writer.annotation( EFOOntologyModel.EFO_DB_XREF_IRI_STR, getCellosaurusAccession( i ).replace( '_', ':' ) );
+				writer.someValuesFrom( EFOOntologyModel.EFO_DISEASE_BEARER_OF_IRI_STR, EFO_PREFIX + getEFODiseaseAccession( attributes[3] ) )
+						.someValuesFrom( EFOOntologyModel.EFO_DERIVES_FROM_IRI_STR, OBO_PREFIX + SPECIES[attributes[0]][0] )
+						.someValuesFrom( EFOOntologyModel.EFO_DERIVES_FROM_IRI_STR, OBO_PREFIX + ORGANISM_PARTS[attributes[1]][0] )
+						.someValuesFrom( EFOOntologyModel.EFO_DERIVES_FROM_IRI_STR, OBO_PREFIX + CELL_TYPES[attributes[2]][0] )
+						.endClass();
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private int writeCLO( File file, int efoCount, int cloCount ) throws IOException {
+		String diseaseProperty = CLOOntologyModel.CLO_DISEASE_PROPERTY_IRI_STR[1];
+		String synonym = CLOOntologyModel.CLO_SYNONYMS_IRI_STR[0];
+		String xRef = CLOOntologyModel.CLO_DB_XREF_IRI_STR[0];
+		int written = 0;
+		RdfXmlWriter writer = new RdfXmlWriter( file, OBO_PREFIX + "clo/synthetic.owl" );
+		try {
+			writer.objectProperty( diseaseProperty );
+			writer.objectProperty( CLOOntologyModel.CLO_DERIVES_FROM_IRI_STR );
+			writer.annotationProperty( synonym );
+			writer.annotationProperty( xRef );
+
+			writer.startClass( CLOOntologyModel.CLO_CELL_LINE_IRI_STR, "cell line cell" ).endClass();
+			writer.startClass( OBO_PREFIX + "CLO_0000020", "cancer cell line cell" ).subClassOf( CLOOntologyModel.CLO_CELL_LINE_IRI_STR ).endClass();
+			writer.startClass( CLOOntologyModel.CLO_ORGANISM_IRI_STR, "organism" ).endClass();
+			writer.startClass( CLOOntologyModel.CLO_ORGANISM_PART_IRI_STR, "anatomical entity" ).endClass();
+			writer.startClass( CLOOntologyModel.CLO_CELL_IRI_STR, "native cell" ).endClass();
+			for ( String[] species : SPECIES )
+				writer.startClass( OBO_PREFIX + species[0], species[1] ).subClassOf( CLOOntologyModel.CLO_ORGANISM_IRI_STR ).endClass();
+			for ( String[] organismPart : ORGANISM_PARTS )
+				writer.startClass( OBO_PREFIX + organismPart[0], organismPart[1] ).subClassOf( CLOOntologyModel.CLO_ORGANISM_PART_IRI_STR ).endClass();
+			for ( String[] cellType : CELL_TYPES )
+				writer.startClass( OBO_PREFIX + cellType[0], cellType[1] ).subClassOf( CLOOntologyModel.CLO_CELL_IRI_STR ).endClass();
+			this.writeDiseases( writer );
+
+			for ( int i = 0; i < cloCount; i ++ ) {
+				int[] attributes = this.nextAttributes();
+				if ( i >= efoCount ) {
+					// Padding cell line without EFO counterpart
+					this.writeCLOCellLine( writer, getCLOAccession( i ), getCellLineName( i ), getCellLineName( i ).replace( "-", "" ), getCellosaurusAccession( i ), attributes );
+					written ++;
+					continue;
+				}
+				int type = getCurationType( i );
+				String name = getCellLineName( i );
+				String typeName = CURATION_TYPES[type][1];
+				if ( typeName.equals( "Exact_Invalid" ) || typeName.equals( "Invalid" ) ) {
+					attributes[0] = ( attributes[0] + 1 ) % SPECIES.length;
+					attributes[3] = ( attributes[3] + 1 ) % this.diseaseCount;
+				}
+				if ( typeName.equals( "Inexact" ) ) {
+					String inexact = name.substring( 0, name.length() - 1 ) + ( name.endsWith( "9" ) ? "8" : "9" );
+					this.writeCLOCellLine( writer, getCLOAccession( i ), inexact + " subline", inexact, getCellosaurusAccession( i ), attributes );
+				} else if ( isCellosaurusType( type ) )
+					this.writeCLOCellLine( writer, getCLOAccession( i ), name.toLowerCase(), name.replace( "-", " " ), getCellosaurusAccession( i ), attributes );
+				else
+					this.writeCLOCellLine( writer, getCLOAccession( i ), name, name + " cells", getCellosaurusAccession( i ), attributes );
+				written ++;
+				if ( typeName.equals( "Multi" ) ) {
+					this.writeCLOCellLine( writer, getCLOMultiAccession( i ), name + "/B", name, null, attributes );
+					written ++;
+				}
+			}
+		} finally {
+			writer.close();
+		}
+		return written;
+	}
+
+	/**
+	 * @param cellosaurusAccession Cellosaurus cross reference, null for none
+	 */
+	private void writeCLOCellLine( RdfXmlWriter writer, String accession, String name, String synonym, String cellosaurusAccession, int[] attributes ) throws IOException {
+		writer.startClass( OBO_PREFIX + accession, name + " cell" )
+				.subClassOf( OBO_PREFIX + "CLO_0000020" )
+				.annotation( CLOOntologyModel.CLO_SYNONYMS_IRI_STR[0], synonym );
+		if ( cellosaurusAccession != null )
+			writer.annotation( CLOOntologyModel.CLO_DB_XREF_IRI_STR[0], cellosaurusAccession.replace( '_', ':' ) );
+		writer.someValuesFrom( CLOOntologyModel.CLO_DISEASE_PROPERTY_IRI_STR[1], OBO_PREFIX + getDOIDAccession( attributes[3] ) )
+				.someValuesFrom( CLOOntologyModel.CLO_DERIVES_FROM_IRI_STR, OBO_PREFIX + SPECIES[attributes[0]][0] )
+				.someValuesFrom( CLOOntologyModel.CLO_DERIVES_FROM_IRI_STR, OBO_PREFIX + ORGANISM_PARTS[attributes[1]][0] )
+				.someValuesFrom( CLOOntologyModel.CLO_DERIVES_FROM_IRI_STR, OBO_PREFIX + CELL_TYPES[attributes[2]][0] )
+				.endClass();
+	}
+
+	/**
+	 * DOID disease terms under DISEASE_GROUPS parent terms, cross referenced to the EFO diseases.
+	 */
+	private void writeDiseases( RdfXmlWriter writer ) throws IOException {
+		writer.startClass( CLOOntologyModel.CLO_DOID_DISEASE_IRI_STR, "disease" ).endClass();
+		for ( int group = 0; group < DISEASE_GROUPS; group ++ ) {
+			writer.startClass( OBO_PREFIX + getDOIDGroupAccession( group ), "synthetic disease group " + group )
+					.subClassOf( CLOOntologyModel.CLO_DOID_DISEASE_IRI_STR )
+					.endClass();
+		}
+		for ( int disease = 0; disease < this.diseaseCount; disease ++ ) {
+			writer.startClass( OBO_PREFIX + getDOIDAccession( disease ), getDiseaseName( disease ) )
+					.subClassOf( OBO_PREFIX + getDOIDGroupAccession( disease % DISEASE_GROUPS ) )
+					.annotation( EFOOntologyModel.EFO_DB_XREF_IRI_STR, getEFODiseaseAccession( disease ).replace( '_', ':' ) )
+					.endClass();
+		}
+	}
+
+	private void writeDOID( File file ) throws IOException {
+		RdfXmlWriter writer = new RdfXmlWriter( file, OBO_PREFIX + "doid/synthetic.owl" );
+		try {
+			writer.annotationProperty( EFOOntologyModel.EFO_DB_XREF_IRI_STR );
+			this.writeDiseases( writer );
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Cellosaurus entry for every EFO and CLO cell line, DR lines to both for the EFO-CLS-CLO curation types
+	 * and to CLO only otherwise, followed by Cellosaurus only cell lines.
+	 */
+	private void writeCellosaurus( File file, int efoCount, int cloCount, int cellosaurusCount ) throws IOException {
+		Writer writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ), Charsets.UTF_8 ) );
+		try {
+			writer.write( "----------------------------------------------------------------------------\n" );
+			writer.write( "        CELLOSAURUS: synthetic cell lines for EFO-CLO mapping scale tests\n" );
+			writer.write( "----------------------------------------------------------------------------\n" );
+			writer.write( "____________________________________________________________________________\n" );
+			for ( int i = 0; i < Math.max( cloCount, cellosaurusCount ); i ++ ) {
+				String name = getCellLineName( i );
+				writer.write( "ID   " + name + "\n" );
+				writer.write( "AC   " + getCellosaurusAccession( i ) + "\n" );
+				writer.write( "SY   " + name.replace( "-", "" ) + "; " + name.replace( "-", " " ) + "\n" );
+				if ( i < cloCount )
+					writer.write( "DR   CLO; " + getCLOAccession( i ) + "\n" );
+				if ( i < efoCount && isCellosaurusType( getCurationType( i ) ) )
+					writer.write( "DR   EFO; " + getEFOAccession( i ) + "\n" );
+				writer.write( "OX   NCBI_TaxID=9606; ! Homo sapiens\n" );
+				writer.write( "CA   Cancer cell line\n" );
+				writer.write( "//\n" );
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Expected EFO-CLO mapping in the EFO_CLO_FINAL_MAP.csv layout
+	 */
+	private void writeMap( File file, int efoCount ) throws IOException {
+		CSVWriter writer = new CSVWriter( new OutputStreamWriter( new FileOutputStream( file ), Charsets.UTF_8 ), ',', CSVWriter.NO_QUOTE_CHARACTER );
+		try {
+			writer.writeNext( new String[] { "EFO Accession", "CLO Accession", "", "Step", "Type" } );
+			for ( int i = 0; i < efoCount; i ++ ) {
+				String[] type = CURATION_TYPES[getCurationType( i )];
+				writer.writeNext( new String[] { getEFOAccession( i ), getCLOAccession( i ), "", type[0], type[1] } );
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Streaming RDF/XML writer for the owl:Class frames of the synthetic ontologies.
+	 */
+	static class RdfXmlWriter {
+
+		private Writer writer;
+
+		RdfXmlWriter( File file, String ontologyIri ) throws IOException {
+			this.writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ), Charsets.UTF_8 ) );
+			this.writer.write( "<?xml version=\"1.0\"?>\n" );
+			this.writer.write( "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"\n" );
+			this.writer.write( "     xmlns:rdfs=\"http://www.w3.org/2000/01/rdf-schema#\"\n" );
+			this.writer.write( "     xmlns:owl=\"http://www.w3.org/2002/07/owl#\">\n" );
+			this.writer.write( "    <owl:Ontology rdf:about=\"" + ontologyIri + "\"/>\n" );
+		}
+
+		void objectProperty( String iri ) throws IOException {
+			this.writer.write( "    <owl:ObjectProperty rdf:about=\"" + escape( iri ) + "\"/>\n" );
+		}
+
+		void annotationProperty( String iri ) throws IOException {
+			this.writer.write( "    <owl:AnnotationProperty rdf:about=\"" + escape( iri ) + "\"/>\n" );
+		}
+
+		RdfXmlWriter startClass( String iri, String label ) throws IOException {
+			this.writer.write( "    <owl:Class rdf:about=\"" + escape( iri ) + "\">\n" );
+			this.writer.write( "        <rdfs:label>" + escape( label ) + "</rdfs:label>\n" );
+			return this;
+		}
+
+		RdfXmlWriter subClassOf( String parentIri ) throws IOException {
+			this.writer.write( "        <rdfs:subClassOf rdf:resource=\"" + escape( parentIri ) + "\"/>\n" );
+			return this;
+		}
+
+		RdfXmlWriter someValuesFrom( String propertyIri, String fillerIri ) throws IOException {
+			this.writer.write( "        <rdfs:subClassOf><owl:Restriction>"
+					+ "<owl:onProperty rdf:resource=\"" + escape( propertyIri ) + "\"/>"
+					+ "<owl:someValuesFrom rdf:resource=\"" + escape( fillerIri ) + "\"/>"
+					+ "</owl:Restriction></rdfs:subClassOf>\n" );
+			return this;
+		}
+
+		/**
+		 * Annotation assertion, the property IRI split into namespace and local name for the element name
+		 */
+		RdfXmlWriter annotation( String propertyIri, String value ) throws IOException {
+			int separator = Math.max( propertyIri.lastIndexOf( '#' ), propertyIri.lastIndexOf( '/' ) ) + 1;
+			this.writer.write( "        <a:" + propertyIri.substring( separator ) + " xmlns:a=\"" + escape( propertyIri.substring( 0, separator ) ) + "\">"
+					+ escape( value ) + "</a:" + propertyIri.substring( separator ) + ">\n" );
+			return this;
+		}
+
+		void endClass() throws IOException {
+			this.writer.write( "    </owl:Class>\n" );
+		}
+
+		void close() throws IOException {
+			this.writer.write( "</rdf:RDF>\n" );
+			this.writer.close();
+		}
+
+		private static String escape( String value ) {
+			return StringEscapeUtils.escapeXml10( value );
+		}
+	}
+}
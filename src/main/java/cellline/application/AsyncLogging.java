@@ -0,0 +1,34 @@
+/**
+ * @file AsyncLogging.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.application;
+
+import org.apache.log4j.LogManager;
+
+/**
+ * The root logger of log4j.xml writes through an AsyncAppender, whose daemon dispatcher thread would drop
+ * the events still buffered when the JVM exits, e.g. on System.exit( -1 ) after a fatal error.
+ */
+public class AsyncLogging {
+
+	private static boolean installed = false;
+
+	/**
+	 * Close the log4j appenders, flushing the asynchronous buffer, when the JVM shuts down.
+	 */
+	public static synchronized void flushOnExit() {
+		if ( installed )
+			return;
+		installed = true;
+		Runtime.getRuntime().addShutdownHook( new Thread( "log-flush" ) {
+			@Override
+			public void run() {
+				LogManager.shutdown();
+			}
+		} );
+	}
+}
@@ -1,20 +1,33 @@
 package cellline.application;
 import java.io.File;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.kohsuke.args4j.CmdLineException;
@@ -27,20 +40,29 @@ import com.google.common.base.Stopwatch;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Sets.SetView;
 
+import au.com.bytecode.opencsv.CSVReader;
 import au.com.bytecode.opencsv.CSVWriter;
-import cellline.match.CellLineMatcher;
-import cellline.match.CellTypeMatcher;
-import cellline.match.DiseaseMatcher;
-import cellline.match.OrganismPartMatcher;
-import cellline.match.SpeciesMatcher;
+import cellline.match.CellLineFeatureMatrix;
+import cellline.match.CellLineFeatures;
+import cellline.match.CellLineScorer;
+import cellline.match.DiseaseMatchCache;
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.PipelineEvents;
+import cellline.metrics.ProgressTracker;
+import cellline.metrics.Timer;
 import cellline.model.CLOOntologyModel;
 import cellline.model.CellosaurusModel;
 import cellline.model.DiseaseOntologyModel;
 import cellline.model.EFOOntologyModel;
+import cellline.model.ImportCatalog;
+import cellline.model.InferenceCache;
+import cellline.model.OntologyModel;
+import cellline.model.OntologyModelRegistry;
 import cellline.object.CLOCellLine;
 import cellline.object.CellLine;
 import cellline.object.CellType;
 import cellline.object.CellosaurusCellLine;
+import cellline.object.CrossReference;
 import cellline.object.Disease;
 import cellline.object.EFOCellLine;
 import cellline.object.OrganismPart;
@@ -82,6 +104,12 @@ public class EFOCLOMapping {
 			aliases = {"--target-file"}
 			)
 	private String cloFileName;
+	@Option(
+			name = "--doid-file",
+			usage = "Disease ontology owl file path, instead of the bundled DOID.",
+			required = false
+			)
+	private String doidFileName;
 	@Option(
 			name = "-o",
 			usage = "Mapping output directory path.",
@@ -96,18 +124,151 @@ public class EFOCLOMapping {
 			aliases = {"--debug"}
 			)
 	private boolean debug;
+	@Option(
+			name = "-p",
+			usage = "Previous mapping output directory path, rescore only changed or new cell lines.",
+			required = false,
+			aliases = {"--previous-path", "--incremental"}
+			)
+	private String previousDirectory;
+	@Option(
+			name = "--shard-index",
+			usage = "Map only this shard (1 to --shard-count) of the EFO cell lines, written to per-shard output files.",
+			required = false,
+			depends = {"--shard-count"}
+			)
+	private Integer shard;
+	@Option(
+			name = "--shard-count",
+			usage = "Number of shards the EFO cell lines are split into, as given to EFOCLOShardMerge.",
+			required = false,
+			depends = {"--shard-index"}
+			)
+	private int shardCount = 1;
+	@Option(
+			name = "--coordinator-port",
+			usage = "Run as coordinator: serve batches of EFO cell lines to worker processes on this TCP port and write the collected mapping.",
+			required = false,
+			forbids = {"--worker"}
+			)
+	private Integer coordinatorPort;
+	@Option(
+			name = "--bind-address",
+			usage = "Address the coordinator listens on for workers (default the loopback address, only local workers).",
+			required = false,
+			depends = {"--coordinator-port"}
+			)
+	private String bindAddress;
+	@Option(
+			name = "--worker",
+			usage = "Run as worker: score batches of EFO cell lines served by the coordinator at host:port.",
+			required = false,
+			forbids = {"--coordinator-port"}
+			)
+	private String coordinatorAddress;
+	@Option(
+			name = "--batch-size",
+			usage = "Number of EFO cell lines per coordinator batch (default 16).",
+			required = false
+			)
+	private int batchSize = 16;
+	@Option(
+			name = "--metrics-interval",
+			usage = "Also rewrite the metrics report every given number of seconds during the run (default 0, only at the end).",
+			required = false
+			)
+	private int metricsInterval = 0;
+	@Option(
+			name = "--progress-interval",
+			usage = "Log the scoring progress, throughput and ETA every given number of seconds (default 30, 0 only at the end).",
+			required = false
+			)
+	private int progressInterval = 30;
+	@Option(
+			name = "--quiet-scoring",
+			usage = "Do not log the submission, matches and completion of every EFO cell line, only the progress.",
+			required = false
+			)
+	private boolean quietScoring;
+	@Option(
+			name = "--keep-owl",
+			usage = "Keep the OWLAPI ontologies and reasoners after parsing instead of detaching the models to a class hierarchy index.",
+			required = false
+			)
+	private boolean keepOWL;
+	@Option(
+			name = "--extract-module",
+			usage = "Reduce EFO, CLO and DOID to a syntactic locality module around the cell line, disease, organism, organism part and cell type branches before building the reasoners.",
+			required = false
+			)
+	private boolean extractModule;
+	@Option(
+			name = "--catalog",
+			usage = "XML catalog or directory of local ontology files to resolve the ontology imports from, without network access. By default a catalog-v001.xml next to an ontology file is used.",
+			required = false
+			)
+	private String catalogFileName;
+	@Option(
+			name = "--reasoner",
+			usage = "Classify EFO, CLO and DOID with this reasoner (hermit, elk, or auto for ELK on OWL 2 EL ontologies) and add the inferred subclass and class assertion axioms before parsing. By default only the asserted hierarchy is used.",
+			required = false
+			)
+	private String reasonerName;
+	@Option(
+			name = "--inference-cache",
+			usage = "Directory keeping the inferred axioms of --reasoner per ontology file and reasoner version, reused by later runs.",
+			required = false,
+			depends = {"--reasoner"}
+			)
+	private String inferenceCacheDirectory;
+	@Option(
+			name = "--parse-threads",
+			usage = "Number of threads parsing the classes of each EFO and CLO parse phase (default 1, sequential).",
+			required = false
+			)
+	private int parseThreads = 1;
 	
 	static final Logger logger = LoggerFactory.getLogger( EFOCLOMapping.class );
 	
+	public static final String EXACT_VALID_FILE_NAME = "Exact_Valid_Mapping_EFO-CLO";
+	public static final String EXACT_INVALID_FILE_NAME = "Exact_Invalid_Mapping_EFO-CLO";
+	public static final String MULTI_FILE_NAME = "Multi_Mapping_EFO-CLO";
+	public static final String FUZZY_FILE_NAME = "Inexact_Mapping_EFO-CLO";
+	public static final String METRICS_FILE_NAME = "Metrics_EFO-CLO";
+	
+	/**
+	 * Number of CLO candidates a scoring thread visits between two progress updates.
+	 */
+	static final int PROGRESS_BATCH = 1024;
+	
+	private int shardIndex = 1;
+	private int maxThread = 1;
+	
 	private EFOOntologyModel efoModel;
 	private CLOOntologyModel cloModel;
 	private CellosaurusModel clsModel;
 	private DiseaseOntologyModel doidModel;
+	private DiseaseMatchCache diseaseMatchCache;
+	private CellLineFeatureMatrix efoMatrix;
+	private CellLineFeatureMatrix cloMatrix;
+	private AtomicLong pairsCompared = new AtomicLong();
+	private MetricsRegistry metrics = MetricsRegistry.getDefault();
+	private ProgressTracker progress = new ProgressTracker( metrics );
+	private ExecutorService executor;
 	
 	HashMap<String, String> efoCLSMap;
 	HashMap<String, String> cloCLSMap;
 	Set<String> efoMappedSet;
 	
+	FingerprintStore fingerprints;
+	FingerprintStore previous;
+	HashMap<String, List<String[]>> previousExactValid;
+	HashMap<String, List<String[]>> previousExactInvalid;
+	HashMap<String, List<String[]>> previousMulti;
+	HashMap<String, List<String[]>> previousFuzzy;
+	Set<String> changedCLOSet;
+	Set<String> staleCLOSet;
+	
 	Set<String> exactValidMapping;
 	Set<String> exactInvalidMapping;
 	Set<String> multiMapping;
@@ -119,9 +280,17 @@ public class EFOCLOMapping {
 	SynchronizedEntrySet fuzzyEntrySet;
 	
 	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
 		new EFOCLOMapping().run( args );
 	}
 	
+	/**
+	 * @return the number of EFO-CLO cell line pairs scored so far
+	 */
+	public long getPairsCompared() {
+		return pairsCompared.get();
+	}
+	
 	public void run( String[] args ) {
 		CmdLineParser parser = new CmdLineParser( this );
 		
@@ -133,6 +302,18 @@ public class EFOCLOMapping {
             parser.printUsage( System.err );
             System.exit( -1 );
 		}
+		if ( this.shard != null ) {
+			this.shardIndex = this.shard;
+			if ( this.shardCount < 1 || this.shardIndex < 1 || this.shardIndex > this.shardCount ) {
+				logger.error( "Incorrect shard: " + this.shardIndex + " of " + this.shardCount );
+				parser.printUsage( System.err );
+				System.exit( -1 );
+			}
+			logger.info( "Mapping shard {} of {}", this.shardIndex, this.shardCount );
+		}
+		
+		if ( this.metricsInterval > 0 )
+			this.metrics.startReporting( new File( this.getMetricsFileName() ), this.metricsInterval, TimeUnit.SECONDS );
 		
 		// Load Cellosaurus
 		this.clsModel = new CellosaurusModel( new File( this.clsFileName ) );
@@ -143,7 +324,7 @@ public class EFOCLOMapping {
 				efoCLSMap.put( efoAccessions.iterator().next(),  efoCLSCellLine.getAccession() );
 			}
 		}
-		logger.info( String.format( "Found %d EFO mapping in Cellosaurus", efoCLSMap.size() ) );
+		logger.info( "Found {} EFO mapping in Cellosaurus", efoCLSMap.size() );
 		this.cloCLSMap = new HashMap<String, String>();
 		for ( CellosaurusCellLine cloCLSCellLine : clsModel.getCellLinesFromCrossReferenceSource( "CLO" ) ) {
 			Set<String> cloAccessions = cloCLSCellLine.getCrossReferenceAccessionsFromSource( "CLO" );
@@ -151,117 +332,443 @@ public class EFOCLOMapping {
 				cloCLSMap.put( cloAccessions.iterator().next(), cloCLSCellLine.getAccession() );
 			}
 		}
-		logger.info( String.format( "Found %d CLO mapping in Cellosaurus", cloCLSMap.size() ) );
+		logger.info( "Found {} CLO mapping in Cellosaurus", cloCLSMap.size() );
 		this.efoMappedSet = Sets.intersection( new HashSet<String>( efoCLSMap.values() ), new HashSet<String>( cloCLSMap.values() ) );
-		logger.info( String.format( "Mapped %d EFO to CLO through Cellosaurus", efoMappedSet.size() ) );
+		logger.info( "Mapped {} EFO to CLO through Cellosaurus", efoMappedSet.size() );
+		
+		OntologyModel.setModuleExtraction( this.extractModule );
+		OntologyModel.setParseThreads( this.parseThreads );
+		if ( this.catalogFileName != null )
+			OntologyModel.setImportCatalog( new ImportCatalog( new File( this.catalogFileName ) ) );
+		if ( this.reasonerName != null ) {
+			try {
+				OntologyModel.setReasoner( this.reasonerName );
+			} catch ( IllegalArgumentException e ) {
+				logger.error( e.getMessage() );
+				System.exit( -1 );
+			}
+			OntologyModel.setInference( true );
+			if ( this.inferenceCacheDirectory != null )
+				OntologyModel.setInferenceCache( new InferenceCache( new File( this.inferenceCacheDirectory ) ) );
+		}
 		
 		// Load EFO
-		this.efoModel = new EFOOntologyModel( new File( this.efoFileName ) );
+		this.efoModel = OntologyModelRegistry.getDefault().getEFOOntologyModel( new File( this.efoFileName ) );
 		
 		// Load CLO
-		this.cloModel = new CLOOntologyModel( new File ( this.cloFileName ) );
+		this.cloModel = OntologyModelRegistry.getDefault().getCLOOntologyModel( new File ( this.cloFileName ) );
 		
 		// Load DOID
-		this.doidModel = new DiseaseOntologyModel();
+		if ( this.doidFileName != null )
+			this.doidModel = OntologyModelRegistry.getDefault().getDiseaseOntologyModel( new File( this.doidFileName ) );
+		else
+			this.doidModel = OntologyModelRegistry.getDefault().getDiseaseOntologyModel();
+		
+		// Release the OWLAPI structures, only parsed entities and subclass relations are needed from here
+		if ( !this.keepOWL ) {
+			this.efoModel.detach();
+			this.cloModel.detach();
+			this.doidModel.detach();
+		}
 		
-		// Expand disease cross reference from DOID and EFO
+		this.diseaseMatchCache = new DiseaseMatchCache();
+		
+		// Link the cell line diseases to the DOID and EFO diseases cross referencing their accession, one hop only
+		Stopwatch timer = Stopwatch.createStarted();
+		Timer.Context linkContext = this.metrics.timer( "disease.links" ).time();
+		Map<String, List<Disease>> crossReferenceDiseases = new HashMap<String, List<Disease>>();
+		this.indexCrossReferenceDiseases( crossReferenceDiseases, doidModel.getDiseases().values() );
+		this.indexCrossReferenceDiseases( crossReferenceDiseases, efoModel.getDiseases().values() );
+		Set<Disease> diseases = Collections.newSetFromMap( new IdentityHashMap<Disease, Boolean>() );
 		for ( Map.Entry<String, EFOCellLine> efo : efoModel.getCellLines().entrySet() )
-			for ( Disease efoDisease : efo.getValue().getDiseases() ) {
-				for ( Disease sourceDOID : doidModel.getDiseasesFromCrossReferenceAccession( efoDisease.getAccession() ) )
-					efoDisease.merge( sourceDOID );
-				for ( Disease sourceEFO : efoModel.getDiseasesFromCrossReferenceAccession( efoDisease.getAccession() ) )
-					efoDisease.merge( sourceEFO );
-			}
+			diseases.addAll( efo.getValue().getDiseases() );
 		for ( Map.Entry<String, CLOCellLine> clo : cloModel.getCellLines().entrySet() )
-			for ( Disease cloDisease : clo.getValue().getDiseases() ) {
-				for ( Disease targetDOID : doidModel.getDiseasesFromCrossReferenceAccession( cloDisease.getAccession() ) )
-					cloDisease.merge( targetDOID );
-				for ( Disease targetEFO : efoModel.getDiseasesFromCrossReferenceAccession( cloDisease.getAccession() ) )
-					cloDisease.merge( targetEFO );
+			diseases.addAll( clo.getValue().getDiseases() );
+		int linkedCount = 0;
+		for ( Disease disease : diseases ) {
+			List<Disease> linked = crossReferenceDiseases.get( disease.getAccession() );
+			if ( linked != null ) {
+				disease.setCrossReferenceDiseases( linked );
+				linkedCount ++;
 			}
+		}
+		linkContext.stop();
+		this.metrics.counter( "disease.count" ).add( diseases.size() );
+		this.metrics.counter( "disease.linked" ).add( linkedCount );
+		logger.info( "Linked {} of {} cell line diseases to DOID and EFO diseases in {}",
+				linkedCount, diseases.size(), timer.stop().toString() );
 		
-		this.map();
+		if ( this.coordinatorAddress != null ) {
+			int separator = this.coordinatorAddress.lastIndexOf( ':' );
+			String host = this.coordinatorAddress.substring( 0, Math.max( separator, 0 ) );
+			int port = -1;
+			try {
+				port = Integer.parseInt( this.coordinatorAddress.substring( separator + 1 ) );
+			} catch ( NumberFormatException e ) {}
+			if ( host.isEmpty() || port < 0 ) {
+				logger.error( "Incorrect coordinator address: " + this.coordinatorAddress );
+				System.exit( -1 );
+			}
+			try {
+				this.prepare();
+				new MappingWorker( this, host, port ).run();
+				this.stopScoring();
+				logger.info( "Compared {} EFO-CLO cell line pairs", this.pairsCompared.get() );
+				logger.info( "Disease semantic match cache: {}", this.diseaseMatchCache );
+				this.writeMetrics();
+			} catch ( IOException e ) {
+				logger.error( "Lost connection to coordinator: " + this.coordinatorAddress, e );
+				System.exit( -1 );
+			}
+		} else if ( this.coordinatorPort != null ) {
+			try {
+				this.prepare();
+				if ( new MappingCoordinator( this, this.bindAddress, this.coordinatorPort, this.batchSize ).run() )
+					this.write();
+				this.writeMetrics();
+			} catch ( IOException e ) {
+				logger.error( "Fail to run coordinator on port: " + this.coordinatorPort, e );
+				System.exit( -1 );
+			}
+		} else {
+			this.map();
+		}
 	}
 	
 	public void map() {
-		this.exactValidMapping = new HashSet<String>();
-		this.exactInvalidMapping = new HashSet<String>();
-		this.multiMapping = new HashSet<String>();
-		this.fuzzyMapping = new HashSet<String>();
-		
-		this.exactValidEntrySet = new SynchronizedEntrySet();
-		this.exactInvalidEntrySet = new SynchronizedEntrySet();
-		this.multiEntrySet = new SynchronizedEntrySet();
-		this.fuzzyEntrySet = new SynchronizedEntrySet();
+		this.prepare();
+		if ( this.score( this.getEFOAccessions() ) )
+			this.write();
+		this.stopScoring();
+		logger.info( "Compared {} EFO-CLO cell line pairs", this.pairsCompared.get() );
+		logger.info( "Disease semantic match cache: {}", this.diseaseMatchCache );
+		this.writeMetrics();
+		System.gc();
+	}
+	
+	/**
+	 * Stop the periodic metrics report and write the final one to the output directory.
+	 */
+	void writeMetrics() {
+		this.metrics.stopReporting();
+		this.metrics.counter( "diseaseCache.hits" ).add( this.diseaseMatchCache.getHitCount() );
+		this.metrics.counter( "diseaseCache.misses" ).add( this.diseaseMatchCache.getMissCount() );
+		String fileName = this.getMetricsFileName();
+		try {
+			this.metrics.writeJSON( new File( fileName ) );
+			logger.info( "Wrote metrics report: " + fileName );
+		} catch ( IOException e ) {
+			logger.warn( "Fail to write metrics report: " + fileName, e );
+		}
+	}
+	
+	/**
+	 * Index the diseases by their accession and their cross reference accessions, the lookup of
+	 * getDiseasesFromCrossReferenceAccession() done once for all cell line diseases.
+	 */
+	private void indexCrossReferenceDiseases( Map<String, List<Disease>> index, Collection<Disease> diseases ) {
+		for ( Disease disease : diseases ) {
+			Set<String> accessions = new HashSet<String>();
+			if ( disease.getAccession() != null )
+				accessions.add( disease.getAccession() );
+			for ( CrossReference xRef : disease.getCrossReferences() )
+				if ( xRef.getAccession() != null )
+					accessions.add( xRef.getAccession() );
+			for ( String accession : accessions ) {
+				List<Disease> linked = index.get( accession );
+				if ( linked == null ) {
+					linked = new ArrayList<Disease>();
+					index.put( accession, linked );
+				}
+				linked.add( disease );
+			}
+		}
+	}
+
+	/**
+	 * @return the metrics report file, per shard and, as workers may share an output directory, per worker process
+	 */
+	private String getMetricsFileName() {
+		String suffix = "";
+		if ( shard != null )
+			suffix = getShardSuffix( shardIndex, shardCount );
+		if ( coordinatorAddress != null )
+			suffix += "-worker-" + ManagementFactory.getRuntimeMXBean().getName().replaceAll( "[^A-Za-z0-9.]", "-" );
+		return outputDirectory + METRICS_FILE_NAME + suffix + ".json";
+	}
+	
+	/**
+	 * Fingerprint the current cell lines and load the previous mapping for incremental mode.
+	 */
+	void prepare() {
+		this.resetResults();
 		
 		int numCPU = Runtime.getRuntime().availableProcessors();
-		logger.info( String.format( "%d CPU available in the system", numCPU ) );
-		int maxThread = (int) Math.round( numCPU * 0.9 );
-		logger.info( "Setting max thread to " + String.valueOf( maxThread ) );
-		//ExecutorService executor = new ThreadPoolExecutor( 1, maxThread, 100000, TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>() );
-		ExecutorService executor = Executors.newFixedThreadPool( maxThread );
+		logger.info( "{} CPU available in the system", numCPU );
+		this.maxThread = (int) Math.round( numCPU * 0.9 );
+		logger.info( "Setting max thread to {}", maxThread );
+
+		// Fingerprint current cell lines
+		this.fingerprints = new FingerprintStore();
+		for ( Map.Entry<String, EFOCellLine> efo : this.efoModel.getCellLines().entrySet() ) {
+			if ( getShard( efo.getKey(), shardCount ) != shardIndex )
+				continue;
+			boolean eligible = efo.getValue().getDatabase().equalsIgnoreCase( "EFO" ) && !efoMappedSet.contains( efoCLSMap.get( efo.getKey() ) );
+			fingerprints.getEFOFingerprints().put( efo.getKey(), FingerprintStore.fingerprint( efo.getValue(), eligible ) );
+		}
+		this.changedCLOSet = new HashSet<String>();
+		for ( Map.Entry<String, CLOCellLine> clo : this.cloModel.getCellLines().entrySet() ) {
+			boolean eligible = !efoMappedSet.contains( cloCLSMap.get( clo.getKey() ) );
+			fingerprints.getCLOFingerprints().put( clo.getKey(), FingerprintStore.fingerprint( clo.getValue(), eligible ) );
+		}
 		
-		int counter = 0;
+		// Encode CLO cell lines once, in the candidate order of the scoring threads, and EFO cell lines into columns
+		Timer.Context encodeContext = this.metrics.timer( "scoring.encode" ).time();
+		List<CellLineFeatures> cloFeatures = new ArrayList<CellLineFeatures>();
+		for ( String cloAccession : new HashSet<String>( this.cloModel.getCellLines().keySet() ) ) {
+			CellLineFeatures features = new CellLineFeatures( this.cloModel.getCellLineFromAccession( cloAccession ), this.diseaseMatchCache );
+			features.setEligible( !efoMappedSet.contains( cloCLSMap.get( cloAccession ) ) );
+			cloFeatures.add( features );
+		}
+		this.cloMatrix = new CellLineFeatureMatrix( cloFeatures );
+		List<CellLineFeatures> efoFeatures = new ArrayList<CellLineFeatures>();
+		for ( EFOCellLine efoCellLine : this.efoModel.getCellLines().values() )
+			efoFeatures.add( new CellLineFeatures( efoCellLine, this.diseaseMatchCache ) );
+		this.efoMatrix = new CellLineFeatureMatrix( efoFeatures, this.cloMatrix );
+		encodeContext.stop();
+
+		// Load previous mapping for incremental mode
+		this.staleCLOSet = new HashSet<String>();
+		if ( previousDirectory != null ) {
+			try {
+				previous = new FingerprintStore( new File( previousDirectory + FingerprintStore.FINGERPRINT_FILE_NAME ) );
+				previousExactValid = MapReader.readEntries( getOutputFileName( previousDirectory, EXACT_VALID_FILE_NAME, "" ) );
+				previousExactInvalid = MapReader.readEntries( getOutputFileName( previousDirectory, EXACT_INVALID_FILE_NAME, "" ) );
+				previousMulti = MapReader.readEntries( getOutputFileName( previousDirectory, MULTI_FILE_NAME, "" ) );
+				previousFuzzy = MapReader.readEntries( getOutputFileName( previousDirectory, FUZZY_FILE_NAME, "" ) );
+			} catch ( IOException e ) {
+				logger.error( "Fail to load previous mapping from: " + previousDirectory, e );
+				System.exit( -1 );
+			}
+			for ( Map.Entry<String, String> clo : fingerprints.getCLOFingerprints().entrySet() ) {
+				if ( !clo.getValue().equals( previous.getCLOFingerprints().get( clo.getKey() ) ) ) {
+					staleCLOSet.add( clo.getKey() );
+					if ( !efoMappedSet.contains( cloCLSMap.get( clo.getKey() ) ) )
+						changedCLOSet.add( clo.getKey() );
+				}
+			}
+			for ( String cloAccession : previous.getCLOFingerprints().keySet() ) {
+				if ( !fingerprints.getCLOFingerprints().containsKey( cloAccession ) )
+					staleCLOSet.add( cloAccession );
+			}
+			logger.info( "Found {} changed or new CLO cell lines and {} removed CLO cell lines since previous mapping",
+					changedCLOSet.size(), staleCLOSet.size() - changedCLOSet.size() );
+		}
+	}
+	
+	/**
+	 * EFO cell lines to be mapped in this run, in EFO model order.
+	 */
+	List<String> getEFOAccessions() {
+		List<String> efoAccessions = new ArrayList<String>();
 		for ( Map.Entry<String, EFOCellLine> efo : this.efoModel.getCellLines().entrySet() ) {
-			String efoAccession = efo.getKey();
-			EFOCellLine efoCellLine = efo.getValue();
-			
-			if ( !efoCellLine.getDatabase().equalsIgnoreCase( "EFO" ) )
+			if ( !efo.getValue().getDatabase().equalsIgnoreCase( "EFO" ) )
 				continue;
-			if ( efoMappedSet.contains( efoCLSMap.get( efoAccession ) ) )
+			if ( efoMappedSet.contains( efoCLSMap.get( efo.getKey() ) ) )
 				continue;
-			counter ++;
-			logger.info( String.format( "Submit EFO Cell Line to queue#%d: %s", counter, efoAccession ) );
+			if ( getShard( efo.getKey(), shardCount ) != shardIndex )
+				continue;
+			efoAccessions.add( efo.getKey() );
+		}
+		return efoAccessions;
+	}
+	
+	/**
+	 * Score the given EFO cell lines against CLO, adding the results to the mapping and entry sets.
+	 * @return true if all cell lines were scored
+	 */
+	boolean score( Collection<String> efoAccessions ) {
+		if ( this.executor == null )
+			this.executor = Executors.newFixedThreadPool( maxThread );
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		boolean logScoring = !this.quietScoring && logger.isInfoEnabled();
+		this.progress.start( this.progressInterval, TimeUnit.SECONDS );
+
+		int counter = 0;
+		int reused = 0;
+		int partial = 0;
+		for ( String efoAccession : efoAccessions ) {
+			EFOCellLine efoCellLine = this.efoModel.getCellLineFromAccession( efoAccession );
+
 			MatchThread match = new MatchThread();
-			match.setEFO( efo );
+			match.setEFO( new AbstractMap.SimpleImmutableEntry<String, EFOCellLine>( efoAccession, efoCellLine ) );
+
+			// Reuse previous mapping of unchanged EFO cell line unless it involves changed CLO cell lines
+			if ( previous != null && fingerprints.getEFOFingerprints().get( efoAccession ).equals( previous.getEFOFingerprints().get( efoAccession ) ) ) {
+				List<String[]> entries = null;
+				boolean exact = true;
+				boolean multi = false;
+				if ( previousExactValid.containsKey( efoAccession ) ) {
+					entries = previousExactValid.get( efoAccession );
+				} else if ( previousExactInvalid.containsKey( efoAccession ) ) {
+					entries = previousExactInvalid.get( efoAccession );
+				} else if ( previousMulti.containsKey( efoAccession ) ) {
+					entries = previousMulti.get( efoAccession );
+					multi = true;
+				} else if ( previousFuzzy.containsKey( efoAccession ) ) {
+					entries = previousFuzzy.get( efoAccession );
+					exact = false;
+				}
+				boolean stale = ( entries == null );
+				if ( entries != null )
+					for ( String[] entry : entries )
+						if ( staleCLOSet.contains( entry[2] ) )
+							stale = true;
+				if ( !stale ) {
+					if ( changedCLOSet.isEmpty() ) {
+						reused ++;
+						if ( previousExactValid.containsKey( efoAccession ) ) {
+							exactValidMapping.add( efoAccession );
+							exactValidEntrySet.addAll( new HashSet<String[]>( entries ) );
+						} else if ( previousExactInvalid.containsKey( efoAccession ) ) {
+							exactInvalidMapping.add( efoAccession );
+							exactInvalidEntrySet.addAll( new HashSet<String[]>( entries ) );
+						} else if ( multi ) {
+							multiMapping.add( efoAccession );
+							multiEntrySet.addAll( new HashSet<String[]>( entries ) );
+						} else {
+							fuzzyMapping.add( efoAccession );
+							fuzzyEntrySet.addAll( new HashSet<String[]>( entries ) );
+						}
+						continue;
+					}
+					partial ++;
+					List<CellLineMatch> seeds = new ArrayList<CellLineMatch>();
+					for ( String[] entry : entries )
+						seeds.add( CellLineMatch.fromEntry( entry, cloModel.getCellLineFromAccession( entry[2] ) ) );
+					match.setTargets( changedCLOSet );
+					match.setSeeds( seeds, exact, multi );
+				}
+			}
+
+			counter ++;
+			this.progress.addWork( 1, match.targets != null ? match.targets.size() : cloModel.getCellLines().size() );
+			if ( logScoring )
+				logger.info( "Submit EFO Cell Line to queue#{}: {}", counter, efoAccession );
 			match.setName( String.format( "Queue#%d: %s", counter, efoAccession ) );
 			Thread thread = new Thread( match );
-			executor.execute( thread );
+			futures.add( this.executor.submit( thread ) );
 			if ( debug && counter == ( maxThread * 2 ) ) break;
 		}
-		executor.shutdown();
+		if ( previous != null )
+			logger.info( "Reused {} previous EFO mapping, rescoring {} EFO cell lines against changed CLO only and {} in full",
+					reused, partial, counter - partial );
+		this.metrics.counter( "scoring.reused" ).add( reused );
+		this.metrics.counter( "scoring.partial" ).add( partial );
+		this.metrics.counter( "scoring.full" ).add( counter - partial );
 		
-		try {
-			boolean finished = executor.awaitTermination(10, TimeUnit.HOURS);
-			if ( finished ) {
-				logger.info( String.format( "Found %d exact match valid cell line mapping from EFO to CLO", exactValidMapping.size()  ) );
-				MapWriter exactValidWriter = new MapWriter( outputDirectory + "Exact_Valid_Mapping_EFO-CLO.tsv" );
-				for ( String[] entry : this.exactValidEntrySet.value() ) {
-					exactValidWriter.writeEntry( entry );
-				}
-				exactValidWriter.close();
-				
-				logger.info( String.format( "Found %d exact match invalid cell line mapping from EFO to CLO", exactInvalidMapping.size()  ) );
-				MapWriter exactInvalidWriter = new MapWriter( outputDirectory + "Exact_Invalid_Mapping_EFO-CLO.tsv" );
-				for ( String[] entry : this.exactInvalidEntrySet.value() ) {
-					exactInvalidWriter.writeEntry( entry );
-				}
-				exactInvalidWriter.close();
-				
-				logger.info( String.format( "Found %d multi-mapping cell line mapping from EFO to CLO", multiMapping.size()  ) );
-				MapWriter multiWriter = new MapWriter( outputDirectory + "Multi_Mapping_EFO-CLO.tsv" );
-				for ( String[] entry : this.multiEntrySet.value() ) {
-					multiWriter.writeEntry( entry );
-				}
-				multiWriter.close();
-				
-				logger.info( String.format( "Found %d inexact cell line mapping from EFO to CLO", fuzzyMapping.size()  ) );
-				MapWriter fuzzyWriter = new MapWriter( outputDirectory + "Inexact_Mapping_EFO-CLO.tsv" );
-				for ( String[] entry : this.fuzzyEntrySet.value() ) {
-					fuzzyWriter.writeEntry( entry );
-				}
-				fuzzyWriter.close();
-				
-				logger.info( "Finsihed EFO-CLO mapping" );
+		long deadline = System.nanoTime() + TimeUnit.HOURS.toNanos( 10 );
+		for ( Future<?> future : futures ) {
+			try {
+				future.get( deadline - System.nanoTime(), TimeUnit.NANOSECONDS );
+			} catch ( ExecutionException e ) {
+				logger.error( "EFO cell line scoring failed", e.getCause() );
+			} catch ( TimeoutException e ) {
+				logger.error( "EFO cell line scoring timed out" );
+				return false;
+			} catch ( InterruptedException e ) {
+				logger.error( e.getMessage() );
+				return false;
 			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Shut down the scoring threads, shared by all score() batches, and log the final progress.
+	 */
+	void stopScoring() {
+		if ( this.executor != null ) {
+			this.executor.shutdown();
+			this.executor = null;
+		}
+		this.progress.stop();
+	}
+	
+	/**
+	 * Write the four mapping files and the fingerprints to the output directory.
+	 */
+	void write() {
+		Timer.Context context = this.metrics.timer( "output.write" ).time();
+		try {
+			String suffix = "";
+			if ( shard != null )
+				suffix = getShardSuffix( shardIndex, shardCount );
+			
+			logger.info( "Found {} exact match valid cell line mapping from EFO to CLO", exactValidMapping.size() );
+			MapWriter.writeEntries( getOutputFileName( outputDirectory, EXACT_VALID_FILE_NAME, suffix ), this.exactValidEntrySet.value() );
+			
+			logger.info( "Found {} exact match invalid cell line mapping from EFO to CLO", exactInvalidMapping.size() );
+			MapWriter.writeEntries( getOutputFileName( outputDirectory, EXACT_INVALID_FILE_NAME, suffix ), this.exactInvalidEntrySet.value() );
+			
+			logger.info( "Found {} multi-mapping cell line mapping from EFO to CLO", multiMapping.size() );
+			MapWriter.writeEntries( getOutputFileName( outputDirectory, MULTI_FILE_NAME, suffix ), this.multiEntrySet.value() );
+			
+			logger.info( "Found {} inexact cell line mapping from EFO to CLO", fuzzyMapping.size() );
+			MapWriter.writeEntries( getOutputFileName( outputDirectory, FUZZY_FILE_NAME, suffix ), this.fuzzyEntrySet.value() );
+
+			fingerprints.writeToFile( outputDirectory + FingerprintStore.FINGERPRINT_FILE_NAME.replace( ".tsv", suffix + ".tsv" ) );
+
+			logger.info( "Finsihed EFO-CLO mapping" );
 		} catch (IOException e) {
 			logger.error( e.getMessage() );
 			System.exit( -1 );
-		} catch (InterruptedException e) {
-			logger.error( e.getMessage() );
 		}
+		context.stop();
+	}
+	
+	/**
+	 * Start a new set of results, used by workers between batches.
+	 */
+	void resetResults() {
+		this.exactValidMapping = Collections.synchronizedSet( new HashSet<String>() );
+		this.exactInvalidMapping = Collections.synchronizedSet( new HashSet<String>() );
+		this.multiMapping = Collections.synchronizedSet( new HashSet<String>() );
+		this.fuzzyMapping = Collections.synchronizedSet( new HashSet<String>() );
 		
-		System.gc();
+		this.exactValidEntrySet = new SynchronizedEntrySet();
+		this.exactInvalidEntrySet = new SynchronizedEntrySet();
+		this.multiEntrySet = new SynchronizedEntrySet();
+		this.fuzzyEntrySet = new SynchronizedEntrySet();
+	}
+	
+	/**
+	 * Mapping sets in file order: exact valid, exact invalid, multi, inexact.
+	 */
+	List<Set<String>> getResultMappings() {
+		return Arrays.asList( exactValidMapping, exactInvalidMapping, multiMapping, fuzzyMapping );
+	}
+	
+	/**
+	 * Entry sets in file order: exact valid, exact invalid, multi, inexact.
+	 */
+	List<SynchronizedEntrySet> getResultEntrySets() {
+		return Arrays.asList( exactValidEntrySet, exactInvalidEntrySet, multiEntrySet, fuzzyEntrySet );
+	}
+	
+	/**
+	 * Stable shard (1-based) of an EFO accession, independent of JVM and host.
+	 */
+	public static int getShard( String accession, int shardCount ) {
+		return ( accession.hashCode() & Integer.MAX_VALUE ) % shardCount + 1;
+	}
+	
+	public static String getShardSuffix( int shardIndex, int shardCount ) {
+		return String.format( ".shard-%d-of-%d", shardIndex, shardCount );
+	}
+	
+	public static String getOutputFileName( String directory, String name, String suffix ) {
+		return directory + name + suffix + ".tsv";
 	}
 	
 	private class MatchThread implements Runnable {
@@ -278,159 +785,108 @@ public class EFOCLOMapping {
 			this.name = name;
 		}
 		
+		private Collection<String> targets;
+		public void setTargets( Collection<String> targets ) {
+			this.targets = targets;
+		}
+		
+		private Collection<CellLineMatch> seeds;
+		private boolean seedExact = false;
+		private boolean seedMulti = false;
+		public void setSeeds( Collection<CellLineMatch> seeds, boolean exact, boolean multi ) {
+			this.seeds = seeds;
+			this.seedExact = exact;
+			this.seedMulti = multi;
+		}
+		
 		public void run() {
-			// Set up matchers
-			CellLineMatcher cellLineMatcher = new CellLineMatcher();
-			DiseaseMatcher diseaseMatcher = new DiseaseMatcher( doidModel, efoModel );
-			SpeciesMatcher speciesMatcher = new SpeciesMatcher();
-			OrganismPartMatcher organismPartMatcher = new OrganismPartMatcher();
-			CellTypeMatcher cellTypeMatcher = new CellTypeMatcher();
+			// Set up scorer
+			CellLineScorer scorer = new CellLineScorer( doidModel, efoModel, diseaseMatchCache );
 			
 			Stopwatch timer = Stopwatch.createStarted();
+			Timer.Context scoringContext = metrics.timer( "scoring.efoCellLine" ).time();
 			
 			String efoAccession = efo.getKey();
 			EFOCellLine efoCellLine = efo.getValue();
+			int efoRow = efoMatrix.getRow( efoAccession );
+			PipelineEvents.ScoringSpan scoringEvent = PipelineEvents.cellLineScoring( efoAccession );
 			
 			TreeSet<CellLineMatch> matches = new TreeSet<CellLineMatch>();
-			boolean exact = false;
-			boolean multi = false;
+			boolean exact = this.seedExact;
+			boolean multi = this.seedMulti;
+			if ( this.seeds != null ) {
+				for ( CellLineMatch seed : this.seeds ) {
+					matches.add( seed );
+					if ( matches.size() > 3 )
+						matches.pollFirst();
+				}
+			}
 			int counter = 0;
-			int process = -1;
-			int size = cloModel.getCellLines().size();
+			int visited = 0;
+			int reportedCounter = 0;
+			int reportedVisited = 0;
 			
-			threadLogger.info( "Starting " + this.name );
+			boolean logScoring = !quietScoring && threadLogger.isInfoEnabled();
+			if ( logScoring )
+				threadLogger.info( "Starting {}", this.name );
+			progress.beginLine();
 			
-			Set<String> keySet = new HashSet<String>( cloModel.getCellLines().keySet() );
-			for ( String cloAccession : keySet ) {
-				CLOCellLine cloCellLine = cloModel.getCellLineFromAccession( cloAccession );
-				synchronized ( cloCellLine ) {
-					if ( efoMappedSet.contains( cloCLSMap.get( cloAccession ) ) )
-						continue;
-					counter++;
-					int percent = (int) Math.floor( (double) counter / (double) size * 20 );
-					if ( percent > process ) {
-						process = percent;
-						threadLogger.info( String.format( "[%s] Processing <%s%s> elapsed time: %s", 
-								efoAccession,
-								new String( new char[process] ).replace( "\0", "#" ),
-								new String( new char[(20-process)] ).replace( "\0", "-" ),
-								timer.toString() ) );
-					}
-					
-					CellLineMatch match = new CellLineMatch();
-					match.setCellLine( cloCellLine );
-					int score = 0;
-					boolean valid = true;
-					
-					// Cell Line Name/Synonyms/XREF matching
-					cellLineMatcher.setSource( efoCellLine );
-					cellLineMatcher.setTarget( cloCellLine );
-					match.setEditDistance( cellLineMatcher.getNameEditDistanceIgnoreCase() );
-					match.setSynonymsDistance( cellLineMatcher.getShortestSynonymEditDistanceIgnoreCase() );
-					if ( cellLineMatcher.matchIgnoreCase() ) {
-						threadLogger.info( String.format( "[%s] Found exact name/synonyms/cross-reference exact matched Cell Line: %s", efoAccession, cloAccession ) );
-						if ( exact )
-							multi = true;
-						exact = true;
-						score = 8;
-					} else {
-						score -= match.getSynonymsDistance();
-					}
-					
-					// Cell Line Disease matching
-					if ( !efoCellLine.getDiseases().isEmpty() && !cloCellLine.getDiseases().isEmpty() ) {
-						match.setDiseaseMatch( false );
-						for ( Disease efoDisease : efoCellLine.getDiseases() ) {
-							for ( Disease cloDisease : cloCellLine.getDiseases() ) {
-								diseaseMatcher.setSource( efoDisease );
-								diseaseMatcher.setTarget( cloDisease );
-								if ( diseaseMatcher.match() )
-									match.setDiseaseMatch( true );
-							}
-						}
-						if ( match.isDiseaseMatch() )
-							score ++;
-						else {
-							valid = false;
-							score --;
-						}
-					} else {
-						match.setDiseaseMatch( null );
-					}
-					
-					// Cell Line Species matching
-					if ( !efoCellLine.getSpecies().isEmpty() && !cloCellLine.getSpecies().isEmpty() ) {
-						match.setSpeciesMatch( false );
-						for ( Species efoSpecies : efoCellLine.getSpecies() ) {
-							for ( Species cloSpecies : cloCellLine.getSpecies() ) {
-								speciesMatcher.setSource( efoSpecies );
-								speciesMatcher.setTarget( cloSpecies );
-								if ( speciesMatcher.match() )
-									match.setSpeciesMatch( true );
-							}
-						}
-						if ( match.isSpeciesMatch() )
-							score ++;
-						else {
-							valid = false;
-							score --;
-						}
-					} else {
-						match.setSpeciesMatch( null );
-					}
-					
-					// Cell Line OrganismPart matching
-					if ( !efoCellLine.getOrganismParts().isEmpty() && !cloCellLine.getOrganismParts().isEmpty() ) {
-						match.setOrganismMatch( false );
-						for ( OrganismPart efoOrganismPart : efoCellLine.getOrganismParts() ) {
-							for ( OrganismPart cloOrganismPart : cloCellLine.getOrganismParts() ) {
-								organismPartMatcher.setSource( efoOrganismPart );
-								organismPartMatcher.setTarget( cloOrganismPart );
-								if ( organismPartMatcher.match() )
-									match.setOrganismMatch( true );;
-							}
-						}
-						if ( match.isOrganismMatch() )
-							score ++;
-						else {
-							valid = false;
-							score --;
-						}
-					} else {
-						match.setOrganismMatch( null );
-					}
-					
-					// Cell Line CellType matching
-					if ( !efoCellLine.getCellTypes().isEmpty() && !cloCellLine.getCellTypes().isEmpty() ) {
-						match.setCellMatch( false );
-						for ( CellType efoCellType : efoCellLine.getCellTypes() ) {
-							for ( CellType cloCellType : cloCellLine.getCellTypes() ) {
-								cellTypeMatcher.setSource( efoCellType );
-								cellTypeMatcher.setTarget( cloCellType );
-								if ( cellTypeMatcher.match() )
-									match.setCellMatch( true );;
-							}
-						}
-						if ( match.isCellMatch() )
-							score ++;
-						else {
-							valid = false;
-							score --;
-						}
-					} else {
-						match.setCellMatch( null );
-					}
-					
-					// Update match score and suggested matches SortedSet
-					match.setValid( valid );
-					match.setScore( score );
-					matches.add( match );
-					if ( matches.size() > 3 ) {
-						matches.pollFirst();
-					}
+			int[] candidates;
+			if ( this.targets != null ) {
+				Set<String> targetSet = new HashSet<String>( this.targets );
+				candidates = new int[targetSet.size()];
+				int index = 0;
+				for ( String cloAccession : targetSet )
+					candidates[index ++] = cloMatrix.getRow( cloAccession );
+			} else {
+				candidates = new int[cloMatrix.getRowCount()];
+				for ( int row = 0; row < candidates.length; row ++ )
+					candidates[row] = row;
+			}
+			// Scored into a scratch match, only copied when it enters the top 3
+			CellLineMatch candidate = new CellLineMatch();
+			for ( int cloRow : candidates ) {
+				if ( ++visited - reportedVisited == PROGRESS_BATCH ) {
+					progress.progress( visited - reportedVisited, counter - reportedCounter );
+					reportedVisited = visited;
+					reportedCounter = counter;
+				}
+				if ( !cloMatrix.isEligible( cloRow ) )
+					continue;
+				counter++;
+				
+				// Abandon candidates which cannot enter the top 3
+				int minimumScore = matches.size() >= 3 ? matches.first().getScore() : Integer.MIN_VALUE;
+				boolean scored = scorer.score( efoMatrix, efoRow, cloMatrix, cloRow, minimumScore );
+				if ( scorer.isExact() ) {
+					if ( logScoring )
+						threadLogger.info( "[{}] Found exact name/synonyms/cross-reference exact matched Cell Line: {}", efoAccession, cloMatrix.getCellLine( cloRow ).getAccession() );
+					if ( exact )
+						multi = true;
+					exact = true;
+				}
+				if ( !scored )
+					continue;
+				
+				// Update suggested matches SortedSet
+				candidate.setCellLine( cloMatrix.getCellLine( cloRow ) );
+				candidate.setEditDistance( scorer.getEditDistance() );
+				candidate.setSynonymsDistance( scorer.getSynonymsDistance() );
+				candidate.setDiseaseMatch( scorer.isDiseaseMatch() );
+				candidate.setSpeciesMatch( scorer.isSpeciesMatch() );
+				candidate.setOrganismMatch( scorer.isOrganismMatch() );
+				candidate.setCellMatch( scorer.isCellMatch() );
+				candidate.setValid( scorer.isValid() );
+				candidate.setScore( scorer.getScore() );
+				if ( matches.size() >= 3 && candidate.compareTo( matches.first() ) < 0 )
+					continue;
+				matches.add( candidate.copy() );
+				if ( matches.size() > 3 ) {
+					matches.pollFirst();
 				}
 			}
 			
+			Integer bestScore = matches.isEmpty() ? null : matches.last().getScore();
 			if ( exact ) {
 				if ( !multi ) {
 					CellLineMatch last = matches.last();
@@ -461,7 +917,8 @@ public class EFOCLOMapping {
 								MapWriter.writeSetToString( last.getCellLine().getCellTypes() ),
 						};
 						exactValidEntrySet.add( entry );
-						threadLogger.info( String.format( "[%s] exact valid mapping with score (%d)%s", efoAccession, last.getScore(), last.getCellLine().getAccession() ) );
+						if ( logScoring )
+							threadLogger.info( "[{}] exact valid mapping with score ({}){}", efoAccession, last.getScore(), last.getCellLine().getAccession() );
 					} else {
 						exactInvalidMapping.add( efoAccession );
 						String[] entry = {
@@ -489,7 +946,8 @@ public class EFOCLOMapping {
 								MapWriter.writeSetToString( last.getCellLine().getCellTypes() ),
 						};
 						exactInvalidEntrySet.add( entry );
-						threadLogger.info( String.format( "[%s] exact invalid mapping with score (%d)%s", efoAccession, last.getScore(), last.getCellLine().getAccession() ) );
+						if ( logScoring )
+							threadLogger.info( "[{}] exact invalid mapping with score ({}){}", efoAccession, last.getScore(), last.getCellLine().getAccession() );
 					}					
 				} else {
 					multiMapping.add( efoAccession );
@@ -522,7 +980,8 @@ public class EFOCLOMapping {
 									MapWriter.writeSetToString( current.getCellLine().getCellTypes() ),
 							};
 							entries.add( entry );
-							threadLogger.info( String.format( "[%s] multi mapping with score (%d)%s", efoAccession, current.getScore(), current.getCellLine().getAccession() ) );
+							if ( logScoring )
+								threadLogger.info( "[{}] multi mapping with score ({}){}", efoAccession, current.getScore(), current.getCellLine().getAccession() );
 						}
 						matches.remove( current );
 					}
@@ -558,13 +1017,31 @@ public class EFOCLOMapping {
 							MapWriter.writeSetToString( current.getCellLine().getCellTypes() ),
 					};
 					entries.add( entry );
-					threadLogger.info( String.format( "[%s] inexact mapping with score (%d)%s", efoAccession, current.getScore(), current.getCellLine().getAccession() ) );
+					if ( logScoring )
+						threadLogger.info( "[{}] inexact mapping with score ({}){}", efoAccession, current.getScore(), current.getCellLine().getAccession() );
 					matches.remove( current );
 				}
 				fuzzyEntrySet.addAll( entries );
 			}
+			pairsCompared.addAndGet( counter );
+			scoringContext.stop();
+			scoringEvent.end( counter, bestScore );
+			progress.endLine( visited - reportedVisited, counter - reportedCounter );
+			metrics.counter( "scoring.pairs" ).add( counter );
+			metrics.histogram( "scoring.candidates" ).update( counter );
+			if ( bestScore != null )
+				metrics.histogram( "scoring.bestScore" ).update( bestScore );
+			metrics.counter( "matcher.cellLine" ).add( scorer.getCellLineMatches() );
+			metrics.counter( "matcher.disease" ).add( scorer.getDiseaseMatches() );
+			metrics.counter( "matcher.species" ).add( scorer.getSpeciesMatches() );
+			metrics.counter( "matcher.organismPart" ).add( scorer.getOrganismPartMatches() );
+			metrics.counter( "matcher.cellType" ).add( scorer.getCellTypeMatches() );
+			metrics.counter( "scoring.rejected.attributes" ).add( scorer.getAttributeRejections() );
+			metrics.counter( "scoring.rejected.length" ).add( scorer.getLengthRejections() );
+			metrics.counter( "scoring.rejected.editDistance" ).add( scorer.getEditDistanceRejections() );
 			System.gc();
-			threadLogger.info( String.format( "[%s] Finished in %s", efoAccession, timer.stop().toString() ) );
+			if ( logScoring )
+				threadLogger.info( "[{}] Finished in {}", efoAccession, timer.stop() );
 		}
 	}
 }
@@ -641,6 +1118,35 @@ class MapWriter {
 		return true;
 	}
 	
+	/**
+	 * Write entries ordered by EFO accession, descending score and CLO accession,
+	 * so that the output does not depend on thread scheduling or sharding.
+	 */
+	public static void writeEntries( String fileName, Collection<String[]> entries ) throws IOException {
+		List<String[]> sorted = new ArrayList<String[]>( entries );
+		Collections.sort( sorted, ENTRY_ORDER );
+		PipelineEvents.Span event = PipelineEvents.writerFlush( fileName );
+		MapWriter writer = new MapWriter( fileName );
+		for ( String[] entry : sorted ) {
+			writer.writeEntry( entry );
+		}
+		writer.close();
+		event.end( sorted.size() );
+	}
+	
+	public static final Comparator<String[]> ENTRY_ORDER = new Comparator<String[]>() {
+		@Override
+		public int compare( String[] entry1, String[] entry2 ) {
+			int order = entry1[0].compareTo( entry2[0] );
+			if ( order != 0 )
+				return order;
+			order = Integer.compare( Integer.parseInt( entry2[1] ), Integer.parseInt( entry1[1] ) );
+			if ( order != 0 )
+				return order;
+			return entry1[2].compareTo( entry2[2] );
+		}
+	};
+	
 	public static String writeSetToString( Set<? extends Object> objectSet ) {
 		ArrayList<String> msgList = new ArrayList<String>();
 		for ( Object object : objectSet ) {
@@ -664,6 +1170,29 @@ class MapWriter {
 	}
 }
 
+class MapReader {
+	/**
+	 * Read a mapping output file written by {@link MapWriter}, grouping the entries by EFO accession.
+	 */
+	public static HashMap<String, List<String[]>> readEntries( String fileName ) throws IOException {
+		HashMap<String, List<String[]>> entries = new HashMap<String, List<String[]>>();
+		CSVReader reader = new CSVReader( new FileReader( fileName ) );
+		try {
+			String[] entry = reader.readNext();
+			while ( ( entry = reader.readNext() ) != null ) {
+				if ( entry.length < 3 )
+					continue;
+				if ( !entries.containsKey( entry[0] ) )
+					entries.put( entry[0], new ArrayList<String[]>() );
+				entries.get( entry[0] ).add( entry );
+			}
+		} finally {
+			reader.close();
+		}
+		return entries;
+	}
+}
+
 class CellLineMatch implements Comparable<CellLineMatch> {
 	private int score;
 	/**
@@ -793,6 +1322,46 @@ class CellLineMatch implements Comparable<CellLineMatch> {
 	
 	public CellLineMatch() {}
 	
+	public CellLineMatch copy() {
+		CellLineMatch match = new CellLineMatch();
+		match.setCellLine( this.cellLine );
+		match.setScore( this.score );
+		match.setEditDistance( this.editDistance );
+		match.setSynonymsDistance( this.synonymsDistance );
+		match.setDiseaseMatch( this.diseaseMatch );
+		match.setSpeciesMatch( this.speciesMatch );
+		match.setOrganismMatch( this.organismMatch );
+		match.setCellMatch( this.cellMatch );
+		match.setValid( this.valid );
+		return match;
+	}
+	
+	/**
+	 * Restore a scored match from a previously written mapping entry.
+	 */
+	public static CellLineMatch fromEntry( String[] entry, CellLine cellLine ) {
+		CellLineMatch match = new CellLineMatch();
+		match.setCellLine( cellLine );
+		match.setScore( Integer.parseInt( entry[1] ) );
+		match.setEditDistance( Integer.parseInt( entry[4] ) );
+		match.setSynonymsDistance( Integer.parseInt( entry[7] ) );
+		match.setDiseaseMatch( parseMatchFlag( entry[10] ) );
+		match.setSpeciesMatch( parseMatchFlag( entry[13] ) );
+		match.setOrganismMatch( parseMatchFlag( entry[16] ) );
+		match.setCellMatch( parseMatchFlag( entry[19] ) );
+		match.setValid( !Boolean.FALSE.equals( match.isDiseaseMatch() )
+				&& !Boolean.FALSE.equals( match.isSpeciesMatch() )
+				&& !Boolean.FALSE.equals( match.isOrganismMatch() )
+				&& !Boolean.FALSE.equals( match.isCellMatch() ) );
+		return match;
+	}
+	
+	private static Boolean parseMatchFlag( String flag ) {
+		if ( flag == null || flag.equals( "null" ) )
+			return null;
+		return Boolean.valueOf( flag );
+	}
+	
 	@Override
 	public int compareTo( CellLineMatch match ) {
 		if ( this.getCellLine().getAccession().contentEquals( match.getCellLine().getAccession() ) )
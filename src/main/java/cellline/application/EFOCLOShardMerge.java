@@ -0,0 +1,123 @@
+package cellline.application;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @file EFOCLOShardMerge.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+
+/**
+ * Merge the per-shard outputs of EFOCLOMapping runs started with --shard-index i --shard-count n into the standard four mapping files.
+ */
+public class EFOCLOShardMerge {
+	/*
+	 * args4j options declaration
+	 */
+	@Option(
+			name = "--shard-path",
+			usage = "Shard mapping output directory path.",
+			required = true
+			)
+	private String shardDirectory;
+	@Option(
+			name = "--shard-count",
+			usage = "Number of shards, as given to EFOCLOMapping.",
+			required = true
+			)
+	private int shardCount;
+	@Option(
+			name = "-o",
+			usage = "Merged mapping output directory path.",
+			required = true,
+			aliases = {"--output-path"}
+			)
+	private String outputDirectory;
+
+	static final Logger logger = LoggerFactory.getLogger( EFOCLOShardMerge.class );
+
+	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
+		new EFOCLOShardMerge().run( args );
+	}
+
+	public void run( String[] args ) {
+		CmdLineParser parser = new CmdLineParser( this );
+
+		// Load arguments
+		try {
+			parser.parseArgument( args );
+		} catch( CmdLineException e ) {
+			logger.error( "Incorrect arguments" );
+            parser.printUsage( System.err );
+            System.exit( -1 );
+		}
+		if ( this.shardCount < 1 ) {
+			logger.error( "Incorrect shard count: " + this.shardCount );
+			parser.printUsage( System.err );
+			System.exit( -1 );
+		}
+
+		try {
+			Set<String> efoAccessions = new HashSet<String>();
+			String[] fileNames = {
+					EFOCLOMapping.EXACT_VALID_FILE_NAME,
+					EFOCLOMapping.EXACT_INVALID_FILE_NAME,
+					EFOCLOMapping.MULTI_FILE_NAME,
+					EFOCLOMapping.FUZZY_FILE_NAME,
+			};
+			for ( String fileName : fileNames ) {
+				List<String[]> entries = new ArrayList<String[]>();
+				for ( int shardIndex = 1; shardIndex <= this.shardCount; shardIndex ++ ) {
+					String shardFileName = EFOCLOMapping.getOutputFileName( this.shardDirectory, fileName, EFOCLOMapping.getShardSuffix( shardIndex, this.shardCount ) );
+					if ( !new File( shardFileName ).exists() ) {
+						logger.error( "Missing shard output: " + shardFileName );
+						System.exit( -1 );
+					}
+					for ( Map.Entry<String, List<String[]>> efo : MapReader.readEntries( shardFileName ).entrySet() ) {
+						if ( EFOCLOMapping.getShard( efo.getKey(), this.shardCount ) != shardIndex )
+							logger.warn( "EFO cell line {} found in unexpected shard {}", efo.getKey(), shardIndex );
+						if ( !efoAccessions.add( efo.getKey() ) ) {
+							logger.error( "EFO cell line {} mapped by more than one shard", efo.getKey() );
+							System.exit( -1 );
+						}
+						entries.addAll( efo.getValue() );
+					}
+				}
+				logger.info( "Merged {} {} entries from {} shards", entries.size(), fileName, this.shardCount );
+				MapWriter.writeEntries( EFOCLOMapping.getOutputFileName( this.outputDirectory, fileName, "" ), entries );
+			}
+
+			FingerprintStore fingerprints = new FingerprintStore();
+			for ( int shardIndex = 1; shardIndex <= this.shardCount; shardIndex ++ ) {
+				File shardFile = new File( this.shardDirectory + FingerprintStore.FINGERPRINT_FILE_NAME.replace( ".tsv", EFOCLOMapping.getShardSuffix( shardIndex, this.shardCount ) + ".tsv" ) );
+				if ( !shardFile.exists() ) {
+					logger.warn( "Missing shard fingerprints: " + shardFile.getAbsolutePath() );
+					continue;
+				}
+				FingerprintStore shardFingerprints = new FingerprintStore( shardFile );
+				fingerprints.getEFOFingerprints().putAll( shardFingerprints.getEFOFingerprints() );
+				fingerprints.getCLOFingerprints().putAll( shardFingerprints.getCLOFingerprints() );
+			}
+			fingerprints.writeToFile( this.outputDirectory + FingerprintStore.FINGERPRINT_FILE_NAME );
+		} catch ( IOException e ) {
+			logger.error( "Fail to merge shard outputs", e );
+			System.exit( -1 );
+		}
+		logger.info( "Finished merging EFO-CLO mapping shards" );
+	}
+}
@@ -28,6 +28,7 @@ import cellline.model.CLOOntologyModel;
 import cellline.model.CellosaurusModel;
 import cellline.model.DiseaseOntologyModel;
 import cellline.model.EFOOntologyModel;
+import cellline.model.OntologyModelRegistry;
 import cellline.object.CLOCellLine;
 import cellline.object.CellosaurusCellLine;
 import cellline.object.Disease;
@@ -83,6 +84,7 @@ public class EFOCellosaurusCLOMapping {
 	static final Logger logger = LoggerFactory.getLogger( EFOCellosaurusCLOMapping.class );
 	
 	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
 		new EFOCellosaurusCLOMapping().run( args );
 	}
 	
@@ -107,7 +109,7 @@ public class EFOCellosaurusCLOMapping {
 				clsEFOMap.put( efoCLSCellLine.getAccession(), efoAccessions.iterator().next() );
 			}
 		}
-		logger.info( String.format( "Found %d EFO mapping in Cellosaurus", clsEFOMap.size() ) );
+		logger.info( "Found {} EFO mapping in Cellosaurus", clsEFOMap.size() );
 		HashMap<String, String> clsCLOMap = new HashMap<String, String>();
 		for ( CellosaurusCellLine cloCLSCellLine : clsModel.getCellLinesFromCrossReferenceSource( "CLO" ) ) {
 			Set<String> cloAccessions = cloCLSCellLine.getCrossReferenceAccessionsFromSource( "CLO" );
@@ -115,16 +117,16 @@ public class EFOCellosaurusCLOMapping {
 				clsCLOMap.put( cloCLSCellLine.getAccession(), cloAccessions.iterator().next() );
 			}
 		}
-		logger.info( String.format( "Found %d CLO mapping in Cellosaurus", clsCLOMap.size() ) );
+		logger.info( "Found {} CLO mapping in Cellosaurus", clsCLOMap.size() );
 		
 		// Load EFO
-		EFOOntologyModel efoModel = new EFOOntologyModel( new File( this.efoFileName ) );
+		EFOOntologyModel efoModel = OntologyModelRegistry.getDefault().getEFOOntologyModel( new File( this.efoFileName ) );
 		
 		// Load CLO
-		CLOOntologyModel cloModel = new CLOOntologyModel( new File ( this.cloFileName ) );
+		CLOOntologyModel cloModel = OntologyModelRegistry.getDefault().getCLOOntologyModel( new File ( this.cloFileName ) );
 		
 		// Load DOID
-		DiseaseOntologyModel doidModel = new DiseaseOntologyModel();
+		DiseaseOntologyModel doidModel = OntologyModelRegistry.getDefault().getDiseaseOntologyModel();
 		
 		// Expand disease cross reference from DOID and EFO
 		for ( Map.Entry<String, EFOCellLine> efo : efoModel.getCellLines().entrySet() )
@@ -408,8 +410,8 @@ public class EFOCellosaurusCLOMapping {
 			}
 			validwriter.close();
 			invalidwriter.close();
-			logger.info( String.format( "Found %d one-to-one cell line mapping from EFO to Cellosaurus", validMapping.size()  ) );
-			logger.info( String.format( "Found %d cell lines with invalid mapping from EFO to Cellosaurus", invalidMapping.size() ) );
+			logger.info( "Found {} one-to-one cell line mapping from EFO to Cellosaurus", validMapping.size() );
+			logger.info( "Found {} cell lines with invalid mapping from EFO to Cellosaurus", invalidMapping.size() );
 		} catch (IOException e) {
 			logger.error( e.getMessage() );
 			System.exit( -1 );
@@ -32,6 +32,7 @@ import cellline.model.CLOOntologyModel;
 import cellline.model.CellosaurusModel;
 import cellline.model.DiseaseOntologyModel;
 import cellline.model.EFOOntologyModel;
+import cellline.model.OntologyModelRegistry;
 import cellline.object.CellosaurusCellLine;
 import cellline.object.EFOCellLine;
 
@@ -79,6 +80,7 @@ public class EFOCellosaurusMapping {
 	Set<String> efoMappedSet;
 	
 	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
 		new EFOCellosaurusMapping().run( args );
 	}
 	
@@ -115,7 +117,7 @@ public class EFOCellosaurusMapping {
 		this.clsModel = new CellosaurusModel( new File( this.clsFileName ) );
 		
 		// Load EFO
-		this.efoModel = new EFOOntologyModel( new File( this.efoFileName ) );
+		this.efoModel = OntologyModelRegistry.getDefault().getEFOOntologyModel( new File( this.efoFileName ) );
 		
 		Set<String> efoToAdd = new HashSet<String>();
 		Set<String> efoStem = new HashSet<String>();
@@ -141,7 +143,7 @@ public class EFOCellosaurusMapping {
 			}
 		}
 		
-		logger.info( String.format( "Found %d EFO non-stem cell cell lines avaiable in Cellosaurus and will add to CLO", efoToAdd.size() ) );
+		logger.info( "Found {} EFO non-stem cell cell lines avaiable in Cellosaurus and will add to CLO", efoToAdd.size() );
 		
 		try {
 			CSVWriter addWriter = new CSVWriter( new FileWriter( outputDirectory + "EFO_AddTo_CLO.csv" ) );
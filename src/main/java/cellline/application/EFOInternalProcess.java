@@ -28,6 +28,7 @@ import cellline.model.CLOOntologyModel;
 import cellline.model.CellosaurusModel;
 import cellline.model.DiseaseOntologyModel;
 import cellline.model.EFOOntologyModel;
+import cellline.model.OntologyModelRegistry;
 import cellline.object.CellosaurusCellLine;
 import cellline.object.EFOCellLine;
 
@@ -72,6 +73,7 @@ public class EFOInternalProcess {
 	Set<String> efoMappedSet;
 	
 	public static void main( String[] args ) {
+		AsyncLogging.flushOnExit();
 		new EFOInternalProcess().run( args );
 	}
 	
@@ -96,10 +98,10 @@ public class EFOInternalProcess {
 				efoCLSMap.put( efoAccessions.iterator().next(),  efoCLSCellLine.getAccession() );
 			}
 		}
-		logger.info( String.format( "Found %d EFO mapping in Cellosaurus", efoCLSMap.size() ) );
+		logger.info( "Found {} EFO mapping in Cellosaurus", efoCLSMap.size() );
 		
 		// Load EFO
-		this.efoModel = new EFOOntologyModel( new File( this.efoFileName ) );
+		this.efoModel = OntologyModelRegistry.getDefault().getEFOOntologyModel( new File( this.efoFileName ) );
 		
 		HashMap<String, Set<String>> nonNativeDb = new HashMap<String,Set<String>>();
 		for ( Map.Entry<String, EFOCellLine> efo : this.efoModel.getCellLines().entrySet() ) {
@@ -0,0 +1,171 @@
+/**
+ * @file FingerprintStore.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.application;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+
+import au.com.bytecode.opencsv.CSVReader;
+import au.com.bytecode.opencsv.CSVWriter;
+import cellline.object.CellLine;
+import cellline.object.CellType;
+import cellline.object.CrossReference;
+import cellline.object.Disease;
+import cellline.object.OrganismPart;
+import cellline.object.Species;
+
+/**
+ * Content fingerprints of the EFO and CLO cell lines taking part in a mapping run,
+ * used by the incremental mode to detect which cell lines changed between releases.
+ */
+public class FingerprintStore {
+
+	static final Logger logger = LoggerFactory.getLogger( FingerprintStore.class );
+
+	public static final String FINGERPRINT_FILE_NAME = "Fingerprints_EFO-CLO.tsv";
+
+	private String[] colName = {
+			"Source",
+			"Accession",
+			"Fingerprint",
+	};
+
+	private HashMap<String, String> efoFingerprints = new HashMap<String, String>();
+	/**
+	 * @return the efoFingerprints
+	 */
+	public HashMap<String, String> getEFOFingerprints() {
+		return efoFingerprints;
+	}
+
+	private HashMap<String, String> cloFingerprints = new HashMap<String, String>();
+	/**
+	 * @return the cloFingerprints
+	 */
+	public HashMap<String, String> getCLOFingerprints() {
+		return cloFingerprints;
+	}
+
+	public FingerprintStore() {}
+
+	public FingerprintStore( File fingerprintFile ) throws IOException {
+		this.loadFromFile( fingerprintFile );
+	}
+
+	public void loadFromFile( File fingerprintFile ) throws IOException {
+		logger.info( "Reading fingerprints from file: " + fingerprintFile.getAbsolutePath() );
+		CSVReader reader = new CSVReader( new FileReader( fingerprintFile ) );
+		try {
+			String[] entry = reader.readNext();
+			while ( ( entry = reader.readNext() ) != null ) {
+				if ( entry.length != colName.length )
+					continue;
+				if ( entry[0].equalsIgnoreCase( "EFO" ) )
+					this.efoFingerprints.put( entry[1], entry[2] );
+				else if ( entry[0].equalsIgnoreCase( "CLO" ) )
+					this.cloFingerprints.put( entry[1], entry[2] );
+			}
+		} finally {
+			reader.close();
+		}
+		logger.info( "Found {} EFO and {} CLO fingerprints", efoFingerprints.size(), cloFingerprints.size() );
+	}
+
+	public void writeToFile( String fileName ) throws IOException {
+		CSVWriter writer = new CSVWriter( new FileWriter( fileName ) );
+		try {
+			writer.writeNext( colName );
+			for ( Map.Entry<String, String> entry : new TreeMap<String, String>( this.efoFingerprints ).entrySet() ) {
+				String[] line = { "EFO", entry.getKey(), entry.getValue() };
+				writer.writeNext( line );
+			}
+			for ( Map.Entry<String, String> entry : new TreeMap<String, String>( this.cloFingerprints ).entrySet() ) {
+				String[] line = { "CLO", entry.getKey(), entry.getValue() };
+				writer.writeNext( line );
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Digest of everything the scoring reads from a cell line: name, synonyms, cross references,
+	 * diseases with the DOID and EFO diseases linked to them, species, organism parts and cell types.
+	 * A DOID or EFO release changing a linked disease thus changes the fingerprint of the cell line.
+	 * The eligibility flag covers cell lines excluded through Cellosaurus in one release but not the other.
+	 */
+	public static String fingerprint( CellLine cellLine, boolean eligible ) {
+		StringBuilder builder = new StringBuilder();
+		builder.append( eligible ).append( '\n' );
+		builder.append( cellLine.getName() ).append( '\n' );
+		builder.append( sortedString( new ArrayList<String>( cellLine.getSynonyms() ) ) ).append( '\n' );
+		builder.append( sortedString( crossReferenceAccessions( cellLine.getCrossReferences() ) ) ).append( '\n' );
+
+		List<String> diseases = new ArrayList<String>();
+		for ( Disease disease : cellLine.getDiseases() ) {
+			List<String> linked = new ArrayList<String>();
+			for ( Disease crossReferenceDisease : disease.getCrossReferenceDiseases() )
+				linked.add( diseaseString( crossReferenceDisease ) );
+			diseases.add( diseaseString( disease ) + "#" + sortedString( linked ) );
+		}
+		builder.append( sortedString( diseases ) ).append( '\n' );
+
+		List<String> species = new ArrayList<String>();
+		for ( Species current : cellLine.getSpecies() )
+			species.add( current.getAccession() + "#" + current.getName() );
+		builder.append( sortedString( species ) ).append( '\n' );
+
+		List<String> organismParts = new ArrayList<String>();
+		for ( OrganismPart organismPart : cellLine.getOrganismParts() )
+			organismParts.add( organismPart.getAccession() + "#" + organismPart.getName() );
+		builder.append( sortedString( organismParts ) ).append( '\n' );
+
+		List<String> cellTypes = new ArrayList<String>();
+		for ( CellType cellType : cellLine.getCellTypes() )
+			cellTypes.add( cellType.getAccession() + "#" + cellType.getName() );
+		builder.append( sortedString( cellTypes ) );
+
+		return Hashing.sha1().hashString( builder.toString(), Charsets.UTF_8 ).toString();
+	}
+
+	private static String diseaseString( Disease disease ) {
+		return disease.getAccession() + "#" + disease.getName() + "#"
+				+ sortedString( crossReferenceAccessions( disease.getCrossReferences() ) ) + "#"
+				+ sortedString( new ArrayList<String>( disease.getSynonyms() ) );
+	}
+
+	private static List<String> crossReferenceAccessions( Set<CrossReference> crossReferences ) {
+		List<String> accessions = new ArrayList<String>();
+		for ( CrossReference xRef : crossReferences )
+			accessions.add( xRef.getAccession() );
+		return accessions;
+	}
+
+	private static String sortedString( List<String> values ) {
+		List<String> sorted = new ArrayList<String>();
+		for ( String value : values )
+			sorted.add( String.valueOf( value ) );
+		Collections.sort( sorted );
+		return sorted.toString();
+	}
+}
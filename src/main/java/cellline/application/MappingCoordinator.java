@@ -0,0 +1,264 @@
+/**
+ * @file MappingCoordinator.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.application;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Stopwatch;
+
+/**
+ * Coordinator side of the distributed mapping mode. Owns the queue of EFO cell lines, hands batches to
+ * {@link MappingWorker} processes connecting over TCP and collects their results. A batch is put back on
+ * the queue if its worker disconnects before returning the result, so workers can join or leave at any time.
+ *
+ * Protocol (all integers big-endian, strings as byte length and UTF-8 bytes, -1 for null):
+ * worker sends REQUEST, then coordinator answers BATCH (count, accessions) or DONE;
+ * worker answers every BATCH with RESULT (for each of the four mapping files: accessions, entries),
+ * which also requests the next batch. A string longer than MAX_STRING_LENGTH bytes or a list of more than
+ * MAX_ELEMENT_COUNT elements drops the connection before anything is allocated for it.
+ *
+ * The coordinator listens on the loopback address unless given another bind address, the protocol has
+ * no authentication.
+ */
+public class MappingCoordinator {
+
+	static final Logger logger = LoggerFactory.getLogger( MappingCoordinator.class );
+
+	static final int REQUEST = 1;
+	static final int BATCH = 2;
+	static final int DONE = 3;
+	static final int RESULT = 4;
+
+	static final int MAX_STRING_LENGTH = 1 << 20;
+	static final int MAX_ELEMENT_COUNT = 1 << 20;
+
+	private EFOCLOMapping mapping;
+	private String bindAddress;
+	private int port;
+	private int batchSize;
+
+	private final Object lock = new Object();
+	private LinkedList<List<String>> queue = new LinkedList<List<String>>();
+	private int remaining;
+	private int workerCounter = 0;
+
+	/**
+	 * @param bindAddress address to listen on, null for the loopback address
+	 */
+	public MappingCoordinator( EFOCLOMapping mapping, String bindAddress, int port, int batchSize ) {
+		this.mapping = mapping;
+		this.bindAddress = bindAddress;
+		this.port = port;
+		this.batchSize = Math.max( batchSize, 1 );
+	}
+
+	/**
+	 * Serve all EFO cell lines of the mapping to workers and block until every batch has been returned.
+	 * @return true if all batches were scored
+	 */
+	public boolean run() throws IOException {
+		List<String> efoAccessions = this.mapping.getEFOAccessions();
+		for ( int i = 0; i < efoAccessions.size(); i += batchSize )
+			queue.add( new ArrayList<String>( efoAccessions.subList( i, Math.min( i + batchSize, efoAccessions.size() ) ) ) );
+		this.remaining = queue.size();
+		logger.info( "Queued {} EFO cell lines in {} batches", efoAccessions.size(), remaining );
+
+		Stopwatch timer = Stopwatch.createStarted();
+		InetAddress address = bindAddress == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName( bindAddress );
+		final ServerSocket server = new ServerSocket( port, 0, address );
+		logger.info( "Waiting for workers on {}:{}", address.getHostAddress(), server.getLocalPort() );
+		Thread acceptor = new Thread( new Runnable() {
+			public void run() {
+				try {
+					while ( true ) {
+						Socket socket = server.accept();
+						Thread handler = new Thread( new WorkerHandler( socket ) );
+						handler.setDaemon( true );
+						handler.start();
+					}
+				} catch ( IOException e ) {
+					if ( !server.isClosed() )
+						logger.error( "Fail to accept worker connection", e );
+				}
+			}
+		} );
+		acceptor.setDaemon( true );
+		acceptor.start();
+
+		try {
+			synchronized ( lock ) {
+				while ( remaining > 0 )
+					lock.wait();
+			}
+		} catch ( InterruptedException e ) {
+			logger.error( e.getMessage() );
+			return false;
+		} finally {
+			server.close();
+		}
+		logger.info( "All batches scored in {}", timer.stop().toString() );
+		return true;
+	}
+
+	private List<String> nextBatch() throws InterruptedException {
+		synchronized ( lock ) {
+			// Batches still out with other workers may come back if those workers fail
+			while ( queue.isEmpty() && remaining > 0 )
+				lock.wait();
+			return queue.poll();
+		}
+	}
+
+	private void complete() {
+		synchronized ( lock ) {
+			remaining --;
+			lock.notifyAll();
+		}
+	}
+
+	private void requeue( List<String> batch ) {
+		synchronized ( lock ) {
+			queue.addFirst( batch );
+			lock.notifyAll();
+		}
+	}
+
+	private class WorkerHandler implements Runnable {
+
+		private Socket socket;
+		private String name;
+
+		public WorkerHandler( Socket socket ) {
+			this.socket = socket;
+			synchronized ( lock ) {
+				workerCounter ++;
+				this.name = String.format( "Worker#%d(%s)", workerCounter, socket.getRemoteSocketAddress() );
+			}
+		}
+
+		public void run() {
+			List<String> batch = null;
+			int batches = 0;
+			logger.info( "Connected " + name );
+			try {
+				DataInputStream in = new DataInputStream( new BufferedInputStream( socket.getInputStream() ) );
+				DataOutputStream out = new DataOutputStream( new BufferedOutputStream( socket.getOutputStream() ) );
+				if ( in.readInt() != REQUEST )
+					throw new IOException( "Unexpected message from " + name );
+				while ( true ) {
+					batch = nextBatch();
+					if ( batch == null ) {
+						out.writeInt( DONE );
+						out.flush();
+						break;
+					}
+					out.writeInt( BATCH );
+					writeStrings( out, batch );
+					out.flush();
+
+					if ( in.readInt() != RESULT )
+						throw new IOException( "Unexpected message from " + name );
+					List<Set<String>> accessions = new ArrayList<Set<String>>();
+					List<Set<String[]>> entries = new ArrayList<Set<String[]>>();
+					for ( int i = 0; i < 4; i ++ ) {
+						accessions.add( new HashSet<String>( readStrings( in ) ) );
+						Set<String[]> current = new HashSet<String[]>();
+						int size = readCount( in );
+						for ( int j = 0; j < size; j ++ )
+							current.add( readStrings( in ).toArray( new String[0] ) );
+						entries.add( current );
+					}
+					// Only add complete results, a partial result is rescored by another worker
+					for ( int i = 0; i < 4; i ++ ) {
+						mapping.getResultMappings().get( i ).addAll( accessions.get( i ) );
+						mapping.getResultEntrySets().get( i ).addAll( entries.get( i ) );
+					}
+					batches ++;
+					batch = null;
+					complete();
+				}
+				logger.info( "Finished {} after {} batches", name, batches );
+			} catch ( IOException e ) {
+				if ( batch != null ) {
+					logger.warn( "Lost {} ({}), requeue batch of {} EFO cell lines", name, e.getMessage(), batch.size() );
+					requeue( batch );
+				} else {
+					logger.warn( "Lost {} ({})", name, e.getMessage() );
+				}
+			} catch ( InterruptedException e ) {
+				logger.error( e.getMessage() );
+			} finally {
+				try {
+					socket.close();
+				} catch ( IOException e ) {}
+			}
+		}
+	}
+
+	static void writeString( DataOutputStream out, String value ) throws IOException {
+		if ( value == null ) {
+			out.writeInt( -1 );
+			return;
+		}
+		byte[] bytes = value.getBytes( Charsets.UTF_8 );
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	static String readString( DataInputStream in ) throws IOException {
+		int length = in.readInt();
+		if ( length < 0 )
+			return null;
+		if ( length > MAX_STRING_LENGTH )
+			throw new SocketException( "String of " + length + " bytes exceeds the message limit" );
+		byte[] bytes = new byte[length];
+		in.readFully( bytes );
+		return new String( bytes, Charsets.UTF_8 );
+	}
+
+	static void writeStrings( DataOutputStream out, Collection<String> values ) throws IOException {
+		out.writeInt( values.size() );
+		for ( String value : values )
+			writeString( out, value );
+	}
+
+	static List<String> readStrings( DataInputStream in ) throws IOException {
+		int size = readCount( in );
+		List<String> values = new ArrayList<String>( size );
+		for ( int i = 0; i < size; i ++ )
+			values.add( readString( in ) );
+		return values;
+	}
+
+	static int readCount( DataInputStream in ) throws IOException {
+		int size = in.readInt();
+		if ( size < 0 )
+			throw new SocketException( "Corrupted message" );
+		if ( size > MAX_ELEMENT_COUNT )
+			throw new SocketException( "List of " + size + " elements exceeds the message limit" );
+		return size;
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * @file MappingWorker.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.application;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Worker side of the distributed mapping mode. Scores the batches of EFO cell lines handed out by a
+ * {@link MappingCoordinator} with the regular {@link EFOCLOMapping} scoring and streams the entries back.
+ */
+public class MappingWorker {
+
+	static final Logger logger = LoggerFactory.getLogger( MappingWorker.class );
+
+	// The coordinator may still be loading the ontologies when the worker is ready
+	private static final int CONNECT_ATTEMPTS = 120;
+	private static final long CONNECT_INTERVAL = 5000;
+
+	private EFOCLOMapping mapping;
+	private String host;
+	private int port;
+
+	public MappingWorker( EFOCLOMapping mapping, String host, int port ) {
+		this.mapping = mapping;
+		this.host = host;
+		this.port = port;
+	}
+
+	public void run() throws IOException {
+		Socket socket = this.connect();
+		int batches = 0;
+		try {
+			DataInputStream in = new DataInputStream( new BufferedInputStream( socket.getInputStream() ) );
+			DataOutputStream out = new DataOutputStream( new BufferedOutputStream( socket.getOutputStream() ) );
+			out.writeInt( MappingCoordinator.REQUEST );
+			out.flush();
+			while ( true ) {
+				int message = in.readInt();
+				if ( message == MappingCoordinator.DONE )
+					break;
+				if ( message != MappingCoordinator.BATCH )
+					throw new IOException( "Unexpected message from coordinator: " + message );
+				List<String> batch = MappingCoordinator.readStrings( in );
+				logger.info( "Received batch of {} EFO cell lines", batch.size() );
+
+				this.mapping.resetResults();
+				if ( !this.mapping.score( batch ) )
+					throw new IOException( "Scoring of batch did not finish" );
+
+				out.writeInt( MappingCoordinator.RESULT );
+				List<SynchronizedEntrySet> entrySets = this.mapping.getResultEntrySets();
+				for ( int i = 0; i < 4; i ++ ) {
+					MappingCoordinator.writeStrings( out, this.mapping.getResultMappings().get( i ) );
+					Set<String[]> entries = entrySets.get( i ).value();
+					out.writeInt( entries.size() );
+					for ( String[] entry : entries )
+						MappingCoordinator.writeStrings( out, Arrays.asList( entry ) );
+				}
+				out.flush();
+				batches ++;
+			}
+		} finally {
+			socket.close();
+		}
+		logger.info( "Finished worker after {} batches", batches );
+	}
+
+	private Socket connect() throws IOException {
+		for ( int attempt = 1; ; attempt ++ ) {
+			try {
+				Socket socket = new Socket( this.host, this.port );
+				logger.info( "Connected to coordinator {}:{}", this.host, this.port );
+				return socket;
+			} catch ( ConnectException e ) {
+				if ( attempt == CONNECT_ATTEMPTS )
+					throw e;
+				logger.info( "Coordinator {}:{} not ready, retry in {} seconds", this.host, this.port, CONNECT_INTERVAL / 1000 );
+				try {
+					Thread.sleep( CONNECT_INTERVAL );
+				} catch ( InterruptedException interrupt ) {
+					throw e;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/**
+ * @file CellLineFeatureMatrix.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.match;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import cellline.object.CellLine;
+
+/**
+ * Cell lines encoded once into primitive columns, one row per cell line. Every set column keeps the sorted
+ * distinct int ids of a row in one contiguous array, [offsets[row], offsets[row + 1]), so a shared name,
+ * cross reference, linked disease, species, organism part or cell type is a sorted-int merge of two rows.
+ *
+ * Ids are assigned from string keys by a dictionary shared between the EFO and CLO matrices:
+ *
+ *   NAME             name and synonyms folded as equalsIgnoreCase
+ *   UPPER_NAME       upper case name and synonyms, shared only if their edit distance is 0
+ *   CROSS_REFERENCE  accession and case folded source/identifier of each cross reference
+ *   DISEASE_LINK     accession of each disease and of the DOID and EFO diseases linked to it, shared only
+ *                    if some pair of diseases matches by EntityFeatures.matchLinked()
+ *   SPECIES, ORGANISM_PART, CELL_TYPE
+ *                    accession, names and cross references of each entity, shared exactly if
+ *                    some pair of entities has the same content (compareTo() of the entity classes)
+ *
+ * The upper case names are packed into one char array for the edit distances. The content and semantic
+ * disease matches keep their EntityFeatures.
+ */
+public class CellLineFeatureMatrix {
+
+	public static final int NAME = 0;
+	public static final int UPPER_NAME = 1;
+	public static final int CROSS_REFERENCE = 2;
+	public static final int DISEASE_LINK = 3;
+	public static final int SPECIES = 4;
+	public static final int ORGANISM_PART = 5;
+	public static final int CELL_TYPE = 6;
+	private static final int COLUMN_COUNT = 7;
+
+	private Map<String, Integer> dictionary;
+	private Map<String, Integer> rows = new HashMap<String, Integer>();
+	private CellLine[] cellLines;
+	private boolean[] eligible;
+
+	private int[][] offsets = new int[COLUMN_COUNT][];
+	private int[][] values = new int[COLUMN_COUNT][];
+
+	private int[] diseaseCounts;
+	private int[] speciesCounts;
+	private int[] organismPartCounts;
+	private int[] cellTypeCounts;
+	private int[] diseaseOffsets;
+	private EntityFeatures[] diseases;
+
+	private char[] chars;
+	private int[] stringOffsets;
+	private int[] nameStrings;
+	private int[] synonymEnds;
+
+	public CellLineFeatureMatrix( Collection<CellLineFeatures> features ) {
+		this( features, new HashMap<String, Integer>() );
+	}
+
+	/**
+	 * @param shared matrix to share the id dictionary with, so that rows of both matrices can be compared
+	 */
+	public CellLineFeatureMatrix( Collection<CellLineFeatures> features, CellLineFeatureMatrix shared ) {
+		this( features, shared.dictionary );
+	}
+
+	private CellLineFeatureMatrix( Collection<CellLineFeatures> features, Map<String, Integer> dictionary ) {
+		this.dictionary = dictionary;
+		int rowCount = features.size();
+		this.cellLines = new CellLine[rowCount];
+		this.eligible = new boolean[rowCount];
+		this.diseaseCounts = new int[rowCount];
+		this.speciesCounts = new int[rowCount];
+		this.organismPartCounts = new int[rowCount];
+		this.cellTypeCounts = new int[rowCount];
+		this.diseaseOffsets = new int[rowCount + 1];
+		this.nameStrings = new int[rowCount];
+		this.synonymEnds = new int[rowCount];
+
+		List<List<Set<String>>> keys = new ArrayList<List<Set<String>>>();
+		for ( int column = 0; column < COLUMN_COUNT; column ++ )
+			keys.add( new ArrayList<Set<String>>( rowCount ) );
+		List<EntityFeatures> diseases = new ArrayList<EntityFeatures>();
+		List<String> strings = new ArrayList<String>();
+
+		int row = 0;
+		for ( CellLineFeatures feature : features ) {
+			this.cellLines[row] = feature.getCellLine();
+			this.eligible[row] = feature.isEligible();
+			this.rows.put( feature.getCellLine().getAccession(), row );
+
+			Set<String> nameKeys = new TreeSet<String>();
+			Set<String> upperNameKeys = new TreeSet<String>();
+			for ( String name : feature.getNames() )
+				nameKeys.add( foldCase( name ) );
+			this.nameStrings[row] = strings.size();
+			strings.add( new String( feature.getUpperName() ) );
+			for ( char[] upperName : feature.getUpperNames() ) {
+				upperNameKeys.add( new String( upperName ) );
+				strings.add( new String( upperName ) );
+			}
+			this.synonymEnds[row] = strings.size();
+			keys.get( NAME ).add( nameKeys );
+			keys.get( UPPER_NAME ).add( upperNameKeys );
+
+			Set<String> xRefKeys = new TreeSet<String>();
+			addCrossReferenceKeys( xRefKeys, feature.getXRefSources(), feature.getXRefIdentifiers(), feature.getXRefAccessions() );
+			keys.get( CROSS_REFERENCE ).add( xRefKeys );
+
+			Set<String> diseaseKeys = new TreeSet<String>();
+			for ( EntityFeatures disease : feature.getDiseases() ) {
+				Collections.addAll( diseaseKeys, disease.getLinkedAccessions() );
+				diseases.add( disease );
+			}
+			this.diseaseCounts[row] = feature.getDiseases().length;
+			this.diseaseOffsets[row + 1] = diseases.size();
+			keys.get( DISEASE_LINK ).add( diseaseKeys );
+
+			this.speciesCounts[row] = feature.getSpecies().length;
+			keys.get( SPECIES ).add( contentKeys( feature.getSpecies() ) );
+			this.organismPartCounts[row] = feature.getOrganismParts().length;
+			keys.get( ORGANISM_PART ).add( contentKeys( feature.getOrganismParts() ) );
+			this.cellTypeCounts[row] = feature.getCellTypes().length;
+			keys.get( CELL_TYPE ).add( contentKeys( feature.getCellTypes() ) );
+			row ++;
+		}
+
+		for ( int column = 0; column < COLUMN_COUNT; column ++ )
+			this.encode( column, keys.get( column ) );
+		this.diseases = diseases.toArray( new EntityFeatures[diseases.size()] );
+
+		this.stringOffsets = new int[strings.size() + 1];
+		int length = 0;
+		for ( int i = 0; i < strings.size(); i ++ ) {
+			length += strings.get( i ).length();
+			this.stringOffsets[i + 1] = length;
+		}
+		this.chars = new char[length];
+		for ( int i = 0; i < strings.size(); i ++ )
+			strings.get( i ).getChars( 0, strings.get( i ).length(), this.chars, this.stringOffsets[i] );
+	}
+
+	private void encode( int column, List<Set<String>> rowKeys ) {
+		int[] offsets = new int[rowKeys.size() + 1];
+		int size = 0;
+		for ( int row = 0; row < rowKeys.size(); row ++ ) {
+			size += rowKeys.get( row ).size();
+			offsets[row + 1] = size;
+		}
+		int[] values = new int[size];
+		for ( int row = 0; row < rowKeys.size(); row ++ ) {
+			int index = offsets[row];
+			for ( String key : rowKeys.get( row ) )
+				values[index ++] = this.getId( column + ":" + key );
+			Arrays.sort( values, offsets[row], offsets[row + 1] );
+		}
+		this.offsets[column] = offsets;
+		this.values[column] = values;
+	}
+
+	private int getId( String key ) {
+		Integer id = this.dictionary.get( key );
+		if ( id == null ) {
+			id = this.dictionary.size();
+			this.dictionary.put( key, id );
+		}
+		return id;
+	}
+
+	private static Set<String> contentKeys( EntityFeatures[] entities ) {
+		Set<String> keys = new TreeSet<String>();
+		for ( EntityFeatures entity : entities ) {
+			if ( entity.getAccession() != null )
+				keys.add( "A\u0000" + entity.getAccession() );
+			for ( String name : entity.getNames() )
+				keys.add( "N\u0000" + name );
+			addCrossReferenceKeys( keys, entity.getXRefSources(), entity.getXRefIdentifiers(), entity.getXRefAccessions() );
+		}
+		return keys;
+	}
+
+	/**
+	 * Two cross references match on the same accession, or the same source and identifier ignoring case.
+	 */
+	private static void addCrossReferenceKeys( Set<String> keys, String[] sources, String[] identifiers, String[] accessions ) {
+		for ( int i = 0; i < accessions.length; i ++ ) {
+			keys.add( "X\u0000" + accessions[i] );
+			keys.add( "F\u0000" + foldCase( sources[i] ) + "\u0000" + foldCase( identifiers[i] ) );
+		}
+	}
+
+	/**
+	 * Case folding under which two strings are equal exactly if String.equalsIgnoreCase() holds.
+	 */
+	static String foldCase( String value ) {
+		StringBuilder folded = new StringBuilder( value.length() );
+		for ( int i = 0; i < value.length(); ) {
+			int codePoint = value.codePointAt( i );
+			folded.appendCodePoint( Character.toLowerCase( Character.toUpperCase( codePoint ) ) );
+			i += Character.charCount( codePoint );
+		}
+		return folded.toString();
+	}
+
+	/**
+	 * @return the number of cell lines
+	 */
+	public int getRowCount() {
+		return cellLines.length;
+	}
+
+	/**
+	 * @return the row of the cell line, -1 if not encoded
+	 */
+	public int getRow( String accession ) {
+		Integer row = this.rows.get( accession );
+		return row == null ? -1 : row;
+	}
+
+	public CellLine getCellLine( int row ) {
+		return cellLines[row];
+	}
+
+	/**
+	 * @return false if the cell line is excluded from scoring, e.g. already mapped through Cellosaurus
+	 */
+	public boolean isEligible( int row ) {
+		return eligible[row];
+	}
+
+	/**
+	 * @return whether the column shares an id between the row and the row of the other matrix
+	 */
+	public boolean intersects( int column, int row, CellLineFeatureMatrix other, int otherRow ) {
+		int[] source = this.values[column];
+		int[] target = other.values[column];
+		int i = this.offsets[column][row];
+		int sourceEnd = this.offsets[column][row + 1];
+		int j = other.offsets[column][otherRow];
+		int targetEnd = other.offsets[column][otherRow + 1];
+		while ( i < sourceEnd && j < targetEnd ) {
+			if ( source[i] < target[j] )
+				i ++;
+			else if ( source[i] > target[j] )
+				j ++;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	public int getDiseaseCount( int row ) {
+		return diseaseCounts[row];
+	}
+
+	public int getSpeciesCount( int row ) {
+		return speciesCounts[row];
+	}
+
+	public int getOrganismPartCount( int row ) {
+		return organismPartCounts[row];
+	}
+
+	public int getCellTypeCount( int row ) {
+		return cellTypeCounts[row];
+	}
+
+	/**
+	 * @return the index of the first disease of the row, see {@link #getDisease(int)}
+	 */
+	public int getDiseaseOffset( int row ) {
+		return diseaseOffsets[row];
+	}
+
+	public EntityFeatures getDisease( int index ) {
+		return diseases[index];
+	}
+
+	/**
+	 * @return the packed upper case names
+	 */
+	public char[] getChars() {
+		return chars;
+	}
+
+	/**
+	 * @return the string of the upper case name of the row, see {@link #getStringOffset(int)}
+	 */
+	public int getNameString( int row ) {
+		return nameStrings[row];
+	}
+
+	/**
+	 * @return the first string of the distinct upper case name and synonyms of the row
+	 */
+	public int getSynonymStart( int row ) {
+		return nameStrings[row] + 1;
+	}
+
+	/**
+	 * @return the string after the last upper case synonym of the row
+	 */
+	public int getSynonymEnd( int row ) {
+		return synonymEnds[row];
+	}
+
+	public int getStringOffset( int string ) {
+		return stringOffsets[string];
+	}
+
+	public int getStringLength( int string ) {
+		return stringOffsets[string + 1] - stringOffsets[string];
+	}
+}
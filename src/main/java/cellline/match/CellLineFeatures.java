@@ -0,0 +1,192 @@
+/**
+ * @file CellLineFeatures.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.match;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import cellline.object.CellLine;
+import cellline.object.CellType;
+import cellline.object.CrossReference;
+import cellline.object.Disease;
+import cellline.object.OrganismPart;
+import cellline.object.Species;
+
+/**
+ * Cell line flattened once before scoring: distinct names and synonyms with their upper case characters,
+ * cross references and the features of its diseases, species, organism parts and cell types. Scoring a pair
+ * of cell lines from their features does not allocate.
+ */
+public class CellLineFeatures {
+
+	private CellLine cellLine;
+	private String[] names;
+	private char[] upperName;
+	private char[][] upperNames;
+	private String[] xRefSources;
+	private String[] xRefIdentifiers;
+	private String[] xRefAccessions;
+	private EntityFeatures[] diseases;
+	private EntityFeatures[] species;
+	private EntityFeatures[] organismParts;
+	private EntityFeatures[] cellTypes;
+	private boolean eligible = true;
+
+	/**
+	 * @param cache semantic match cache to register the disease accessions with, may be null
+	 */
+	public CellLineFeatures( CellLine cellLine, DiseaseMatchCache cache ) {
+		this.cellLine = cellLine;
+
+		Set<String> names = new LinkedHashSet<String>();
+		if ( cellLine.getName() != null )
+			names.add( cellLine.getName() );
+		for ( String synonym : cellLine.getSynonyms() )
+			if ( synonym != null )
+				names.add( synonym );
+		this.names = names.toArray( new String[names.size()] );
+		this.upperName = cellLine.getName() != null ? cellLine.getName().toUpperCase().toCharArray() : new char[0];
+		Set<String> upperNames = new LinkedHashSet<String>();
+		for ( String name : this.names )
+			upperNames.add( name.toUpperCase() );
+		this.upperNames = new char[upperNames.size()][];
+		int index = 0;
+		for ( String upperName : upperNames )
+			this.upperNames[index ++] = upperName.toCharArray();
+
+		List<CrossReference> xRefs = new ArrayList<CrossReference>();
+		for ( CrossReference xRef : cellLine.getCrossReferences() )
+			if ( xRef != null && xRef.getAccession() != null )
+				xRefs.add( xRef );
+		if ( cellLine.getAccession() != null ) {
+			CrossReference xRef = new CrossReference( cellLine.getAccession() );
+			if ( xRef.getAccession() != null )
+				xRefs.add( xRef );
+		}
+		this.xRefSources = new String[xRefs.size()];
+		this.xRefIdentifiers = new String[xRefs.size()];
+		this.xRefAccessions = new String[xRefs.size()];
+		for ( int i = 0; i < xRefs.size(); i ++ ) {
+			this.xRefSources[i] = xRefs.get( i ).getSource();
+			this.xRefIdentifiers[i] = xRefs.get( i ).getIdentifier();
+			this.xRefAccessions[i] = xRefs.get( i ).getAccession();
+		}
+
+		this.diseases = new EntityFeatures[cellLine.getDiseases().size()];
+		index = 0;
+		for ( Disease disease : cellLine.getDiseases() )
+			this.diseases[index ++] = EntityFeatures.of( disease, cache );
+		this.species = new EntityFeatures[cellLine.getSpecies().size()];
+		index = 0;
+		for ( Species species : cellLine.getSpecies() )
+			this.species[index ++] = EntityFeatures.of( species );
+		this.organismParts = new EntityFeatures[cellLine.getOrganismParts().size()];
+		index = 0;
+		for ( OrganismPart organismPart : cellLine.getOrganismParts() )
+			this.organismParts[index ++] = EntityFeatures.of( organismPart );
+		this.cellTypes = new EntityFeatures[cellLine.getCellTypes().size()];
+		index = 0;
+		for ( CellType cellType : cellLine.getCellTypes() )
+			this.cellTypes[index ++] = EntityFeatures.of( cellType );
+	}
+
+	/**
+	 * @return the cell line
+	 */
+	public CellLine getCellLine() {
+		return cellLine;
+	}
+
+	/**
+	 * @return the distinct name and synonyms
+	 */
+	public String[] getNames() {
+		return names;
+	}
+
+	/**
+	 * @return the upper case name, empty without name
+	 */
+	public char[] getUpperName() {
+		return upperName;
+	}
+
+	/**
+	 * @return the distinct upper case name and synonyms
+	 */
+	public char[][] getUpperNames() {
+		return upperNames;
+	}
+
+	String[] getXRefSources() {
+		return xRefSources;
+	}
+
+	String[] getXRefIdentifiers() {
+		return xRefIdentifiers;
+	}
+
+	String[] getXRefAccessions() {
+		return xRefAccessions;
+	}
+
+	public EntityFeatures[] getDiseases() {
+		return diseases;
+	}
+
+	public EntityFeatures[] getSpecies() {
+		return species;
+	}
+
+	public EntityFeatures[] getOrganismParts() {
+		return organismParts;
+	}
+
+	public EntityFeatures[] getCellTypes() {
+		return cellTypes;
+	}
+
+	/**
+	 * @return false if the cell line is excluded from scoring, e.g. already mapped through Cellosaurus
+	 */
+	public boolean isEligible() {
+		return eligible;
+	}
+
+	/**
+	 * @param eligible whether the cell line is scored
+	 */
+	public void setEligible( boolean eligible ) {
+		this.eligible = eligible;
+	}
+
+	/**
+	 * Shared cross reference (case insensitive), including the cell line accessions.
+	 */
+	public boolean matchCrossReferences( CellLineFeatures target ) {
+		for ( int i = 0; i < target.xRefAccessions.length; i ++ )
+			for ( int j = 0; j < this.xRefAccessions.length; j ++ )
+				if ( EntityFeatures.matchCrossReference( this.xRefSources[j], this.xRefIdentifiers[j], this.xRefAccessions[j],
+						target.xRefSources[i], target.xRefIdentifiers[i], target.xRefAccessions[i] ) )
+					return true;
+		return false;
+	}
+
+	/**
+	 * Shared name or synonym, ignoring case.
+	 */
+	public boolean matchSynonymIgnoreCase( CellLineFeatures target ) {
+		for ( String targetName : target.names )
+			for ( String sourceName : this.names )
+				if ( sourceName.equalsIgnoreCase( targetName ) )
+					return true;
+		return false;
+	}
+}
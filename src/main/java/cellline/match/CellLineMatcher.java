@@ -59,6 +59,7 @@ public class CellLineMatcher {
 	 */
 	public void setSource(CellLine source) {
 		this.source = source;
+		this.sourceFeatures = null;
 	}
 	
 	private CellLine target;
@@ -74,6 +75,21 @@ public class CellLineMatcher {
 	 */
 	public void setTarget(CellLine target) {
 		this.target = target;
+		this.targetFeatures = null;
+	}
+	
+	private CellLineFeatures sourceFeatures;
+	private CellLineFeatures targetFeatures;
+	private EditDistance editDistance = new EditDistance();
+	/**
+	 * Set the source and target from precomputed features, the ignore case matches and edit distances
+	 * are then computed without allocation.
+	 */
+	public void setFeatures( CellLineFeatures source, CellLineFeatures target ) {
+		this.source = source.getCellLine();
+		this.target = target.getCellLine();
+		this.sourceFeatures = source;
+		this.targetFeatures = target;
 	}
 	
 	public CellLineMatcher() {
@@ -112,6 +128,8 @@ public class CellLineMatcher {
 	}
 	
 	public int getNameEditDistanceIgnoreCase() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.editDistance.distance( this.sourceFeatures.getUpperName(), this.targetFeatures.getUpperName() );
 		return StringUtils.getLevenshteinDistance( this.source.getName().toUpperCase(), this.target.getName().toUpperCase() );
 	}
 	
@@ -127,6 +145,8 @@ public class CellLineMatcher {
 	}
 	
 	public synchronized Boolean matchSynonymIgnoreCase() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.sourceFeatures.matchSynonymIgnoreCase( this.targetFeatures );
 		Set<String> sourceSynonyms = new HashSet<String>( this.source.getSynonyms() );
 		sourceSynonyms.add( this.source.getName() );
 		Set<String> targetSynonyms = new HashSet<String>( this.target.getSynonyms() );
@@ -177,6 +197,16 @@ public class CellLineMatcher {
 	
 	public synchronized int getShortestSynonymEditDistanceIgnoreCase() {
 		int distance = Integer.MAX_VALUE;
+		if ( this.sourceFeatures != null && this.targetFeatures != null ) {
+			for ( char[] targetSynonym : this.targetFeatures.getUpperNames() ) {
+				for ( char[] sourceSynonym : this.sourceFeatures.getUpperNames() ) {
+					int current = this.editDistance.distance( sourceSynonym, targetSynonym );
+					if ( current < distance )
+						distance = current;
+				}
+			}
+			return distance;
+		}
 		Set<String> targetSynonyms = new HashSet<String>( this.target.getSynonyms() );
 		if ( this.target.getName() != null )
 			targetSynonyms.add( this.target.getName() );
@@ -199,6 +229,8 @@ public class CellLineMatcher {
 	}
 	
 	public synchronized Boolean matchCrossReferences() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.sourceFeatures.matchCrossReferences( this.targetFeatures );
 		Set<CrossReference> targetXRefSet = new HashSet<CrossReference>( this.target.getCrossReferences() );
 		if ( this.target.getAccession() != null )
 			targetXRefSet.add( new CrossReference( this.target.getAccession() ) );
@@ -0,0 +1,411 @@
+/**
+ * @file CellLineScorer.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.match;
+
+import cellline.model.DiseaseOntologyModel;
+import cellline.model.EFOOntologyModel;
+
+/**
+ * Score of an EFO-CLO cell line pair: +8 for an exact name, synonym or cross reference match, otherwise minus
+ * the shortest synonym edit distance, then +1 or -1 for each of disease, species, organism part and cell type
+ * annotated on both cell lines. Scoring from precomputed features allocates nothing, the result is kept in
+ * primitive fields until the next pair. Pairs are scored either from CellLineFeatures through the matchers, or
+ * from the rows of two CellLineFeatureMatrix with the set matches as sorted-int merges of their columns.
+ * Not thread safe, every match thread owns one.
+ */
+public class CellLineScorer {
+
+	private CellLineMatcher cellLineMatcher = new CellLineMatcher();
+	private DiseaseMatcher diseaseMatcher;
+	private SpeciesMatcher speciesMatcher = new SpeciesMatcher();
+	private OrganismPartMatcher organismPartMatcher = new OrganismPartMatcher();
+	private CellTypeMatcher cellTypeMatcher = new CellTypeMatcher();
+	private EditDistance editDistanceRows = new EditDistance();
+
+	private int score;
+	private int editDistance;
+	private int synonymsDistance;
+	private boolean exact;
+	private Boolean diseaseMatch;
+	private Boolean speciesMatch;
+	private Boolean organismMatch;
+	private Boolean cellMatch;
+	private boolean valid;
+
+	private long cellLineMatches = 0;
+	private long diseaseMatches = 0;
+	private long speciesMatches = 0;
+	private long organismPartMatches = 0;
+	private long cellTypeMatches = 0;
+	private long attributeRejections = 0;
+	private long lengthRejections = 0;
+	private long editDistanceRejections = 0;
+
+	public CellLineScorer( DiseaseOntologyModel doidModel, EFOOntologyModel efoModel, DiseaseMatchCache cache ) {
+		this.diseaseMatcher = new DiseaseMatcher( doidModel, efoModel );
+		this.diseaseMatcher.setCache( cache );
+	}
+
+	/**
+	 * @return the score of the pair
+	 */
+	public int score( CellLineFeatures source, CellLineFeatures target ) {
+		int score = 0;
+		boolean valid = true;
+
+		// Cell Line Name/Synonyms/XREF matching
+		this.cellLineMatcher.setFeatures( source, target );
+		this.editDistance = this.cellLineMatcher.getNameEditDistanceIgnoreCase();
+		this.synonymsDistance = this.cellLineMatcher.getShortestSynonymEditDistanceIgnoreCase();
+		this.cellLineMatches ++;
+		this.exact = this.cellLineMatcher.matchIgnoreCase();
+		if ( this.exact )
+			score = 8;
+		else
+			score -= this.synonymsDistance;
+
+		// Cell Line Disease matching
+		this.diseaseMatch = null;
+		if ( source.getDiseases().length > 0 && target.getDiseases().length > 0 ) {
+			boolean match = false;
+			for ( EntityFeatures sourceDisease : source.getDiseases() ) {
+				for ( EntityFeatures targetDisease : target.getDiseases() ) {
+					this.diseaseMatcher.setFeatures( sourceDisease, targetDisease );
+					this.diseaseMatches ++;
+					if ( this.diseaseMatcher.match() )
+						match = true;
+				}
+			}
+			this.diseaseMatch = match;
+			if ( match )
+				score ++;
+			else {
+				valid = false;
+				score --;
+			}
+		}
+
+		// Cell Line Species matching
+		this.speciesMatch = null;
+		if ( source.getSpecies().length > 0 && target.getSpecies().length > 0 ) {
+			boolean match = false;
+			for ( EntityFeatures sourceSpecies : source.getSpecies() ) {
+				for ( EntityFeatures targetSpecies : target.getSpecies() ) {
+					this.speciesMatcher.setFeatures( sourceSpecies, targetSpecies );
+					this.speciesMatches ++;
+					if ( this.speciesMatcher.match() )
+						match = true;
+				}
+			}
+			this.speciesMatch = match;
+			if ( match )
+				score ++;
+			else {
+				valid = false;
+				score --;
+			}
+		}
+
+		// Cell Line OrganismPart matching
+		this.organismMatch = null;
+		if ( source.getOrganismParts().length > 0 && target.getOrganismParts().length > 0 ) {
+			boolean match = false;
+			for ( EntityFeatures sourceOrganismPart : source.getOrganismParts() ) {
+				for ( EntityFeatures targetOrganismPart : target.getOrganismParts() ) {
+					this.organismPartMatcher.setFeatures( sourceOrganismPart, targetOrganismPart );
+					this.organismPartMatches ++;
+					if ( this.organismPartMatcher.match() )
+						match = true;
+				}
+			}
+			this.organismMatch = match;
+			if ( match )
+				score ++;
+			else {
+				valid = false;
+				score --;
+			}
+		}
+
+		// Cell Line CellType matching
+		this.cellMatch = null;
+		if ( source.getCellTypes().length > 0 && target.getCellTypes().length > 0 ) {
+			boolean match = false;
+			for ( EntityFeatures sourceCellType : source.getCellTypes() ) {
+				for ( EntityFeatures targetCellType : target.getCellTypes() ) {
+					this.cellTypeMatcher.setFeatures( sourceCellType, targetCellType );
+					this.cellTypeMatches ++;
+					if ( this.cellTypeMatcher.match() )
+						match = true;
+				}
+			}
+			this.cellMatch = match;
+			if ( match )
+				score ++;
+			else {
+				valid = false;
+				score --;
+			}
+		}
+
+		this.score = score;
+		this.valid = valid;
+		return score;
+	}
+
+	/**
+	 * Score a row of the source matrix against a row of the target matrix from their columns, with the same
+	 * result as scoring their CellLineFeatures. The matrices must share their dictionary.
+	 * @return the score of the pair
+	 */
+	public int score( CellLineFeatureMatrix source, int sourceRow, CellLineFeatureMatrix target, int targetRow ) {
+		this.score( source, sourceRow, target, targetRow, Integer.MIN_VALUE );
+		return this.score;
+	}
+
+	/**
+	 * Score a pair of rows unless its score is certainly below the minimum, e.g. the lowest of the current top
+	 * matches. Cheap features come first: the exact name and cross reference hits, the species, organism part
+	 * and cell type ids, then a lower bound of the synonym edit distance from the length difference, the edit
+	 * distance itself and only then the semantic disease match. After each step the best achievable score is
+	 * checked against the minimum. A rejected pair is not counted in any of the cell line, disease, species,
+	 * organism part and cell type match counters, only in its rejection counter.
+	 * @return false if the pair was rejected, then only isExact() is set
+	 */
+	public boolean score( CellLineFeatureMatrix source, int sourceRow, CellLineFeatureMatrix target, int targetRow, int minimumScore ) {
+		// Cell Line Name/Synonyms/XREF exact matching
+		this.exact = source.intersects( CellLineFeatureMatrix.NAME, sourceRow, target, targetRow )
+				|| source.intersects( CellLineFeatureMatrix.CROSS_REFERENCE, sourceRow, target, targetRow );
+		int sourceEnd = source.getSynonymEnd( sourceRow );
+		int targetEnd = target.getSynonymEnd( targetRow );
+		// Without synonyms the distance is Integer.MAX_VALUE and the score may overflow, so it is never bounded
+		boolean bounded = minimumScore != Integer.MIN_VALUE
+				&& ( this.exact || ( source.getSynonymStart( sourceRow ) < sourceEnd && target.getSynonymStart( targetRow ) < targetEnd ) );
+
+		// Cell Line Species, OrganismPart and CellType matching by ids
+		int attributeScore = 0;
+		int attributeBound = 0;
+		boolean valid = true;
+		this.speciesMatch = null;
+		if ( source.getSpeciesCount( sourceRow ) > 0 && target.getSpeciesCount( targetRow ) > 0 ) {
+			this.speciesMatch = source.intersects( CellLineFeatureMatrix.SPECIES, sourceRow, target, targetRow );
+			if ( this.speciesMatch )
+				attributeScore ++;
+			else {
+				valid = false;
+				attributeScore --;
+			}
+		}
+		this.organismMatch = null;
+		if ( source.getOrganismPartCount( sourceRow ) > 0 && target.getOrganismPartCount( targetRow ) > 0 ) {
+			this.organismMatch = source.intersects( CellLineFeatureMatrix.ORGANISM_PART, sourceRow, target, targetRow );
+			if ( this.organismMatch )
+				attributeScore ++;
+			else {
+				valid = false;
+				attributeScore --;
+			}
+		}
+		this.cellMatch = null;
+		if ( source.getCellTypeCount( sourceRow ) > 0 && target.getCellTypeCount( targetRow ) > 0 ) {
+			this.cellMatch = source.intersects( CellLineFeatureMatrix.CELL_TYPE, sourceRow, target, targetRow );
+			if ( this.cellMatch )
+				attributeScore ++;
+			else {
+				valid = false;
+				attributeScore --;
+			}
+		}
+		int sourceDiseases = source.getDiseaseCount( sourceRow );
+		int targetDiseases = target.getDiseaseCount( targetRow );
+		boolean diseaseLinkMatch = false;
+		if ( sourceDiseases > 0 && targetDiseases > 0 ) {
+			diseaseLinkMatch = source.intersects( CellLineFeatureMatrix.DISEASE_LINK, sourceRow, target, targetRow );
+			attributeBound = 1;
+		}
+		if ( bounded && ( this.exact ? 8 : 0 ) + attributeScore + attributeBound < minimumScore ) {
+			this.attributeRejections ++;
+			return false;
+		}
+
+		// Cell Line Name/Synonyms edit distance, bounded below by the length difference first
+		char[] sourceChars = source.getChars();
+		char[] targetChars = target.getChars();
+		if ( source.intersects( CellLineFeatureMatrix.UPPER_NAME, sourceRow, target, targetRow ) )
+			this.synonymsDistance = 0;
+		else {
+			if ( bounded && !this.exact ) {
+				int lengthBound = Integer.MAX_VALUE;
+				for ( int j = target.getSynonymStart( targetRow ); j < targetEnd; j ++ )
+					for ( int i = source.getSynonymStart( sourceRow ); i < sourceEnd; i ++ )
+						lengthBound = Math.min( lengthBound, Math.abs( source.getStringLength( i ) - target.getStringLength( j ) ) );
+				if ( - lengthBound + attributeScore + attributeBound < minimumScore ) {
+					this.lengthRejections ++;
+					return false;
+				}
+			}
+			int distance = Integer.MAX_VALUE;
+			for ( int j = target.getSynonymStart( targetRow ); j < targetEnd; j ++ ) {
+				for ( int i = source.getSynonymStart( sourceRow ); i < sourceEnd; i ++ ) {
+					int current = this.editDistanceRows.distance(
+							sourceChars, source.getStringOffset( i ), source.getStringLength( i ),
+							targetChars, target.getStringOffset( j ), target.getStringLength( j ) );
+					if ( current < distance )
+						distance = current;
+				}
+			}
+			this.synonymsDistance = distance;
+		}
+		int score = this.exact ? 8 : - this.synonymsDistance;
+		if ( bounded && !this.exact && score + attributeScore + attributeBound < minimumScore ) {
+			this.editDistanceRejections ++;
+			return false;
+		}
+		int sourceName = source.getNameString( sourceRow );
+		int targetName = target.getNameString( targetRow );
+		this.editDistance = this.editDistanceRows.distance(
+				sourceChars, source.getStringOffset( sourceName ), source.getStringLength( sourceName ),
+				targetChars, target.getStringOffset( targetName ), target.getStringLength( targetName ) );
+		// Only pairs scored to the end are counted
+		this.cellLineMatches ++;
+		this.speciesMatches += source.getSpeciesCount( sourceRow ) * target.getSpeciesCount( targetRow );
+		this.organismPartMatches += source.getOrganismPartCount( sourceRow ) * target.getOrganismPartCount( targetRow );
+		this.cellTypeMatches += source.getCellTypeCount( sourceRow ) * target.getCellTypeCount( targetRow );
+
+		// Cell Line Disease matching, by shared linked disease then by content and semantically pair by pair
+		this.diseaseMatch = null;
+		if ( sourceDiseases > 0 && targetDiseases > 0 ) {
+			this.diseaseMatches += sourceDiseases * targetDiseases;
+			boolean match = diseaseLinkMatch;
+			int sourceOffset = source.getDiseaseOffset( sourceRow );
+			int targetOffset = target.getDiseaseOffset( targetRow );
+			for ( int i = 0; !match && i < sourceDiseases; i ++ ) {
+				for ( int j = 0; !match && j < targetDiseases; j ++ ) {
+					this.diseaseMatcher.setFeatures( source.getDisease( sourceOffset + i ), target.getDisease( targetOffset + j ) );
+					if ( this.diseaseMatcher.match() )
+						match = true;
+				}
+			}
+			this.diseaseMatch = match;
+			if ( match )
+				attributeScore ++;
+			else {
+				valid = false;
+				attributeScore --;
+			}
+		}
+
+		this.score = score + attributeScore;
+		this.valid = valid;
+		return true;
+	}
+
+	/**
+	 * @return the score of the last pair
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * @return the name edit distance (ignoring case) of the last pair
+	 */
+	public int getEditDistance() {
+		return editDistance;
+	}
+
+	/**
+	 * @return the shortest name or synonym edit distance (ignoring case) of the last pair
+	 */
+	public int getSynonymsDistance() {
+		return synonymsDistance;
+	}
+
+	/**
+	 * @return whether the last pair is an exact name, synonym or cross reference match
+	 */
+	public boolean isExact() {
+		return exact;
+	}
+
+	/**
+	 * @return the disease match of the last pair, null if either has no disease
+	 */
+	public Boolean isDiseaseMatch() {
+		return diseaseMatch;
+	}
+
+	/**
+	 * @return the species match of the last pair, null if either has no species
+	 */
+	public Boolean isSpeciesMatch() {
+		return speciesMatch;
+	}
+
+	/**
+	 * @return the organism part match of the last pair, null if either has no organism part
+	 */
+	public Boolean isOrganismMatch() {
+		return organismMatch;
+	}
+
+	/**
+	 * @return the cell type match of the last pair, null if either has no cell type
+	 */
+	public Boolean isCellMatch() {
+		return cellMatch;
+	}
+
+	/**
+	 * @return false if any attribute annotated on both cell lines of the last pair did not match
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	public long getCellLineMatches() {
+		return cellLineMatches;
+	}
+
+	public long getDiseaseMatches() {
+		return diseaseMatches;
+	}
+
+	public long getSpeciesMatches() {
+		return speciesMatches;
+	}
+
+	public long getOrganismPartMatches() {
+		return organismPartMatches;
+	}
+
+	public long getCellTypeMatches() {
+		return cellTypeMatches;
+	}
+
+	/**
+	 * @return the number of pairs rejected on the exact name/cross reference hits and attribute ids
+	 */
+	public long getAttributeRejections() {
+		return attributeRejections;
+	}
+
+	/**
+	 * @return the number of pairs rejected on the length difference bound of the synonym edit distance
+	 */
+	public long getLengthRejections() {
+		return lengthRejections;
+	}
+
+	/**
+	 * @return the number of pairs rejected on the synonym edit distance, before the disease match
+	 */
+	public long getEditDistanceRejections() {
+		return editDistanceRejections;
+	}
+}
@@ -31,6 +31,7 @@ public class CellTypeMatcher {
 	 */
 	public void setSource(CellType source) {
 		this.source = source;
+		this.sourceFeatures = null;
 	}
 	
 	private CellType target;
@@ -45,6 +46,19 @@ public class CellTypeMatcher {
 	 */
 	public void setTarget(CellType target) {
 		this.target = target;
+		this.targetFeatures = null;
+	}
+	
+	private EntityFeatures sourceFeatures;
+	private EntityFeatures targetFeatures;
+	/**
+	 * Set the source and target from precomputed features, matched without allocation.
+	 */
+	public void setFeatures( EntityFeatures source, EntityFeatures target ) {
+		this.source = null;
+		this.target = null;
+		this.sourceFeatures = source;
+		this.targetFeatures = target;
 	}
 	
 	public CellTypeMatcher() {}
@@ -54,6 +68,8 @@ public class CellTypeMatcher {
 	}
 	
 	public synchronized Boolean matchContent() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.sourceFeatures.matchContent( this.targetFeatures );
 		if ( this.source == null || this.target == null ) return false;
 		return this.source.equals( this.target );
 	}
@@ -0,0 +1,246 @@
+/**
+ * @file DiseaseMatchCache.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.match;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread-safe cache of disease semantic match results keyed by the pair of disease accessions,
+ * shared by the DiseaseMatcher of all match threads working on the same ontology models.
+ *
+ * Accessions are registered once as int ids, and results are kept in lock-striped open addressing tables
+ * of primitive pair keys, so a lookup by ids does not allocate. The stripe sizes add up to the maximum size,
+ * with fewer stripes when they would hold less than MINIMUM_STRIPE_SIZE entries. A full stripe evicts a single entry not looked up since the
+ * clock hand last passed it.
+ */
+public class DiseaseMatchCache {
+
+	public static final long DEFAULT_MAXIMUM_SIZE = 100000;
+
+	public static final int UNKNOWN = -1;
+	public static final int NO_MATCH = 0;
+	public static final int MATCH = 1;
+
+	private static final int STRIPE_COUNT = 64;
+	private static final int MINIMUM_STRIPE_SIZE = 16;
+	private static final int MAXIMUM_STRIPE_SIZE = 1 << 24;
+
+	/**
+	 * Slot value bits: 0 for an empty slot, else the result + 1, with REFERENCED set by a lookup
+	 */
+	private static final byte REFERENCED = 4;
+
+	private static class Stripe {
+		private long[] keys;
+		private byte[] values;
+		private int size = 0;
+		private int maximumSize;
+		private int hand = 0;
+		private long hits = 0;
+		private long misses = 0;
+
+		Stripe( int maximumSize ) {
+			this.maximumSize = maximumSize;
+			int capacity = Integer.highestOneBit( maximumSize * 2 - 1 ) << 1;
+			this.keys = new long[capacity];
+			this.values = new byte[capacity];
+		}
+
+		synchronized int get( long key, int hash ) {
+			int mask = this.keys.length - 1;
+			for ( int slot = hash & mask; this.values[slot] != 0; slot = ( slot + 1 ) & mask ) {
+				if ( this.keys[slot] == key ) {
+					this.hits ++;
+					this.values[slot] |= REFERENCED;
+					return ( this.values[slot] & ~REFERENCED ) - 1;
+				}
+			}
+			this.misses ++;
+			return UNKNOWN;
+		}
+
+		synchronized void put( long key, int hash, boolean match ) {
+			int mask = this.keys.length - 1;
+			int slot = hash & mask;
+			for ( ; this.values[slot] != 0; slot = ( slot + 1 ) & mask )
+				if ( this.keys[slot] == key )
+					return;
+			if ( this.size >= this.maximumSize ) {
+				this.evict();
+				// The deletion may have shifted the probe sequence of the key
+				for ( slot = hash & mask; this.values[slot] != 0; slot = ( slot + 1 ) & mask );
+			}
+			this.keys[slot] = key;
+			this.values[slot] = (byte) ( match ? MATCH + 1 : NO_MATCH + 1 );
+			this.size ++;
+		}
+
+		/**
+		 * Remove the first entry from the clock hand on without the referenced bit, clearing the bits passed
+		 */
+		private void evict() {
+			int mask = this.keys.length - 1;
+			while ( true ) {
+				int slot = this.hand;
+				this.hand = ( this.hand + 1 ) & mask;
+				if ( this.values[slot] == 0 )
+					continue;
+				if ( ( this.values[slot] & REFERENCED ) != 0 ) {
+					this.values[slot] &= ~REFERENCED;
+					continue;
+				}
+				this.remove( slot );
+				return;
+			}
+		}
+
+		/**
+		 * Linear probing deletion, shifting back the following entries of the cluster that probed past the slot
+		 */
+		private void remove( int slot ) {
+			int mask = this.keys.length - 1;
+			int hole = slot;
+			for ( int next = ( slot + 1 ) & mask; this.values[next] != 0; next = ( next + 1 ) & mask ) {
+				int home = hash( this.keys[next] ) & mask;
+				if ( ( ( next - home ) & mask ) >= ( ( next - hole ) & mask ) ) {
+					this.keys[hole] = this.keys[next];
+					this.values[hole] = this.values[next];
+					hole = next;
+				}
+			}
+			this.values[hole] = 0;
+			this.size --;
+		}
+	}
+
+	private ConcurrentMap<String, Integer> accessionIds = new ConcurrentHashMap<String, Integer>();
+	private AtomicInteger nextId = new AtomicInteger();
+	private Stripe[] stripes;
+	private int stripeShift;
+
+	public DiseaseMatchCache() {
+		this( DEFAULT_MAXIMUM_SIZE );
+	}
+
+	public DiseaseMatchCache( long maximumSize ) {
+		maximumSize = Math.max( Math.min( maximumSize, (long) STRIPE_COUNT * MAXIMUM_STRIPE_SIZE ), 1 );
+		int stripeCount = (int) Math.min( Long.highestOneBit( Math.max( maximumSize / MINIMUM_STRIPE_SIZE, 1 ) ), STRIPE_COUNT );
+		this.stripes = new Stripe[stripeCount];
+		this.stripeShift = 32 - Integer.numberOfTrailingZeros( stripeCount );
+		for ( int i = 0; i < stripeCount; i ++ )
+			this.stripes[i] = new Stripe( (int) ( maximumSize / stripeCount + ( i < maximumSize % stripeCount ? 1 : 0 ) ) );
+	}
+
+	/**
+	 * @return the id of the disease accession, registered on first use
+	 */
+	public int getAccessionId( String accession ) {
+		Integer id = this.accessionIds.get( accession );
+		if ( id == null ) {
+			this.accessionIds.putIfAbsent( accession, this.nextId.getAndIncrement() );
+			id = this.accessionIds.get( accession );
+		}
+		return id;
+	}
+
+	/**
+	 * @return MATCH, NO_MATCH or UNKNOWN if the pair of accession ids is not cached
+	 */
+	public int get( int sourceId, int targetId ) {
+		long key = key( sourceId, targetId );
+		int hash = hash( key );
+		return this.getStripe( hash ).get( key, hash );
+	}
+
+	public void put( int sourceId, int targetId, boolean match ) {
+		long key = key( sourceId, targetId );
+		int hash = hash( key );
+		this.getStripe( hash ).put( key, hash, match );
+	}
+
+	/**
+	 * The stripe by the high bits of the hash, the slot within the stripe by its low bits
+	 */
+	private Stripe getStripe( int hash ) {
+		return this.stripes.length == 1 ? this.stripes[0] : this.stripes[hash >>> this.stripeShift];
+	}
+
+	public boolean get( String sourceAccession, String targetAccession, Callable<Boolean> loader ) {
+		int sourceId = this.getAccessionId( sourceAccession );
+		int targetId = this.getAccessionId( targetAccession );
+		int cached = this.get( sourceId, targetId );
+		if ( cached != UNKNOWN )
+			return cached == MATCH;
+		boolean match;
+		try {
+			match = loader.call();
+		} catch ( Exception e ) {
+			throw new RuntimeException( e );
+		}
+		this.put( sourceId, targetId, match );
+		return match;
+	}
+
+	/**
+	 * Order independent key of a pair of accession ids.
+	 */
+	private static long key( int id1, int id2 ) {
+		if ( id1 <= id2 )
+			return ( (long) id1 << 32 ) | ( id2 & 0xffffffffL );
+		else
+			return ( (long) id2 << 32 ) | ( id1 & 0xffffffffL );
+	}
+
+	private static int hash( long key ) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	public long getHitCount() {
+		long hits = 0;
+		for ( Stripe stripe : this.stripes )
+			synchronized ( stripe ) {
+				hits += stripe.hits;
+			}
+		return hits;
+	}
+
+	public long getMissCount() {
+		long misses = 0;
+		for ( Stripe stripe : this.stripes )
+			synchronized ( stripe ) {
+				misses += stripe.misses;
+			}
+		return misses;
+	}
+
+	public long size() {
+		long size = 0;
+		for ( Stripe stripe : this.stripes )
+			synchronized ( stripe ) {
+				size += stripe.size;
+			}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		long hits = this.getHitCount();
+		long misses = this.getMissCount();
+		double hitRate = hits + misses > 0 ? (double) hits / ( hits + misses ) : 1.0;
+		return String.format( "%d hits, %d misses (hit rate %.1f%%), %d entries",
+				hits, misses, hitRate * 100, this.size() );
+	}
+}
@@ -7,8 +7,12 @@
  */
 package cellline.match;
 
+import java.util.concurrent.Callable;
+
+import cellline.metrics.PipelineEvents;
 import cellline.model.DiseaseOntologyModel;
 import cellline.model.EFOOntologyModel;
+import cellline.model.OntologyModelRegistry;
 import cellline.object.Disease;
 
 /**
@@ -29,6 +33,7 @@ public class DiseaseMatcher {
 	 */
 	public void setSource(Disease source) {
 		this.source = source;
+		this.sourceFeatures = null;
 	}
 	
 	private Disease target;
@@ -44,13 +49,41 @@ public class DiseaseMatcher {
 	 */
 	public void setTarget(Disease target) {
 		this.target = target;
+		this.targetFeatures = null;
+	}
+
+	private EntityFeatures sourceFeatures;
+	private EntityFeatures targetFeatures;
+	/**
+	 * Set the source and target from precomputed features, matched without allocation when both are cached.
+	 */
+	public void setFeatures( EntityFeatures source, EntityFeatures target ) {
+		this.sourceFeatures = source;
+		this.targetFeatures = target;
+		this.source = source.getDisease();
+		this.target = target.getDisease();
 	}
 
 	private DiseaseOntologyModel doidModel;
 	private EFOOntologyModel efoModel;
 	
+	private DiseaseMatchCache cache;
+	/**
+	 * @return the semantic match cache
+	 */
+	public DiseaseMatchCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * @param cache the semantic match cache to set, shared by matchers over the same models
+	 */
+	public void setCache(DiseaseMatchCache cache) {
+		this.cache = cache;
+	}
+	
 	public DiseaseMatcher() {
-		this.doidModel = new DiseaseOntologyModel();
+		this.doidModel = OntologyModelRegistry.getDefault().getDiseaseOntologyModel();
 		this.efoModel = new EFOOntologyModel();
 	}
 	
@@ -60,7 +93,7 @@ public class DiseaseMatcher {
 	}
 	
 	public DiseaseMatcher( EFOOntologyModel efoModel ) {
-		this.doidModel = new DiseaseOntologyModel();
+		this.doidModel = OntologyModelRegistry.getDefault().getDiseaseOntologyModel();
 		this.efoModel = efoModel;
 	}
 	
@@ -78,21 +111,57 @@ public class DiseaseMatcher {
 		return false;
 	}
 	
+	/**
+	 * Diseases match by their names and cross references together with those of the DOID and EFO diseases
+	 * linked to them, as if these had been merged into them.
+	 */
 	public synchronized Boolean matchContent() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.sourceFeatures.matchContent( this.targetFeatures );
 		if ( this.source == null || this.target == null ) return false;
-		return this.source.equals( this.target );
+		if ( this.source.getCrossReferenceDiseases().isEmpty() && this.target.getCrossReferenceDiseases().isEmpty() )
+			return this.source.equals( this.target );
+		return EntityFeatures.of( this.source, null ).matchContent( EntityFeatures.of( this.target, null ) );
 	}
 	
 	public synchronized Boolean matchSemantic() {
 		if ( this.source == null || this.target == null ) return false;
 		if ( this.matchContent() ) return true;
-		for ( Disease sourceDOID : this.doidModel.getDiseasesFromCrossReferenceAccession( source.getAccession() ) )
-			for ( Disease targetDOID : this.doidModel.getDiseasesFromCrossReferenceAccession( target.getAccession() ) )
+		if ( this.cache != null && this.sourceFeatures != null && this.targetFeatures != null
+				&& this.sourceFeatures.getCacheId() >= 0 && this.targetFeatures.getCacheId() >= 0 ) {
+			int cached = this.cache.get( this.sourceFeatures.getCacheId(), this.targetFeatures.getCacheId() );
+			if ( cached != DiseaseMatchCache.UNKNOWN )
+				return cached == DiseaseMatchCache.MATCH;
+			boolean match = matchRelation( source.getAccession(), target.getAccession() );
+			this.cache.put( this.sourceFeatures.getCacheId(), this.targetFeatures.getCacheId(), match );
+			return match;
+		}
+		if ( this.cache == null || source.getAccession() == null || target.getAccession() == null )
+			return matchRelation( source.getAccession(), target.getAccession() );
+		final String sourceAccession = source.getAccession();
+		final String targetAccession = target.getAccession();
+		return this.cache.get( sourceAccession, targetAccession, new Callable<Boolean>() {
+			public Boolean call() {
+				return matchRelation( sourceAccession, targetAccession );
+			}
+		} );
+	}
+	
+	private boolean matchRelation( String sourceAccession, String targetAccession ) {
+		PipelineEvents.DiseaseCheckSpan event = PipelineEvents.diseaseCheck( sourceAccession, targetAccession );
+		boolean match = this.matchSubClassRelation( sourceAccession, targetAccession );
+		event.end( match );
+		return match;
+	}
+	
+	private boolean matchSubClassRelation( String sourceAccession, String targetAccession ) {
+		for ( Disease sourceDOID : this.doidModel.getDiseasesFromCrossReferenceAccession( sourceAccession ) )
+			for ( Disease targetDOID : this.doidModel.getDiseasesFromCrossReferenceAccession( targetAccession ) )
 				if ( doidModel.isSubClassOfRelation( sourceDOID, targetDOID )
 						|| doidModel.isSubClassOfRelation( targetDOID, sourceDOID ) )
 					return true;
-		for ( Disease sourceEFO : this.efoModel.getDiseasesFromCrossReferenceAccession( source.getAccession() ) )
-			for ( Disease targetEFO : this.efoModel.getDiseasesFromCrossReferenceAccession( target.getAccession() ) )
+		for ( Disease sourceEFO : this.efoModel.getDiseasesFromCrossReferenceAccession( sourceAccession ) )
+			for ( Disease targetEFO : this.efoModel.getDiseasesFromCrossReferenceAccession( targetAccession ) )
 				if ( efoModel.isSubClassOfRelation( sourceEFO, targetEFO )
 						|| efoModel.isSubClassOfRelation( targetEFO, sourceEFO ) )
 					return true;
@@ -0,0 +1,67 @@
+/**
+ * @file EditDistance.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.match;
+
+/**
+ * Levenshtein distance over char arrays reusing its two DP rows, so that after the rows have grown to the
+ * longest string no call allocates. Same result as StringUtils.getLevenshteinDistance; not thread safe,
+ * every matcher owns one.
+ */
+public class EditDistance {
+
+	private int[] previous = new int[64];
+	private int[] current = new int[64];
+
+	public int distance( char[] source, char[] target ) {
+		return this.distance( source, 0, source.length, target, 0, target.length );
+	}
+
+	/**
+	 * Distance between the ranges [sourceOffset, sourceOffset + sourceLength) and [targetOffset, targetOffset + targetLength),
+	 * e.g. of strings packed into one char array.
+	 */
+	public int distance( char[] source, int sourceOffset, int sourceLength, char[] target, int targetOffset, int targetLength ) {
+		if ( sourceLength == 0 )
+			return targetLength;
+		if ( targetLength == 0 )
+			return sourceLength;
+		// Keep the rows as short as the shorter string
+		if ( sourceLength > targetLength ) {
+			char[] swap = source;
+			source = target;
+			target = swap;
+			int swapOffset = sourceOffset;
+			sourceOffset = targetOffset;
+			targetOffset = swapOffset;
+			int swapLength = sourceLength;
+			sourceLength = targetLength;
+			targetLength = swapLength;
+		}
+		int n = sourceLength;
+		if ( this.previous.length <= n ) {
+			this.previous = new int[n * 2 + 1];
+			this.current = new int[n * 2 + 1];
+		}
+		int[] p = this.previous;
+		int[] d = this.current;
+		for ( int i = 0; i <= n; i ++ )
+			p[i] = i;
+		for ( int j = 1; j <= targetLength; j ++ ) {
+			char t = target[targetOffset + j - 1];
+			d[0] = j;
+			for ( int i = 1; i <= n; i ++ ) {
+				int cost = source[sourceOffset + i - 1] == t ? 0 : 1;
+				d[i] = Math.min( Math.min( d[i - 1] + 1, p[i] + 1 ), p[i - 1] + cost );
+			}
+			int[] swap = p;
+			p = d;
+			d = swap;
+		}
+		return p[n];
+	}
+}
@@ -0,0 +1,205 @@
+/**
+ * @file EntityFeatures.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.match;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import cellline.object.CellType;
+import cellline.object.CrossReference;
+import cellline.object.Disease;
+import cellline.object.OrganismPart;
+import cellline.object.Species;
+
+/**
+ * Disease, species, organism part or cell type flattened into arrays once, so that the content match of two
+ * entities, with the semantics of their compareTo(), runs without the HashSet and CrossReference copies.
+ */
+public class EntityFeatures {
+
+	private String accession;
+	private String[] names;
+	private String[] xRefSources;
+	private String[] xRefIdentifiers;
+	private String[] xRefAccessions;
+	private String[] linkedAccessions = new String[0];
+	private int cacheId = -1;
+	private Disease disease;
+
+	private EntityFeatures( String accession, String name, Collection<String> synonyms, Collection<CrossReference> crossReferences ) {
+		this.accession = accession;
+		Set<String> names = new LinkedHashSet<String>();
+		if ( name != null )
+			names.add( name );
+		for ( String synonym : synonyms )
+			if ( synonym != null )
+				names.add( synonym );
+		this.names = names.toArray( new String[names.size()] );
+
+		List<CrossReference> xRefs = new ArrayList<CrossReference>();
+		for ( CrossReference xRef : crossReferences )
+			if ( xRef != null && xRef.getAccession() != null )
+				xRefs.add( xRef );
+		if ( accession != null ) {
+			CrossReference xRef = new CrossReference( accession );
+			if ( xRef.getAccession() != null )
+				xRefs.add( xRef );
+		}
+		this.xRefSources = new String[xRefs.size()];
+		this.xRefIdentifiers = new String[xRefs.size()];
+		this.xRefAccessions = new String[xRefs.size()];
+		for ( int i = 0; i < xRefs.size(); i ++ ) {
+			this.xRefSources[i] = xRefs.get( i ).getSource();
+			this.xRefIdentifiers[i] = xRefs.get( i ).getIdentifier();
+			this.xRefAccessions[i] = xRefs.get( i ).getAccession();
+		}
+	}
+
+	/**
+	 * The names and cross references of the DOID and EFO diseases linked to the disease count as its own,
+	 * as if they had been merged into it with Disease.merge().
+	 * @param cache semantic match cache the disease accession is registered with, may be null
+	 */
+	public static EntityFeatures of( Disease disease, DiseaseMatchCache cache ) {
+		Collection<String> synonyms = disease.getSynonyms();
+		Collection<CrossReference> crossReferences = disease.getCrossReferences();
+		if ( !disease.getCrossReferenceDiseases().isEmpty() ) {
+			synonyms = new ArrayList<String>( synonyms );
+			crossReferences = new ArrayList<CrossReference>( crossReferences );
+			for ( Disease linked : disease.getCrossReferenceDiseases() ) {
+				synonyms.add( linked.getName() );
+				synonyms.addAll( linked.getSynonyms() );
+				crossReferences.add( new CrossReference( linked.getAccession() ) );
+				crossReferences.addAll( linked.getCrossReferences() );
+			}
+		}
+		EntityFeatures features = new EntityFeatures( disease.getAccession(), disease.getName(), synonyms, crossReferences );
+		features.disease = disease;
+		Set<String> linkedAccessions = new TreeSet<String>();
+		if ( disease.getAccession() != null )
+			linkedAccessions.add( disease.getAccession() );
+		for ( Disease linked : disease.getCrossReferenceDiseases() )
+			if ( linked.getAccession() != null )
+				linkedAccessions.add( linked.getAccession() );
+		features.linkedAccessions = linkedAccessions.toArray( new String[linkedAccessions.size()] );
+		if ( cache != null && disease.getAccession() != null )
+			features.cacheId = cache.getAccessionId( disease.getAccession() );
+		return features;
+	}
+
+	public static EntityFeatures of( Species species ) {
+		return new EntityFeatures( species.getAccession(), species.getName(), species.getSynonyms(), species.getCrossReferences() );
+	}
+
+	public static EntityFeatures of( OrganismPart organismPart ) {
+		return new EntityFeatures( organismPart.getAccession(), organismPart.getName(), organismPart.getSynonyms(), organismPart.getCrossReferences() );
+	}
+
+	public static EntityFeatures of( CellType cellType ) {
+		return new EntityFeatures( cellType.getAccession(), cellType.getName(), cellType.getSynonyms(), cellType.getCrossReferences() );
+	}
+
+	/**
+	 * @return the accession
+	 */
+	public String getAccession() {
+		return accession;
+	}
+
+	/**
+	 * @return the distinct name and synonyms
+	 */
+	String[] getNames() {
+		return names;
+	}
+
+	String[] getXRefSources() {
+		return xRefSources;
+	}
+
+	String[] getXRefIdentifiers() {
+		return xRefIdentifiers;
+	}
+
+	String[] getXRefAccessions() {
+		return xRefAccessions;
+	}
+
+	/**
+	 * @return the sorted accessions of the disease and of the DOID and EFO diseases linked to it, empty if not a disease
+	 */
+	public String[] getLinkedAccessions() {
+		return linkedAccessions;
+	}
+
+	/**
+	 * Whether the two diseases share their accession or a directly linked DOID or EFO disease. Links are not
+	 * followed any further, so two diseases sharing a linked disease with a third one do not match through it.
+	 * Every such pair also matches by matchContent().
+	 */
+	public boolean matchLinked( EntityFeatures target ) {
+		int i = 0;
+		int j = 0;
+		while ( i < this.linkedAccessions.length && j < target.linkedAccessions.length ) {
+			int compare = this.linkedAccessions[i].compareTo( target.linkedAccessions[j] );
+			if ( compare == 0 )
+				return true;
+			if ( compare < 0 )
+				i ++;
+			else
+				j ++;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the disease accession id in the semantic match cache, -1 if none
+	 */
+	public int getCacheId() {
+		return cacheId;
+	}
+
+	/**
+	 * @return the disease, null for other entities
+	 */
+	public Disease getDisease() {
+		return disease;
+	}
+
+	/**
+	 * Same accession, a shared exact name or synonym, or a shared cross reference (case insensitive),
+	 * as compareTo() of the entity classes.
+	 */
+	public boolean matchContent( EntityFeatures target ) {
+		if ( this.accession != null && this.accession.equals( target.accession ) )
+			return true;
+		for ( String targetName : target.names )
+			for ( String sourceName : this.names )
+				if ( sourceName.equals( targetName ) )
+					return true;
+		for ( int i = 0; i < target.xRefAccessions.length; i ++ )
+			for ( int j = 0; j < this.xRefAccessions.length; j ++ )
+				if ( matchCrossReference( this.xRefSources[j], this.xRefIdentifiers[j], this.xRefAccessions[j],
+						target.xRefSources[i], target.xRefIdentifiers[i], target.xRefAccessions[i] ) )
+					return true;
+		return false;
+	}
+
+	/**
+	 * Cross reference equality of CrossReference.compareTo().
+	 */
+	static boolean matchCrossReference( String source1, String identifier1, String accession1, String source2, String identifier2, String accession2 ) {
+		if ( accession1.equals( accession2 ) )
+			return true;
+		return source1.equalsIgnoreCase( source2 ) && identifier1.equalsIgnoreCase( identifier2 );
+	}
+}
@@ -37,6 +37,7 @@ public class OrganismPartMatcher {
 	 */
 	public void setSource(OrganismPart source) {
 		this.source = source;
+		this.sourceFeatures = null;
 	}
 	
 	private OrganismPart target;
@@ -51,6 +52,19 @@ public class OrganismPartMatcher {
 	 */
 	public void setTarget(OrganismPart target) {
 		this.target = target;
+		this.targetFeatures = null;
+	}
+	
+	private EntityFeatures sourceFeatures;
+	private EntityFeatures targetFeatures;
+	/**
+	 * Set the source and target from precomputed features, matched without allocation.
+	 */
+	public void setFeatures( EntityFeatures source, EntityFeatures target ) {
+		this.source = null;
+		this.target = null;
+		this.sourceFeatures = source;
+		this.targetFeatures = target;
 	}
 	
 	public OrganismPartMatcher() {}
@@ -60,6 +74,8 @@ public class OrganismPartMatcher {
 	}
 	
 	public synchronized Boolean matchContent() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.sourceFeatures.matchContent( this.targetFeatures );
 		if ( this.source == null || this.target == null ) return false;
 		return this.source.equals( this.target );
 	}
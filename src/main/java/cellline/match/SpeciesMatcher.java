@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -56,6 +57,7 @@ public class SpeciesMatcher {
 	 */
 	public void setSource(Species source) {
 		this.source = source;
+		this.sourceFeatures = null;
 	}
 	
 	private Species target;
@@ -70,6 +72,19 @@ public class SpeciesMatcher {
 	 */
 	public void setTarget(Species target) {
 		this.target = target;
+		this.targetFeatures = null;
+	}
+	
+	private EntityFeatures sourceFeatures;
+	private EntityFeatures targetFeatures;
+	/**
+	 * Set the source and target from precomputed features, matched without allocation.
+	 */
+	public void setFeatures( EntityFeatures source, EntityFeatures target ) {
+		this.source = null;
+		this.target = null;
+		this.sourceFeatures = source;
+		this.targetFeatures = target;
 	}
 	
 	public SpeciesMatcher() {
@@ -80,17 +95,18 @@ public class SpeciesMatcher {
 		InputStream ncbiFile = getClass().getClassLoader().getResourceAsStream( "species/ncbi-taxonomy.json" );
 		JSONParser jsonParser = new JSONParser();
 		try {
-			this.taxonomy = (JSONObject) jsonParser.parse( new InputStreamReader( ncbiFile ) );
+			JSONObject json = (JSONObject) jsonParser.parse( new InputStreamReader( ncbiFile ) );
+			this.taxonomy = new HashMap<String, String>();
+			for ( Object entry : json.entrySet() ) {
+				Map.Entry<?, ?> parent = (Map.Entry<?, ?>) entry;
+				this.taxonomy.put( (String) parent.getKey(), (String) parent.getValue() );
+			}
 			logger.trace( "Loaded NCBI Taxonomy from resource json file" );
 		} catch (FileNotFoundException e) {
 			logger.error( e.getMessage() );
 			System.exit( -1 );
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		} catch (ParseException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		} catch (IOException | ParseException e) {
+			logger.error( "Fail to load NCBI Taxonomy from resource json file", e );
 		}
 	}
 	
@@ -102,6 +118,8 @@ public class SpeciesMatcher {
 	}
 	
 	public synchronized Boolean matchContent() {
+		if ( this.sourceFeatures != null && this.targetFeatures != null )
+			return this.sourceFeatures.matchContent( this.targetFeatures );
 		if ( this.source == null || this.target == null ) return false;
 		return this.source.equals( this.target );
 	}
@@ -0,0 +1,33 @@
+/**
+ * @file Counter.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic count shared by all threads. Hot loops should count locally and add once.
+ */
+public class Counter {
+
+	private AtomicLong count = new AtomicLong();
+
+	public void inc() {
+		this.count.incrementAndGet();
+	}
+
+	public void add( long value ) {
+		this.count.addAndGet( value );
+	}
+
+	/**
+	 * @return the count
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+}
@@ -0,0 +1,29 @@
+/**
+ * @file Gauge.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last value of a quantity sampled during the run, e.g. a throughput or an estimated time.
+ */
+public class Gauge {
+
+	private AtomicLong bits = new AtomicLong( Double.doubleToLongBits( 0.0 ) );
+
+	public void set( double value ) {
+		this.bits.set( Double.doubleToLongBits( value ) );
+	}
+
+	/**
+	 * @return the value
+	 */
+	public double getValue() {
+		return Double.longBitsToDouble( this.bits.get() );
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * @file Histogram.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of long values in power of two buckets by magnitude, on both sides of a bucket for 0, so
+ * negative values such as inexact match scores keep their distribution.
+ * Percentiles are the upper bound of the bucket holding the rank, so within a factor of two.
+ */
+public class Histogram {
+
+	private static final int ZERO_BUCKET = 64;
+	private static final int BUCKETS = 2 * ZERO_BUCKET;
+
+	private AtomicLongArray buckets = new AtomicLongArray( BUCKETS );
+	private AtomicLong count = new AtomicLong();
+	private AtomicLong sum = new AtomicLong();
+	private AtomicLong min = new AtomicLong( Long.MAX_VALUE );
+	private AtomicLong max = new AtomicLong( Long.MIN_VALUE );
+
+	public void update( long value ) {
+		this.buckets.incrementAndGet( bucket( value ) );
+		this.count.incrementAndGet();
+		this.sum.addAndGet( value );
+		long current;
+		while ( value < ( current = this.min.get() ) && !this.min.compareAndSet( current, value ) );
+		while ( value > ( current = this.max.get() ) && !this.max.compareAndSet( current, value ) );
+	}
+
+	/**
+	 * @return the count
+	 */
+	public long getCount() {
+		return this.count.get();
+	}
+
+	/**
+	 * @return the sum
+	 */
+	public long getSum() {
+		return this.sum.get();
+	}
+
+	/**
+	 * @return the min, 0 if empty
+	 */
+	public long getMin() {
+		return this.count.get() == 0 ? 0 : this.min.get();
+	}
+
+	/**
+	 * @return the max, 0 if empty
+	 */
+	public long getMax() {
+		return this.count.get() == 0 ? 0 : this.max.get();
+	}
+
+	public double getMean() {
+		long count = this.count.get();
+		return count == 0 ? 0.0 : (double) this.sum.get() / count;
+	}
+
+	/**
+	 * @param quantile between 0 and 1
+	 * @return upper bound of the bucket holding the quantile, capped by the max
+	 */
+	public long getPercentile( double quantile ) {
+		long count = this.count.get();
+		if ( count == 0 )
+			return 0;
+		long rank = (long) Math.ceil( quantile * count );
+		long seen = 0;
+		for ( int bucket = 0; bucket < BUCKETS; bucket ++ ) {
+			seen += this.buckets.get( bucket );
+			if ( seen >= rank && seen > 0 )
+				return Math.min( upperBound( bucket ), this.getMax() );
+		}
+		return this.getMax();
+	}
+
+	/**
+	 * @return ZERO_BUCKET for 0, ZERO_BUCKET +/- the bit length of the magnitude otherwise
+	 */
+	private static int bucket( long value ) {
+		if ( value == 0 )
+			return ZERO_BUCKET;
+		if ( value > 0 )
+			return Math.min( BUCKETS - 1, ZERO_BUCKET + 64 - Long.numberOfLeadingZeros( value ) );
+		return Math.max( 0, ZERO_BUCKET - ( 64 - Long.numberOfLeadingZeros( -value ) ) );
+	}
+
+	/**
+	 * @return the largest value of the bucket
+	 */
+	private static long upperBound( int bucket ) {
+		if ( bucket >= ZERO_BUCKET )
+			return bucket == ZERO_BUCKET ? 0 : ( 1L << ( bucket - ZERO_BUCKET ) ) - 1;
+		return -( 1L << ( ZERO_BUCKET - bucket - 1 ) );
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * @file MetricsRegistry.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Named counters, timers and histograms of a mapping run, dumped as a JSON report:
+ *
+ *   { "counters": { name: count },
+ *     "gauges": { name: value },
+ *     "timers": { name: { count, totalMillis, meanMillis, p50Millis, p95Millis, maxMillis } },
+ *     "histograms": { name: { count, min, mean, p50, p95, p99, max } } }
+ */
+public class MetricsRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger( MetricsRegistry.class );
+
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	/**
+	 * @return the registry shared by the models, matchers and applications
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	private ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+	private ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+	private ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+	private ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+	private ScheduledExecutorService reporter;
+
+	public Counter counter( String name ) {
+		Counter counter = this.counters.get( name );
+		if ( counter == null ) {
+			this.counters.putIfAbsent( name, new Counter() );
+			counter = this.counters.get( name );
+		}
+		return counter;
+	}
+
+	public Gauge gauge( String name ) {
+		Gauge gauge = this.gauges.get( name );
+		if ( gauge == null ) {
+			this.gauges.putIfAbsent( name, new Gauge() );
+			gauge = this.gauges.get( name );
+		}
+		return gauge;
+	}
+
+	public Timer timer( String name ) {
+		Timer timer = this.timers.get( name );
+		if ( timer == null ) {
+			this.timers.putIfAbsent( name, new Timer() );
+			timer = this.timers.get( name );
+		}
+		return timer;
+	}
+
+	public Histogram histogram( String name ) {
+		Histogram histogram = this.histograms.get( name );
+		if ( histogram == null ) {
+			this.histograms.putIfAbsent( name, new Histogram() );
+			histogram = this.histograms.get( name );
+		}
+		return histogram;
+	}
+
+	/**
+	 * Drop all metrics, e.g. between runs in one JVM.
+	 */
+	public void clear() {
+		this.counters.clear();
+		this.gauges.clear();
+		this.timers.clear();
+		this.histograms.clear();
+	}
+
+	@SuppressWarnings( "unchecked" )
+	public JSONObject toJSON() {
+		JSONObject counterJSON = new JSONObject();
+		for ( Map.Entry<String, Counter> counter : this.counters.entrySet() )
+			counterJSON.put( counter.getKey(), counter.getValue().getCount() );
+
+		JSONObject gaugeJSON = new JSONObject();
+		for ( Map.Entry<String, Gauge> gauge : this.gauges.entrySet() )
+			gaugeJSON.put( gauge.getKey(), gauge.getValue().getValue() );
+
+		JSONObject timerJSON = new JSONObject();
+		for ( Map.Entry<String, Timer> timer : this.timers.entrySet() ) {
+			Histogram durations = timer.getValue().getDurations();
+			JSONObject json = new JSONObject();
+			json.put( "count", durations.getCount() );
+			json.put( "totalMillis", toMillis( durations.getSum() ) );
+			json.put( "meanMillis", toMillis( durations.getMean() ) );
+			json.put( "p50Millis", toMillis( durations.getPercentile( 0.5 ) ) );
+			json.put( "p95Millis", toMillis( durations.getPercentile( 0.95 ) ) );
+			json.put( "maxMillis", toMillis( durations.getMax() ) );
+			timerJSON.put( timer.getKey(), json );
+		}
+
+		JSONObject histogramJSON = new JSONObject();
+		for ( Map.Entry<String, Histogram> histogram : this.histograms.entrySet() ) {
+			Histogram values = histogram.getValue();
+			JSONObject json = new JSONObject();
+			json.put( "count", values.getCount() );
+			json.put( "min", values.getMin() );
+			json.put( "mean", values.getMean() );
+			json.put( "p50", values.getPercentile( 0.5 ) );
+			json.put( "p95", values.getPercentile( 0.95 ) );
+			json.put( "p99", values.getPercentile( 0.99 ) );
+			json.put( "max", values.getMax() );
+			histogramJSON.put( histogram.getKey(), json );
+		}
+
+		JSONObject json = new JSONObject();
+		json.put( "counters", counterJSON );
+		json.put( "gauges", gaugeJSON );
+		json.put( "timers", timerJSON );
+		json.put( "histograms", histogramJSON );
+		return json;
+	}
+
+	public void writeJSON( File file ) throws IOException {
+		Writer writer = new FileWriter( file );
+		try {
+			this.toJSON().writeJSONString( writer );
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Rewrite the JSON report every interval until {@link #stopReporting()}.
+	 */
+	public synchronized void startReporting( final File file, long interval, TimeUnit unit ) {
+		this.stopReporting();
+		this.reporter = Executors.newSingleThreadScheduledExecutor( new ThreadFactory() {
+			@Override
+			public Thread newThread( Runnable runnable ) {
+				Thread thread = new Thread( runnable, "metrics-reporter" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		this.reporter.scheduleAtFixedRate( new Runnable() {
+			@Override
+			public void run() {
+				try {
+					writeJSON( file );
+				} catch ( IOException e ) {
+					logger.warn( "Fail to write metrics to: " + file.getAbsolutePath(), e );
+				}
+			}
+		}, interval, interval, unit );
+	}
+
+	public synchronized void stopReporting() {
+		if ( this.reporter != null ) {
+			this.reporter.shutdownNow();
+			this.reporter = null;
+		}
+	}
+
+	private static double toMillis( double nanos ) {
+		return nanos / 1000000.0;
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * @file PipelineEvents.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java Flight Recorder events of the mapping pipeline: ontology loads, parse phases, EFO cell line scoring,
+ * disease semantic checks and output writer flushes, so that a recording opened in JMC attributes time to
+ * pipeline stages.
+ *
+ * The JFR event classes live in {@link cellline.metrics.jfr} and are only loaded on a JVM shipping jdk.jfr;
+ * otherwise, or with -Dcellline.jfr=false, every span is a shared no-op. A span is also a no-op while no
+ * recording has its event type enabled, so the hot paths do not allocate events nobody records.
+ */
+public final class PipelineEvents {
+
+	private static final Logger logger = LoggerFactory.getLogger( PipelineEvents.class );
+
+	public static final String JFR_PROPERTY = "cellline.jfr";
+
+	/**
+	 * A pipeline stage in progress, ended with the number of items it handled
+	 * (axioms loaded, entities parsed or entries written).
+	 */
+	public interface Span {
+		void end( long count );
+	}
+
+	public interface ScoringSpan {
+		void end( int candidates, Integer bestScore );
+	}
+
+	public interface DiseaseCheckSpan {
+		void end( boolean match );
+	}
+
+	/**
+	 * Creates the spans, implemented on top of JFR by {@link cellline.metrics.jfr.FlightRecorderEvents}.
+	 */
+	public interface Factory {
+		Span ontologyLoad( String model, String source );
+		Span parsePhase( String model, String phase );
+		ScoringSpan cellLineScoring( String efoAccession );
+		DiseaseCheckSpan diseaseCheck( String sourceAccession, String targetAccession );
+		Span writerFlush( String fileName );
+	}
+
+	private static final Span NO_SPAN = new Span() {
+		@Override
+		public void end( long count ) {}
+	};
+
+	private static final ScoringSpan NO_SCORING_SPAN = new ScoringSpan() {
+		@Override
+		public void end( int candidates, Integer bestScore ) {}
+	};
+
+	private static final DiseaseCheckSpan NO_DISEASE_CHECK_SPAN = new DiseaseCheckSpan() {
+		@Override
+		public void end( boolean match ) {}
+	};
+
+	private static final Factory FACTORY = createFactory();
+
+	private PipelineEvents() {}
+
+	private static Factory createFactory() {
+		if ( !Boolean.parseBoolean( System.getProperty( JFR_PROPERTY, "true" ) ) )
+			return null;
+		try {
+			Class.forName( "jdk.jfr.Event" );
+			return (Factory) Class.forName( "cellline.metrics.jfr.FlightRecorderEvents" ).getDeclaredConstructor().newInstance();
+		} catch ( ClassNotFoundException | LinkageError e ) {
+			logger.debug( "Java Flight Recorder is not available, pipeline events disabled" );
+		} catch ( InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e ) {
+			logger.warn( "Fail to set up pipeline events", e );
+		}
+		return null;
+	}
+
+	/**
+	 * @return whether the spans are recorded as JFR events
+	 */
+	public static boolean isAvailable() {
+		return FACTORY != null;
+	}
+
+	public static Span ontologyLoad( String model, String source ) {
+		if ( FACTORY == null ) return NO_SPAN;
+		Span span = FACTORY.ontologyLoad( model, source );
+		return span == null ? NO_SPAN : span;
+	}
+
+	public static Span parsePhase( String model, String phase ) {
+		if ( FACTORY == null ) return NO_SPAN;
+		Span span = FACTORY.parsePhase( model, phase );
+		return span == null ? NO_SPAN : span;
+	}
+
+	public static ScoringSpan cellLineScoring( String efoAccession ) {
+		if ( FACTORY == null ) return NO_SCORING_SPAN;
+		ScoringSpan span = FACTORY.cellLineScoring( efoAccession );
+		return span == null ? NO_SCORING_SPAN : span;
+	}
+
+	public static DiseaseCheckSpan diseaseCheck( String sourceAccession, String targetAccession ) {
+		if ( FACTORY == null ) return NO_DISEASE_CHECK_SPAN;
+		DiseaseCheckSpan span = FACTORY.diseaseCheck( sourceAccession, targetAccession );
+		return span == null ? NO_DISEASE_CHECK_SPAN : span;
+	}
+
+	public static Span writerFlush( String fileName ) {
+		if ( FACTORY == null ) return NO_SPAN;
+		Span span = FACTORY.writerFlush( fileName );
+		return span == null ? NO_SPAN : span;
+	}
+}
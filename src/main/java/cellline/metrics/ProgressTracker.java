@@ -0,0 +1,205 @@
+/**
+ * @file ProgressTracker.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Global progress of the EFO-CLO scoring: completed EFO cell lines, visited candidates and scored pairs,
+ * reported at a fixed interval with the throughput, the ETA and the utilization of every scoring thread.
+ *
+ * Scoring threads call {@link #beginLine()}, {@link #progress(long, long)} every few candidates and
+ * {@link #endLine(long, long)}; all updates are atomic adds, the formatting happens on the reporter thread.
+ */
+public class ProgressTracker {
+
+	private static final Logger logger = LoggerFactory.getLogger( ProgressTracker.class );
+
+	/**
+	 * Busy time of one scoring thread.
+	 */
+	private static class Worker {
+		private String name;
+		private AtomicLong busyNanos = new AtomicLong();
+		private volatile long activeSince = 0;
+		private long lastBusyNanos = 0;
+	}
+
+	private MetricsRegistry metrics;
+	private AtomicLong totalLines = new AtomicLong();
+	private AtomicLong completedLines = new AtomicLong();
+	private AtomicLong totalCandidates = new AtomicLong();
+	private AtomicLong visitedCandidates = new AtomicLong();
+	private AtomicLong pairs = new AtomicLong();
+
+	// One entry per thread ever scoring, so the scoring threads are expected to be reused across batches
+	private Queue<Worker> workers = new ConcurrentLinkedQueue<Worker>();
+	private ThreadLocal<Worker> worker = new ThreadLocal<Worker>() {
+		@Override
+		protected Worker initialValue() {
+			Worker worker = new Worker();
+			worker.name = Thread.currentThread().getName();
+			workers.add( worker );
+			return worker;
+		}
+	};
+
+	private ScheduledExecutorService reporter;
+	private long startNanos = -1;
+	private long lastNanos;
+	private long lastPairs;
+
+	public ProgressTracker( MetricsRegistry metrics ) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Add EFO cell lines to be scored against the given total number of CLO candidates.
+	 */
+	public void addWork( long lines, long candidates ) {
+		this.totalLines.addAndGet( lines );
+		this.totalCandidates.addAndGet( candidates );
+	}
+
+	/**
+	 * Start the clock and report every interval until {@link #stop()}, a non-positive interval only reports at the end.
+	 * Ignored if already started.
+	 */
+	public synchronized void start( long interval, TimeUnit unit ) {
+		if ( this.startNanos >= 0 )
+			return;
+		this.startNanos = System.nanoTime();
+		this.lastNanos = this.startNanos;
+		if ( interval <= 0 )
+			return;
+		this.reporter = Executors.newSingleThreadScheduledExecutor( new ThreadFactory() {
+			@Override
+			public Thread newThread( Runnable runnable ) {
+				Thread thread = new Thread( runnable, "progress-reporter" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		this.reporter.scheduleAtFixedRate( new Runnable() {
+			@Override
+			public void run() {
+				report();
+			}
+		}, interval, interval, unit );
+	}
+
+	/**
+	 * Stop the periodic report and log the final one.
+	 */
+	public synchronized void stop() {
+		if ( this.reporter != null ) {
+			this.reporter.shutdownNow();
+			this.reporter = null;
+		}
+		if ( this.startNanos >= 0 )
+			this.report();
+	}
+
+	public void beginLine() {
+		this.worker.get().activeSince = System.nanoTime();
+	}
+
+	/**
+	 * @param candidates CLO candidates visited since the last call, including the skipped ones
+	 * @param pairs EFO-CLO pairs scored since the last call
+	 */
+	public void progress( long candidates, long pairs ) {
+		this.visitedCandidates.addAndGet( candidates );
+		this.pairs.addAndGet( pairs );
+	}
+
+	public void endLine( long candidates, long pairs ) {
+		this.progress( candidates, pairs );
+		this.completedLines.incrementAndGet();
+		Worker worker = this.worker.get();
+		worker.busyNanos.addAndGet( System.nanoTime() - worker.activeSince );
+		worker.activeSince = 0;
+	}
+
+	/**
+	 * @return the number of EFO cell lines scored so far
+	 */
+	public long getCompletedLines() {
+		return this.completedLines.get();
+	}
+
+	/**
+	 * @return the number of EFO-CLO pairs scored so far
+	 */
+	public long getPairs() {
+		return this.pairs.get();
+	}
+
+	synchronized void report() {
+		long now = System.nanoTime();
+		long elapsed = Math.max( now - this.startNanos, 1 );
+		long window = Math.max( now - this.lastNanos, 1 );
+		long pairs = this.pairs.get();
+		long visited = this.visitedCandidates.get();
+		long total = this.totalCandidates.get();
+
+		double rate = ( pairs - this.lastPairs ) * 1e9 / window;
+		double overallRate = pairs * 1e9 / elapsed;
+		double fraction = total > 0 ? Math.min( (double) visited / total, 1.0 ) : 0.0;
+		long eta = visited > 0 ? (long) ( ( total - visited ) * ( (double) elapsed / visited ) ) : -1;
+
+		double utilizationSum = 0.0;
+		double utilizationMin = 1.0;
+		int threads = 0;
+		for ( Worker worker : this.workers ) {
+			long activeSince = worker.activeSince;
+			long busy = worker.busyNanos.get() + ( activeSince > 0 ? now - activeSince : 0 );
+			double utilization = Math.max( 0.0, Math.min( (double) ( busy - worker.lastBusyNanos ) / window, 1.0 ) );
+			worker.lastBusyNanos = busy;
+			utilizationSum += utilization;
+			utilizationMin = Math.min( utilizationMin, utilization );
+			threads ++;
+			this.metrics.gauge( "progress.utilization." + worker.name ).set( utilization );
+			logger.debug( "Thread {} utilization {}%", worker.name, Math.round( utilization * 100 ) );
+		}
+		double utilization = threads > 0 ? utilizationSum / threads : 0.0;
+		if ( threads == 0 )
+			utilizationMin = 0.0;
+
+		this.lastNanos = now;
+		this.lastPairs = pairs;
+
+		this.metrics.gauge( "progress.efoCellLines.completed" ).set( this.completedLines.get() );
+		this.metrics.gauge( "progress.efoCellLines.total" ).set( this.totalLines.get() );
+		this.metrics.gauge( "progress.pairs" ).set( pairs );
+		this.metrics.gauge( "progress.fraction" ).set( fraction );
+		this.metrics.gauge( "progress.pairsPerSecond" ).set( rate );
+		this.metrics.gauge( "progress.etaSeconds" ).set( eta >= 0 ? eta / 1e9 : -1 );
+		this.metrics.gauge( "progress.utilization" ).set( utilization );
+
+		if ( logger.isInfoEnabled() )
+			logger.info( "Progress: {}/{} EFO cell lines, {} pairs ({}%), {} pairs/s ({} overall), elapsed {}, ETA {}, {} threads {}% utilized (min {}%)",
+					this.completedLines.get(), this.totalLines.get(), pairs, Math.round( fraction * 1000 ) / 10.0, Math.round( rate ), Math.round( overallRate ),
+					formatDuration( elapsed ), eta >= 0 ? formatDuration( eta ) : "unknown",
+					threads, Math.round( utilization * 100 ), Math.round( utilizationMin * 100 ) );
+	}
+
+	static String formatDuration( long nanos ) {
+		long seconds = TimeUnit.NANOSECONDS.toSeconds( nanos );
+		return String.format( "%d:%02d:%02d", seconds / 3600, ( seconds / 60 ) % 60, seconds % 60 );
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * @file Timer.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count and duration distribution of a timed phase, in nanoseconds.
+ */
+public class Timer {
+
+	private Histogram durations = new Histogram();
+
+	public Context time() {
+		return new Context( this );
+	}
+
+	public void update( long duration, TimeUnit unit ) {
+		this.durations.update( unit.toNanos( duration ) );
+	}
+
+	/**
+	 * @return the durations in nanoseconds
+	 */
+	public Histogram getDurations() {
+		return this.durations;
+	}
+
+	/**
+	 * Running measurement of one timed call.
+	 */
+	public static class Context {
+
+		private Timer timer;
+		private long start = System.nanoTime();
+
+		Context( Timer timer ) {
+			this.timer = timer;
+		}
+
+		/**
+		 * @return the elapsed nanoseconds
+		 */
+		public long stop() {
+			long elapsed = System.nanoTime() - this.start;
+			this.timer.update( elapsed, TimeUnit.NANOSECONDS );
+			return elapsed;
+		}
+	}
+}
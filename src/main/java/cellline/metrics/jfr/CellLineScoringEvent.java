@@ -0,0 +1,49 @@
+/**
+ * @file CellLineScoringEvent.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import cellline.metrics.PipelineEvents;
+
+@Name( "cellline.CellLineScoring" )
+@Label( "EFO Cell Line Scoring" )
+@Description( "Scoring of one EFO cell line against its CLO candidates" )
+@Category( { "Cell Line Mapping", "Scoring" } )
+class CellLineScoringEvent extends Event implements PipelineEvents.ScoringSpan {
+
+	@Label( "EFO Accession" )
+	String efoAccession;
+
+	@Label( "Candidates" )
+	@Description( "CLO cell lines scored" )
+	int candidates;
+
+	@Label( "Has Match" )
+	boolean hasMatch;
+
+	@Label( "Best Score" )
+	@Description( "Score of the best suggested CLO cell line, meaningless without a match" )
+	int bestScore;
+
+	@Override
+	public void end( int candidates, Integer bestScore ) {
+		this.end();
+		if ( this.shouldCommit() ) {
+			this.candidates = candidates;
+			this.hasMatch = bestScore != null;
+			if ( bestScore != null )
+				this.bestScore = bestScore;
+			this.commit();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * @file DiseaseCheckEvent.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import cellline.metrics.PipelineEvents;
+
+@Name( "cellline.DiseaseCheck" )
+@Label( "Disease Semantic Check" )
+@Description( "DOID and EFO subclass check of a disease pair not answered by the match cache" )
+@Category( { "Cell Line Mapping", "Scoring" } )
+class DiseaseCheckEvent extends Event implements PipelineEvents.DiseaseCheckSpan {
+
+	@Label( "Source Accession" )
+	String sourceAccession;
+
+	@Label( "Target Accession" )
+	String targetAccession;
+
+	@Label( "Match" )
+	boolean match;
+
+	@Override
+	public void end( boolean match ) {
+		this.end();
+		if ( this.shouldCommit() ) {
+			this.match = match;
+			this.commit();
+		}
+	}
+}
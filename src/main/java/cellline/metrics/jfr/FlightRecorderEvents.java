@@ -0,0 +1,73 @@
+/**
+ * @file FlightRecorderEvents.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics.jfr;
+
+import jdk.jfr.EventType;
+
+import cellline.metrics.PipelineEvents;
+
+/**
+ * {@link PipelineEvents.Factory} creating JFR events, or null while no recording enables the event type.
+ * Only loaded by {@link PipelineEvents} after checking that jdk.jfr is present.
+ */
+public class FlightRecorderEvents implements PipelineEvents.Factory {
+
+	private final EventType ontologyLoad = EventType.getEventType( OntologyLoadEvent.class );
+	private final EventType parsePhase = EventType.getEventType( ParsePhaseEvent.class );
+	private final EventType cellLineScoring = EventType.getEventType( CellLineScoringEvent.class );
+	private final EventType diseaseCheck = EventType.getEventType( DiseaseCheckEvent.class );
+	private final EventType writerFlush = EventType.getEventType( WriterFlushEvent.class );
+
+	@Override
+	public PipelineEvents.Span ontologyLoad( String model, String source ) {
+		if ( !this.ontologyLoad.isEnabled() ) return null;
+		OntologyLoadEvent event = new OntologyLoadEvent();
+		event.model = model;
+		event.source = source;
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public PipelineEvents.Span parsePhase( String model, String phase ) {
+		if ( !this.parsePhase.isEnabled() ) return null;
+		ParsePhaseEvent event = new ParsePhaseEvent();
+		event.model = model;
+		event.phase = phase;
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public PipelineEvents.ScoringSpan cellLineScoring( String efoAccession ) {
+		if ( !this.cellLineScoring.isEnabled() ) return null;
+		CellLineScoringEvent event = new CellLineScoringEvent();
+		event.efoAccession = efoAccession;
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public PipelineEvents.DiseaseCheckSpan diseaseCheck( String sourceAccession, String targetAccession ) {
+		if ( !this.diseaseCheck.isEnabled() ) return null;
+		DiseaseCheckEvent event = new DiseaseCheckEvent();
+		event.sourceAccession = sourceAccession;
+		event.targetAccession = targetAccession;
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public PipelineEvents.Span writerFlush( String fileName ) {
+		if ( !this.writerFlush.isEnabled() ) return null;
+		WriterFlushEvent event = new WriterFlushEvent();
+		event.fileName = fileName;
+		event.begin();
+		return event;
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ * @file OntologyLoadEvent.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import cellline.metrics.PipelineEvents;
+
+@Name( "cellline.OntologyLoad" )
+@Label( "Ontology Load" )
+@Description( "Load of an ontology or the Cellosaurus text file, including the structural reasoner precomputation" )
+@Category( { "Cell Line Mapping", "Load" } )
+class OntologyLoadEvent extends Event implements PipelineEvents.Span {
+
+	@Label( "Model" )
+	String model;
+
+	@Label( "Source" )
+	String source;
+
+	@Label( "Loaded Items" )
+	@Description( "Axioms of the ontology or cell lines of Cellosaurus" )
+	long count;
+
+	@Override
+	public void end( long count ) {
+		this.end();
+		if ( this.shouldCommit() ) {
+			this.count = count;
+			this.commit();
+		}
+	}
+}
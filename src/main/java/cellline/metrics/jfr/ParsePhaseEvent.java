@@ -0,0 +1,41 @@
+/**
+ * @file ParsePhaseEvent.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import cellline.metrics.PipelineEvents;
+
+@Name( "cellline.ParsePhase" )
+@Label( "Parse Phase" )
+@Description( "One parse*FromOntology phase of an ontology model" )
+@Category( { "Cell Line Mapping", "Parse" } )
+class ParsePhaseEvent extends Event implements PipelineEvents.Span {
+
+	@Label( "Model" )
+	String model;
+
+	@Label( "Phase" )
+	String phase;
+
+	@Label( "Parsed Entities" )
+	long count;
+
+	@Override
+	public void end( long count ) {
+		this.end();
+		if ( this.shouldCommit() ) {
+			this.count = count;
+			this.commit();
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/**
+ * @file WriterFlushEvent.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import cellline.metrics.PipelineEvents;
+
+@Name( "cellline.WriterFlush" )
+@Label( "Mapping Writer Flush" )
+@Description( "Sort and write of the collected entries to a mapping output file" )
+@Category( { "Cell Line Mapping", "Output" } )
+class WriterFlushEvent extends Event implements PipelineEvents.Span {
+
+	@Label( "File Name" )
+	String fileName;
+
+	@Label( "Entries" )
+	long count;
+
+	@Override
+	public void end( long count ) {
+		this.end();
+		if ( this.shouldCommit() ) {
+			this.count = count;
+			this.commit();
+		}
+	}
+}
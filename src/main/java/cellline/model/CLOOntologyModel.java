@@ -9,11 +9,15 @@ package cellline.model;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,11 +29,13 @@ import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
-import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.search.EntitySearcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.PipelineEvents;
+import cellline.metrics.Timer;
 import cellline.object.CrossReference;
 import cellline.object.Disease;
 import cellline.object.EFOCellLine;
@@ -97,6 +103,12 @@ public class CLOOntologyModel extends OntologyModel {
 		this.parseCellLinesFromOntology();
 	}
 	
+	@Override
+	protected Set<String> getModuleSeedIris() {
+		return new HashSet<String>( Arrays.asList( CLO_CELL_LINE_IRI_STR, CLO_DOID_DISEASE_IRI_STR, CLO_EFO_DISEASE_IRI_STR,
+				CLO_ORGANISM_IRI_STR, CLO_ORGANISM_PART_IRI_STR, CLO_CELL_IRI_STR ) );
+	}
+	
 	@Override
 	public CrossReference parseCrossReference( String xRefString ) {
 		if ( xRefString.startsWith( "WEB") )
@@ -195,21 +207,30 @@ public class CLOOntologyModel extends OntologyModel {
 		return cellLines;
 	}
 
-	private void parseCellLinesFromOntology() {
-		NodeSet<OWLClass> cloCellLineNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( CLO_CELL_LINE_IRI_STR ) ), false );
+	public void parseCellLinesFromOntology() {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "clo.parse.cellLines" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "CLO", "cellLines" );
+		List<OWLClass> cloCellLineClasses = this.getSubClassList( CLO_CELL_LINE_IRI_STR );
+		this.organismClasses = this.getSubClassBits( CLO_ORGANISM_IRI_STR );
+		List<CLOCellLine> cloCellLines = this.parseClasses( cloCellLineClasses, new ClassParser<CLOCellLine>() {
+			public CLOCellLine parse( OWLClass cloCellLineClass ) {
+				Iterator<OWLAnnotation> labelIterator = EntitySearcher.getAnnotationObjects( cloCellLineClass.getIRI(), ontology, 
+						dataFactory.getOWLAnnotationProperty( IRI.create( OntologyModel.RDF_LABEL_IRI_STR ) ) ).iterator();
+				String cloCellLineLabel = labelIterator.next().getValue().asLiteral().get().getLiteral().toString();
+				// Category, not a cell line
+				if ( cloCellLineLabel.endsWith( "cell line cell" ) )
+					return null;
+				return parseCellLine( cloCellLineClass );
+			}
+		} );
 		
 		ArrayList<OWLClass> upperCellLineClasses = new ArrayList<OWLClass>(); //For Category
 		
-		for ( OWLClass cloCellLineClass : cloCellLineNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( cloCellLineClass.isOWLNothing() ) continue;
-			Iterator<OWLAnnotation> labelIterator = EntitySearcher.getAnnotationObjects( cloCellLineClass.getIRI(), this.ontology, 
-					this.dataFactory.getOWLAnnotationProperty( IRI.create( OntologyModel.RDF_LABEL_IRI_STR ) ) ).iterator();
-			String cloCellLineLabel = labelIterator.next().getValue().asLiteral().get().getLiteral().toString();
-			if ( cloCellLineLabel.endsWith( "cell line cell" ) ) {
-				upperCellLineClasses.add( cloCellLineClass );
+		for ( int i = 0; i < cloCellLineClasses.size(); i ++ ) {
+			CLOCellLine cellLine = cloCellLines.get( i );
+			if ( cellLine == null ) {
+				upperCellLineClasses.add( cloCellLineClasses.get( i ) );
 			} else {
-				CLOCellLine cellLine = this.parseCellLine( cloCellLineClass );
 				if ( new AccessionValidator().isValid( cellLine.getAccession() ) )
 					this.cellLines.put( cellLine.getAccession(), cellLine );
 				else
@@ -217,6 +238,8 @@ public class CLOOntologyModel extends OntologyModel {
 			}
 		}
 		logger.info( String.format( "Found %d cell lines in CLO ontology", this.cellLines.size() ) );
+		event.end( this.cellLines.size() );
+		context.stop();
 	}
 	
 	private CLOCellLine parseCellLine( OWLClass cellLineClass ) {
@@ -288,41 +311,30 @@ public class CLOOntologyModel extends OntologyModel {
 		}
 		
 		
-		Collection<OWLAxiom> axiomCollection = EntitySearcher.getReferencingAxioms( cellLineClass, this.ontology );
+		RelationIndex relations = this.getRelationIndex();
 		
 		// Disease
 		for ( String diseasePropertyIriString : CLO_DISEASE_PROPERTY_IRI_STR ) {
 			OWLObjectProperty diseaseBearer = this.dataFactory.getOWLObjectProperty( IRI.create( diseasePropertyIriString ) );
-			// Species
-			OWLClass organismClass = this.dataFactory.getOWLClass( IRI.create( CLO_ORGANISM_IRI_STR ) );
-			OWLObjectProperty derivesFrom = this.dataFactory.getOWLObjectProperty( IRI.create( CLO_DERIVES_FROM_IRI_STR ) );
-			for ( OWLAxiom axiom : axiomCollection ) {
-				if ( axiom.containsEntityInSignature( diseaseBearer ) ) {
-					Set<OWLClass> diseasesClassSet = axiom.getClassesInSignature();
-					for ( OWLClass diseaseClass : diseasesClassSet ) {
-						String diseaseAccession = this.parseAccessionFromIRI( diseaseClass.getIRI().toString() );
-						if ( this.diseases.containsKey( diseaseAccession ) ) {
-							cellLine.addDisease( this.diseases.get( diseaseAccession ) );
-						}
-					}
-				}
-				if ( axiom.containsEntityInSignature( derivesFrom ) ) {
-					Set<OWLClass> derivesFromClassSet = axiom.getClassesInSignature();
-					for ( OWLClass derivesFromClass : derivesFromClassSet ) {
-						for ( OWLClass tmpClass : this.reasoner.getSuperClasses( derivesFromClass, false ).getFlattened() ) {
-							if ( tmpClass.equals( organismClass ) ) cellLine.addSpecies( this.parseSpecies( derivesFromClass ) );
-						}
-						String classAccession = this.parseAccessionFromIRI( derivesFromClass.getIRI().toString() );
-						// Organism Parts
-						if ( this.organismParts.containsKey( classAccession ) )
-							cellLine.addOrganismPart( this.organismParts.get( classAccession ) );
-						// Cell Types
-						if ( this.cellTypes.containsKey( classAccession ) ) 
-							cellLine.addCellType( this.cellTypes.get( classAccession ) );
-					}
+			for ( OWLClass diseaseClass : relations.getFillers( cellLineClass, diseaseBearer ) ) {
+				String diseaseAccession = this.parseAccessionFromIRI( diseaseClass.getIRI().toString() );
+				if ( this.diseases.containsKey( diseaseAccession ) ) {
+					cellLine.addDisease( this.diseases.get( diseaseAccession ) );
 				}
 			}
 		}
+		// Species
+		OWLObjectProperty derivesFrom = this.dataFactory.getOWLObjectProperty( IRI.create( CLO_DERIVES_FROM_IRI_STR ) );
+		for ( OWLClass derivesFromClass : relations.getFillers( cellLineClass, derivesFrom ) ) {
+			if ( this.isOrganism( derivesFromClass ) ) cellLine.addSpecies( this.getSpecies( derivesFromClass ) );
+			String classAccession = this.parseAccessionFromIRI( derivesFromClass.getIRI().toString() );
+			// Organism Parts
+			if ( this.organismParts.containsKey( classAccession ) )
+				cellLine.addOrganismPart( this.organismParts.get( classAccession ) );
+			// Cell Types
+			if ( this.cellTypes.containsKey( classAccession ) ) 
+				cellLine.addCellType( this.cellTypes.get( classAccession ) );
+		}
 		
 		return cellLine;
 	}
@@ -343,18 +355,31 @@ public class CLOOntologyModel extends OntologyModel {
 	
 	// Diseases
 	private HashMap<String, Disease> diseases = new HashMap<String, Disease>();
+	/**
+	 * @return the diseases
+	 */
+	public HashMap<String, Disease> getDiseases() {
+		return diseases;
+	}
 	private HashMap<String, IRI> diseaseIriMap = new HashMap<String, IRI>();
 	private HashMap<String, String> diseaseOrganismPartMap = new HashMap<String, String>();
 	
 	public void parseDiseasesFromOntology() {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "clo.parse.diseases" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "CLO", "diseases" );
 		//OWLObjectProperty hasDiseaseLocation = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_HAS_DISEASE_LOCATION_IRI_STR ) );
 		//OWLObjectProperty occurIn = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_OCCURS_IN_IRI_STR ) );
-		NodeSet<OWLClass> cloDiseaseNodeSet;
-		cloDiseaseNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( CLO_DOID_DISEASE_IRI_STR ) ), false );
-		for ( OWLClass cloDiseaseClass : cloDiseaseNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( cloDiseaseClass.isOWLNothing() ) continue;
-			Disease disease = this.parseDisease( cloDiseaseClass );
+		ClassParser<Disease> diseaseParser = new ClassParser<Disease>() {
+			public Disease parse( OWLClass cloDiseaseClass ) {
+				return parseDisease( cloDiseaseClass );
+			}
+		};
+		List<OWLClass> cloDiseaseClasses;
+		List<Disease> cloDiseases;
+		cloDiseaseClasses = this.getSubClassList( CLO_DOID_DISEASE_IRI_STR );
+		cloDiseases = this.parseClasses( cloDiseaseClasses, diseaseParser );
+		for ( int i = 0; i < cloDiseaseClasses.size(); i ++ ) {
+			Disease disease = cloDiseases.get( i );
 			
 			/* TODO Add organism parts from the disease axiom
 			Collection<OWLAxiom> axiomCollection = EntitySearcher.getReferencingAxioms( cloDiseaseClass, this.ontology );
@@ -372,14 +397,13 @@ public class CLOOntologyModel extends OntologyModel {
 			*/
 			
 			this.diseases.put( disease.getAccession(), disease );
-			this.diseaseIriMap.put( disease.getAccession(), cloDiseaseClass.getIRI() );
+			this.diseaseIriMap.put( disease.getAccession(), cloDiseaseClasses.get( i ).getIRI() );
 		}
 		
-		cloDiseaseNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( CLO_EFO_DISEASE_IRI_STR ) ), false );
-		for ( OWLClass cloDiseaseClass : cloDiseaseNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( cloDiseaseClass.isOWLNothing() ) continue;
-			Disease disease = this.parseDisease( cloDiseaseClass );
+		cloDiseaseClasses = this.getSubClassList( CLO_EFO_DISEASE_IRI_STR );
+		cloDiseases = this.parseClasses( cloDiseaseClasses, diseaseParser );
+		for ( int i = 0; i < cloDiseaseClasses.size(); i ++ ) {
+			Disease disease = cloDiseases.get( i );
 			
 			/* TODO Add organism parts from the disease axiom
 			Collection<OWLAxiom> axiomCollection = EntitySearcher.getReferencingAxioms( cloDiseaseClass, this.ontology );
@@ -397,8 +421,10 @@ public class CLOOntologyModel extends OntologyModel {
 			*/
 			
 			this.diseases.put( disease.getAccession(), disease );
-			this.diseaseIriMap.put( disease.getAccession(), cloDiseaseClass.getIRI() );
+			this.diseaseIriMap.put( disease.getAccession(), cloDiseaseClasses.get( i ).getIRI() );
 		}
+		event.end( this.diseases.size() );
+		context.stop();
 	}
 	
 	private Disease parseDisease( OWLClass diseaseClass ) {
@@ -498,16 +524,23 @@ public class CLOOntologyModel extends OntologyModel {
 	private HashMap<String, IRI> cellTypeIriMap = new HashMap<String, IRI>();
 	
 	public void parseCellTypesFromOntology() {
-		NodeSet<OWLClass> efoCellTypeNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( CLO_CELL_IRI_STR ) ), false );
-		for ( OWLClass efoCellTypeClass : efoCellTypeNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( efoCellTypeClass.isOWLNothing() ) continue;
-			CellType cellType = this.parseCellType( efoCellTypeClass );
+		Timer.Context context = MetricsRegistry.getDefault().timer( "clo.parse.cellTypes" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "CLO", "cellTypes" );
+		List<OWLClass> cloCellTypeClasses = this.getSubClassList( CLO_CELL_IRI_STR );
+		List<CellType> cloCellTypes = this.parseClasses( cloCellTypeClasses, new ClassParser<CellType>() {
+			public CellType parse( OWLClass cloCellTypeClass ) {
+				return parseCellType( cloCellTypeClass );
+			}
+		} );
+		for ( int i = 0; i < cloCellTypeClasses.size(); i ++ ) {
+			CellType cellType = cloCellTypes.get( i );
 			if ( cellType.getDatabase().equalsIgnoreCase( "CL" ) ) {
 				this.cellTypes.put( cellType.getAccession(), cellType );
-				this.cellTypeIriMap.put( cellType.getAccession(), efoCellTypeClass.getIRI() );
+				this.cellTypeIriMap.put( cellType.getAccession(), cloCellTypeClasses.get( i ).getIRI() );
 			}
 		}
+		event.end( this.cellTypes.size() );
+		context.stop();
 	}
 	
 	private CellType parseCellType( OWLClass cellTypeClass ) {
@@ -583,14 +616,21 @@ public class CLOOntologyModel extends OntologyModel {
 	private HashMap<String, IRI> organismPartIriMap = new HashMap<String, IRI>();
 	
 	public void parseOrganismPartsFromOntology() {
-		NodeSet<OWLClass> efoOrganismPartNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( CLO_ORGANISM_PART_IRI_STR ) ), false );
-		for ( OWLClass efoOrganismPartClass : efoOrganismPartNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( efoOrganismPartClass.isOWLNothing() ) continue;
-			OrganismPart organismPart = this.parseOrganismPart( efoOrganismPartClass );
+		Timer.Context context = MetricsRegistry.getDefault().timer( "clo.parse.organismParts" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "CLO", "organismParts" );
+		List<OWLClass> cloOrganismPartClasses = this.getSubClassList( CLO_ORGANISM_PART_IRI_STR );
+		List<OrganismPart> cloOrganismParts = this.parseClasses( cloOrganismPartClasses, new ClassParser<OrganismPart>() {
+			public OrganismPart parse( OWLClass cloOrganismPartClass ) {
+				return parseOrganismPart( cloOrganismPartClass );
+			}
+		} );
+		for ( int i = 0; i < cloOrganismPartClasses.size(); i ++ ) {
+			OrganismPart organismPart = cloOrganismParts.get( i );
 			this.organismParts.put( organismPart.getAccession(), organismPart );
-			this.organismPartIriMap.put( organismPart.getAccession(), efoOrganismPartClass.getIRI() );
+			this.organismPartIriMap.put( organismPart.getAccession(), cloOrganismPartClasses.get( i ).getIRI() );
 		}
+		event.end( this.organismParts.size() );
+		context.stop();
 	}
 	
 	private OrganismPart parseOrganismPart( OWLClass organismPartClass ) {
@@ -675,6 +715,33 @@ public class CLOOntologyModel extends OntologyModel {
 	}
 	
 	// Species
+	private BitSet organismClasses = new BitSet();
+	private ConcurrentHashMap<String, Species> species = new ConcurrentHashMap<String, Species>();
+	
+	/**
+	 * @return whether the class is under the organism class, looked up in the bits computed before the cell
+	 * lines are parsed
+	 */
+	private boolean isOrganism( OWLClass owlClass ) {
+		int id = this.getClassId( owlClass );
+		return id >= 0 && this.organismClasses.get( id );
+	}
+	
+	/**
+	 * @return the species of the class, parsed once and shared by all cell lines derived from it
+	 */
+	private Species getSpecies( OWLClass speciesClass ) {
+		String iri = speciesClass.getIRI().toString();
+		Species species = this.species.get( iri );
+		if ( species == null ) {
+			species = this.parseSpecies( speciesClass );
+			Species previous = this.species.putIfAbsent( iri, species );
+			if ( previous != null )
+				species = previous;
+		}
+		return species;
+	}
+	
 	private Species parseSpecies( OWLClass speciesClass ) {
 		Species species = new Species();
 		
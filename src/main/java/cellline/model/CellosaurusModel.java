@@ -23,6 +23,9 @@ import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.PipelineEvents;
+import cellline.metrics.Timer;
 import cellline.object.CLOCellLine;
 import cellline.object.CellosaurusCellLine;
 import cellline.object.CrossReference;
@@ -51,6 +54,8 @@ public class CellosaurusModel {
 	}
 	
 	public void loadFromFile( File cellosaurusFile ) {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "load.CellosaurusModel" ).time();
+		PipelineEvents.Span event = PipelineEvents.ontologyLoad( "CellosaurusModel", cellosaurusFile.getAbsolutePath() );
 		logger.info( "Reading Cellosaurus from text file: " + cellosaurusFile.getAbsolutePath() );
 		BufferedReader buffer = null;
 		ArrayList <String> lines = new ArrayList <String> ();
@@ -86,6 +91,8 @@ public class CellosaurusModel {
 				logger.error( "", ex );
 			}
 		}
+		event.end( this.cellLines.size() );
+		context.stop();
 	}
 	
  	private CellosaurusCellLine parseCellLine( ArrayList<String> lines ) {
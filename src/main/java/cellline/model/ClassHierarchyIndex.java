@@ -0,0 +1,128 @@
+/**
+ * @file ClassHierarchyIndex.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+/**
+ * Direct subclass relations of an ontology extracted from its reasoner, so that the OWLAPI ontology and
+ * reasoner can be released. Classes are keyed by IRI string and their direct super classes are kept as
+ * sorted int ids in one contiguous array, [offsets[id], offsets[id + 1]).
+ */
+public class ClassHierarchyIndex {
+
+	private static final String THING_IRI_STR = OWLRDFVocabulary.OWL_THING.getIRI().toString();
+	private static final String NOTHING_IRI_STR = OWLRDFVocabulary.OWL_NOTHING.getIRI().toString();
+
+	private HashMap<String, Integer> ids = new HashMap<String, Integer>();
+	private int[] offsets;
+	private int[] parents;
+	private int thingId;
+	private int nothingId;
+
+	public ClassHierarchyIndex( OWLOntology ontology, OWLReasoner reasoner ) {
+		List<OWLClass> classes = new ArrayList<OWLClass>( ontology.getClassesInSignature( Imports.INCLUDED ) );
+		for ( OWLClass owlClass : classes )
+			this.getId( owlClass.getIRI().toString() );
+		int classCount = classes.size();
+
+		List<int[]> superClassIds = new ArrayList<int[]>( classCount );
+		int size = 0;
+		for ( OWLClass owlClass : classes ) {
+			List<OWLClass> superClasses = new ArrayList<OWLClass>( reasoner.getSuperClasses( owlClass, true ).getFlattened() );
+			int[] superIds = new int[superClasses.size()];
+			for ( int i = 0; i < superIds.length; i ++ )
+				superIds[i] = this.getId( superClasses.get( i ).getIRI().toString() );
+			Arrays.sort( superIds );
+			superClassIds.add( superIds );
+			size += superIds.length;
+		}
+		this.thingId = this.getId( THING_IRI_STR );
+		this.nothingId = this.getId( NOTHING_IRI_STR );
+
+		// Super classes outside the signature have no parents of their own
+		this.offsets = new int[this.ids.size() + 1];
+		this.parents = new int[size];
+		int offset = 0;
+		for ( int id = 0; id < this.ids.size(); id ++ ) {
+			this.offsets[id] = offset;
+			if ( id < classCount ) {
+				int[] superIds = superClassIds.get( id );
+				System.arraycopy( superIds, 0, this.parents, offset, superIds.length );
+				offset += superIds.length;
+			}
+		}
+		this.offsets[this.ids.size()] = offset;
+	}
+
+	private int getId( String iri ) {
+		Integer id = this.ids.get( iri );
+		if ( id == null ) {
+			id = this.ids.size();
+			this.ids.put( iri, id );
+		}
+		return id;
+	}
+
+	/**
+	 * @return the number of classes
+	 */
+	public int getClassCount() {
+		return this.ids.size();
+	}
+
+	/**
+	 * @return whether the target is a direct super class of the source
+	 */
+	public boolean isDirectSubClassOf( String sourceIri, String targetIri ) {
+		Integer source = this.ids.get( sourceIri );
+		Integer target = this.ids.get( targetIri );
+		if ( source == null || target == null )
+			return false;
+		return Arrays.binarySearch( this.parents, this.offsets[source], this.offsets[source + 1], target ) >= 0;
+	}
+
+	/**
+	 * @param excludeIri parent not to count, may be null
+	 * @return whether the classes share a direct super class other than owl:Thing and owl:Nothing
+	 */
+	public boolean hasSameParent( String sourceIri, String targetIri, String excludeIri ) {
+		Integer source = this.ids.get( sourceIri );
+		Integer target = this.ids.get( targetIri );
+		if ( source == null || target == null )
+			return false;
+		Integer exclude = excludeIri == null ? null : this.ids.get( excludeIri );
+		int i = this.offsets[source];
+		int sourceEnd = this.offsets[source + 1];
+		int j = this.offsets[target];
+		int targetEnd = this.offsets[target + 1];
+		while ( i < sourceEnd && j < targetEnd ) {
+			if ( this.parents[i] < this.parents[j] )
+				i ++;
+			else if ( this.parents[i] > this.parents[j] )
+				j ++;
+			else {
+				int parent = this.parents[i];
+				if ( parent != this.thingId && parent != this.nothingId && ( exclude == null || parent != exclude ) )
+					return true;
+				i ++;
+				j ++;
+			}
+		}
+		return false;
+	}
+}
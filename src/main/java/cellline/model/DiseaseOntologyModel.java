@@ -14,6 +14,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -57,6 +58,9 @@ import org.semanticweb.owlapi.util.OWLClassExpressionCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.PipelineEvents;
+import cellline.metrics.Timer;
 import cellline.object.CrossReference;
 import cellline.object.Disease;
 import cellline.object.OrganismPart;
@@ -101,13 +105,26 @@ public class DiseaseOntologyModel extends OntologyModel {
 	}
 	
 	public DiseaseOntologyModel( File doidFile ) {
+		this( doidFile, true );
+	}
+	
+	/**
+	 * @param parse false to only load the ontology, leaving parseDiseasesFromOntology() to the caller
+	 */
+	public DiseaseOntologyModel( File doidFile, boolean parse ) {
 		super();
 		this.fileName = "doid";
 		logger.info( "Loading disease ontology: " + this.fileName.toUpperCase() );
 		this.loadFromFile( doidFile );
 		//TODO parse organism parts
 		//this.parseOrganismPartsFromOntology();
-		this.parseDiseasesFromOntology();
+		if ( parse )
+			this.parseDiseasesFromOntology();
+	}
+	
+	@Override
+	protected Set<String> getModuleSeedIris() {
+		return new HashSet<String>( Arrays.asList( DOID_DISEASE_IRI_STR, DOID_ORGANISM_PART_IRI_STR ) );
 	}
 	
 	@Override
@@ -130,10 +147,18 @@ public class DiseaseOntologyModel extends OntologyModel {
 	
 	// Diseases
 	private HashMap<String, Disease> diseases = new HashMap<String, Disease>();
+	/**
+	 * @return the diseases
+	 */
+	public HashMap<String, Disease> getDiseases() {
+		return diseases;
+	}
 	private HashMap<String, IRI> diseaseIriMap = new HashMap<String, IRI>();
 	private HashMap<String, String> diseaseOrganismPartMap = new HashMap<String, String>();
 	
-	private void parseDiseasesFromOntology() {
+	public void parseDiseasesFromOntology() {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "doid.parse.diseases" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "DOID", "diseases" );
 		OWLObjectProperty hasDiseaseLocation = this.dataFactory.getOWLObjectProperty( IRI.create( DOID_ORGANISM_PART_IRI_STR ) );
 		OWLObjectProperty locatedIn = this.dataFactory.getOWLObjectProperty( IRI.create( DOID_LOCATED_IN_IRI_STR ) );
 		NodeSet<OWLClass> diseaseNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( DOID_DISEASE_IRI_STR ) ), false );
@@ -160,6 +185,8 @@ public class DiseaseOntologyModel extends OntologyModel {
 			this.diseases.put( disease.getAccession(), disease );
 			this.diseaseIriMap.put( disease.getAccession(), diseaseClass.getIRI() );
 		}
+		event.end( this.diseases.size() );
+		context.stop();
 	}
 	
 	private Disease parseDisease( OWLClass diseaseClass ) {
@@ -255,6 +282,8 @@ public class DiseaseOntologyModel extends OntologyModel {
 	private HashMap<String, IRI> organismPartIriMap = new HashMap<String, IRI>();
 	
 	public void parseOrganismPartsFromOntology() {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "doid.parse.organismParts" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "DOID", "organismParts" );
 		NodeSet<OWLClass> efoOrganismPartNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( DOID_ORGANISM_PART_IRI_STR ) ), false );
 		for ( OWLClass efoOrganismPartClass : efoOrganismPartNodeSet.getFlattened() ) {
 			// Ignore OWL:Nothing
@@ -263,6 +292,8 @@ public class DiseaseOntologyModel extends OntologyModel {
 			this.organismParts.put( organismPart.getAccession(), organismPart );
 			this.organismPartIriMap.put( organismPart.getAccession(), efoOrganismPartClass.getIRI() );
 		}
+		event.end( this.organismParts.size() );
+		context.stop();
 	}
 	
 	private OrganismPart parseOrganismPart( OWLClass organismPartClass ) {
@@ -8,12 +8,19 @@
 package cellline.model;
 
 import java.io.File;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,11 +29,9 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationValue;
-import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
-import org.semanticweb.owlapi.reasoner.NodeSet;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
 import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
@@ -34,6 +39,9 @@ import org.semanticweb.owlapi.search.EntitySearcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.PipelineEvents;
+import cellline.metrics.Timer;
 import cellline.object.CellType;
 import cellline.object.CrossReference;
 import cellline.object.Disease;
@@ -97,6 +105,12 @@ public class EFOOntologyModel extends OntologyModel {
 		this.parseCellLinesFromOntology();
 	}
 	
+	@Override
+	protected Set<String> getModuleSeedIris() {
+		return new HashSet<String>( Arrays.asList( EFO_CELL_LINE_IRI_STR, EFO_DISEASE_IRI_STR, EFO_ORGANISM_PART_IRI_STR,
+				EFO_ORGANISM_IRI_STR, EFO_CELLTYPE_IRI_STR ) );
+	}
+	
 	@Override
 	public CrossReference parseCrossReference( String xRefString ) {
 		Pattern pattern;
@@ -183,21 +197,30 @@ public class EFOOntologyModel extends OntologyModel {
 		return cellLines;
 	}
 	
-	private void parseCellLinesFromOntology() {
-		NodeSet<OWLClass> efoCellLineNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( EFO_CELL_LINE_IRI_STR ) ), false );
+	public void parseCellLinesFromOntology() {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "efo.parse.cellLines" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "EFO", "cellLines" );
+		List<OWLClass> efoCellLineClasses = this.getSubClassList( EFO_CELL_LINE_IRI_STR );
+		this.organismClasses = this.getSubClassBits( EFO_ORGANISM_IRI_STR );
+		List<EFOCellLine> efoCellLines = this.parseClasses( efoCellLineClasses, new ClassParser<EFOCellLine>() {
+			public EFOCellLine parse( OWLClass efoCellLineClass ) {
+				Iterator<OWLAnnotation> labelIterator = EntitySearcher.getAnnotationObjects( efoCellLineClass.getIRI(), ontology, 
+						dataFactory.getOWLAnnotationProperty( IRI.create( OntologyModel.RDF_LABEL_IRI_STR ) ) ).iterator();
+				String efoCellLineLabel = labelIterator.next().getValue().asLiteral().get().getLiteral().toString();
+				// Category, not a cell line
+				if ( efoCellLineLabel.endsWith( "cell line" ) )
+					return null;
+				return parseCellLine( efoCellLineClass );
+			}
+		} );
 		
 		ArrayList<OWLClass> upperCellLineClasses = new ArrayList<OWLClass>(); //For Category
 		
-		for ( OWLClass efoCellLineClass : efoCellLineNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( efoCellLineClass.isOWLNothing() ) continue;
-			Iterator<OWLAnnotation> labelIterator = EntitySearcher.getAnnotationObjects( efoCellLineClass.getIRI(), this.ontology, 
-					this.dataFactory.getOWLAnnotationProperty( IRI.create( OntologyModel.RDF_LABEL_IRI_STR ) ) ).iterator();
-			String efoCellLineLabel = labelIterator.next().getValue().asLiteral().get().getLiteral().toString();
-			if ( efoCellLineLabel.endsWith( "cell line" ) ) {
-				upperCellLineClasses.add( efoCellLineClass );
+		for ( int i = 0; i < efoCellLineClasses.size(); i ++ ) {
+			EFOCellLine cellLine = efoCellLines.get( i );
+			if ( cellLine == null ) {
+				upperCellLineClasses.add( efoCellLineClasses.get( i ) );
 			} else {
-				EFOCellLine cellLine = this.parseCellLine( efoCellLineClass );
 				if ( new AccessionValidator().isValid( cellLine.getAccession() ) )
 					this.cellLines.put( cellLine.getAccession(), cellLine );
 				else
@@ -205,6 +228,8 @@ public class EFOOntologyModel extends OntologyModel {
 			}
 		}
 		logger.info( String.format( "Found %d cell lines in EFO ontology", this.cellLines.size() ) );
+		event.end( this.cellLines.size() );
+		context.stop();
 	}
 	
 	private EFOCellLine parseCellLine( OWLClass cellLineClass ) {
@@ -260,38 +285,27 @@ public class EFOOntologyModel extends OntologyModel {
 			}
 		}
 		
-		Collection<OWLAxiom> axiomCollection = EntitySearcher.getReferencingAxioms( cellLineClass, this.ontology );
+		RelationIndex relations = this.getRelationIndex();
 		
 		// Disease
 		OWLObjectProperty diseaseBearer = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_DISEASE_BEARER_OF_IRI_STR ) );
+		for ( OWLClass diseaseClass : relations.getFillers( cellLineClass, diseaseBearer ) ) {
+			String diseaseAccession = this.parseAccessionFromIRI( diseaseClass.getIRI().toString() );
+			if ( this.diseases.containsKey( diseaseAccession ) ) {
+				cellLine.addDisease( this.diseases.get( diseaseAccession ) );
+			}
+		}
 		// Species
-		OWLClass organismClass = this.dataFactory.getOWLClass( IRI.create( EFO_ORGANISM_IRI_STR ) );
 		OWLObjectProperty derivesFrom = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_DERIVES_FROM_IRI_STR ) );
-		for ( OWLAxiom axiom : axiomCollection ) {
-			if ( axiom.containsEntityInSignature( diseaseBearer ) ) {
-				Set<OWLClass> diseasesClassSet = axiom.getClassesInSignature();
-				for ( OWLClass diseaseClass : diseasesClassSet ) {
-					String diseaseAccession = this.parseAccessionFromIRI( diseaseClass.getIRI().toString() );
-					if ( this.diseases.containsKey( diseaseAccession ) ) {
-						cellLine.addDisease( this.diseases.get( diseaseAccession ) );
-					}
-				}
-			}
-			if ( axiom.containsEntityInSignature( derivesFrom ) ) {
-				Set<OWLClass> derivesFromClassSet = axiom.getClassesInSignature();
-				for ( OWLClass derivesFromClass : derivesFromClassSet ) {
-					for ( OWLClass tmpClass : this.reasoner.getSuperClasses( derivesFromClass, false ).getFlattened() ) {
-						if ( tmpClass.equals( organismClass ) ) cellLine.addSpecies( this.parseSpecies( derivesFromClass ) );
-					}
-					String classAccession = this.parseAccessionFromIRI( derivesFromClass.getIRI().toString() );
-					// Organism Parts
-					if ( this.organismParts.containsKey( classAccession ) )
-						cellLine.addOrganismPart( this.organismParts.get( classAccession ) );
-					// Cell Type
-					if ( this.cellTypes.containsKey( classAccession ) )
-						cellLine.addCellType( this.cellTypes.get( classAccession ) );
-				}
-			}
+		for ( OWLClass derivesFromClass : relations.getFillers( cellLineClass, derivesFrom ) ) {
+			if ( this.isOrganism( derivesFromClass ) ) cellLine.addSpecies( this.getSpecies( derivesFromClass ) );
+			String classAccession = this.parseAccessionFromIRI( derivesFromClass.getIRI().toString() );
+			// Organism Parts
+			if ( this.organismParts.containsKey( classAccession ) )
+				cellLine.addOrganismPart( this.organismParts.get( classAccession ) );
+			// Cell Type
+			if ( this.cellTypes.containsKey( classAccession ) )
+				cellLine.addCellType( this.cellTypes.get( classAccession ) );
 		}
 		
 		return cellLine;
@@ -313,34 +327,47 @@ public class EFOOntologyModel extends OntologyModel {
 	
 	// Diseases
 	private HashMap<String, Disease> diseases = new HashMap<String, Disease>();
+	/**
+	 * @return the diseases
+	 */
+	public HashMap<String, Disease> getDiseases() {
+		return diseases;
+	}
 	private HashMap<String, IRI> diseaseIriMap = new HashMap<String, IRI>();
 	private HashMap<String, String> diseaseOrganismPartMap = new HashMap<String, String>();
 	
 	public void parseDiseasesFromOntology() {
-		OWLObjectProperty hasDiseaseLocation = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_HAS_DISEASE_LOCATION_IRI_STR ) );
-		OWLObjectProperty occurIn = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_OCCURS_IN_IRI_STR ) );
-		NodeSet<OWLClass> efoDiseaseNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( EFO_DISEASE_IRI_STR ) ), false );
-		for ( OWLClass efoDiseaseClass : efoDiseaseNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( efoDiseaseClass.isOWLNothing() ) continue;
-			Disease disease = this.parseDisease( efoDiseaseClass );
-			
-			Collection<OWLAxiom> axiomCollection = EntitySearcher.getReferencingAxioms( efoDiseaseClass, this.ontology );
-			for ( OWLAxiom axiom : axiomCollection ) {
-				if ( axiom.containsEntityInSignature( hasDiseaseLocation ) || axiom.containsEntityInSignature( occurIn ) ) {
-					Set<OWLClass> organismPartClassSet = axiom.getClassesInSignature();
-					for ( OWLClass organismPartClass : organismPartClassSet ) {
-						String organismPartAccession = this.parseAccessionFromIRI( organismPartClass.getIRI().toString() );
-						if ( this.organismParts.containsKey( organismPartAccession ) ) {
-							diseaseOrganismPartMap.put( disease.getAccession(), organismPartAccession );
-						}
-					}
+		Timer.Context context = MetricsRegistry.getDefault().timer( "efo.parse.diseases" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "EFO", "diseases" );
+		final OWLObjectProperty hasDiseaseLocation = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_HAS_DISEASE_LOCATION_IRI_STR ) );
+		final OWLObjectProperty occurIn = this.dataFactory.getOWLObjectProperty( IRI.create( EFO_OCCURS_IN_IRI_STR ) );
+		final RelationIndex relations = this.getRelationIndex();
+		List<OWLClass> efoDiseaseClasses = this.getSubClassList( EFO_DISEASE_IRI_STR );
+		List<Map.Entry<Disease, List<String>>> efoDiseases = this.parseClasses( efoDiseaseClasses, new ClassParser<Map.Entry<Disease, List<String>>>() {
+			public Map.Entry<Disease, List<String>> parse( OWLClass efoDiseaseClass ) {
+				Disease disease = parseDisease( efoDiseaseClass );
+				
+				List<String> organismPartAccessions = new ArrayList<String>();
+				Set<OWLClass> organismPartClassSet = new TreeSet<OWLClass>( relations.getFillers( efoDiseaseClass, hasDiseaseLocation ) );
+				organismPartClassSet.addAll( relations.getFillers( efoDiseaseClass, occurIn ) );
+				for ( OWLClass organismPartClass : organismPartClassSet ) {
+					String organismPartAccession = parseAccessionFromIRI( organismPartClass.getIRI().toString() );
+					if ( organismParts.containsKey( organismPartAccession ) )
+						organismPartAccessions.add( organismPartAccession );
 				}
+				return new AbstractMap.SimpleImmutableEntry<Disease, List<String>>( disease, organismPartAccessions );
 			}
+		} );
+		for ( int i = 0; i < efoDiseaseClasses.size(); i ++ ) {
+			Disease disease = efoDiseases.get( i ).getKey();
+			for ( String organismPartAccession : efoDiseases.get( i ).getValue() )
+				diseaseOrganismPartMap.put( disease.getAccession(), organismPartAccession );
 			
 			this.diseases.put( disease.getAccession(), disease );
-			this.diseaseIriMap.put( disease.getAccession(), efoDiseaseClass.getIRI() );
+			this.diseaseIriMap.put( disease.getAccession(), efoDiseaseClasses.get( i ).getIRI() );
 		}
+		event.end( this.diseases.size() );
+		context.stop();
 	}
 	
 	private Disease parseDisease( OWLClass diseaseClass ) {
@@ -457,14 +484,21 @@ public class EFOOntologyModel extends OntologyModel {
 	private HashMap<String, IRI> cellTypeIriMap = new HashMap<String, IRI>();
 	
 	public void parseCellTypesFromOntology() {
-		NodeSet<OWLClass> efoCellTypeNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( EFO_CELLTYPE_IRI_STR ) ), false );
-		for ( OWLClass efoCellTypeClass : efoCellTypeNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( efoCellTypeClass.isOWLNothing() ) continue;
-			CellType cellType = this.parseCellType( efoCellTypeClass );
+		Timer.Context context = MetricsRegistry.getDefault().timer( "efo.parse.cellTypes" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "EFO", "cellTypes" );
+		List<OWLClass> efoCellTypeClasses = this.getSubClassList( EFO_CELLTYPE_IRI_STR );
+		List<CellType> efoCellTypes = this.parseClasses( efoCellTypeClasses, new ClassParser<CellType>() {
+			public CellType parse( OWLClass efoCellTypeClass ) {
+				return parseCellType( efoCellTypeClass );
+			}
+		} );
+		for ( int i = 0; i < efoCellTypeClasses.size(); i ++ ) {
+			CellType cellType = efoCellTypes.get( i );
 			this.cellTypes.put( cellType.getAccession(), cellType );
-			this.cellTypeIriMap.put( cellType.getAccession(), efoCellTypeClass.getIRI() );
+			this.cellTypeIriMap.put( cellType.getAccession(), efoCellTypeClasses.get( i ).getIRI() );
 		}
+		event.end( this.cellTypes.size() );
+		context.stop();
 	}
 	
 	private CellType parseCellType( OWLClass cellTypeClass ) {
@@ -558,14 +592,21 @@ public class EFOOntologyModel extends OntologyModel {
 	private HashMap<String, IRI> organismPartIriMap = new HashMap<String, IRI>();
 	
 	public void parseOrganismPartsFromOntology() {
-		NodeSet<OWLClass> efoOrganismPartNodeSet = this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( EFO_ORGANISM_PART_IRI_STR ) ), false );
-		for ( OWLClass efoOrganismPartClass : efoOrganismPartNodeSet.getFlattened() ) {
-			// Ignore OWL:Nothing
-			if ( efoOrganismPartClass.isOWLNothing() ) continue;
-			OrganismPart organismPart = this.parseOrganismPart( efoOrganismPartClass );
+		Timer.Context context = MetricsRegistry.getDefault().timer( "efo.parse.organismParts" ).time();
+		PipelineEvents.Span event = PipelineEvents.parsePhase( "EFO", "organismParts" );
+		List<OWLClass> efoOrganismPartClasses = this.getSubClassList( EFO_ORGANISM_PART_IRI_STR );
+		List<OrganismPart> efoOrganismParts = this.parseClasses( efoOrganismPartClasses, new ClassParser<OrganismPart>() {
+			public OrganismPart parse( OWLClass efoOrganismPartClass ) {
+				return parseOrganismPart( efoOrganismPartClass );
+			}
+		} );
+		for ( int i = 0; i < efoOrganismPartClasses.size(); i ++ ) {
+			OrganismPart organismPart = efoOrganismParts.get( i );
 			this.organismParts.put( organismPart.getAccession(), organismPart );
-			this.organismPartIriMap.put( organismPart.getAccession(), efoOrganismPartClass.getIRI() );
+			this.organismPartIriMap.put( organismPart.getAccession(), efoOrganismPartClasses.get( i ).getIRI() );
 		}
+		event.end( this.organismParts.size() );
+		context.stop();
 	}
 	
 	private OrganismPart parseOrganismPart( OWLClass organismPartClass ) {
@@ -671,6 +712,33 @@ public class EFOOntologyModel extends OntologyModel {
 	*/
 	
 	// Species
+	private BitSet organismClasses = new BitSet();
+	private ConcurrentHashMap<String, Species> species = new ConcurrentHashMap<String, Species>();
+	
+	/**
+	 * @return whether the class is under the organism class, looked up in the bits computed before the cell
+	 * lines are parsed
+	 */
+	private boolean isOrganism( OWLClass owlClass ) {
+		int id = this.getClassId( owlClass );
+		return id >= 0 && this.organismClasses.get( id );
+	}
+	
+	/**
+	 * @return the species of the class, parsed once and shared by all cell lines derived from it
+	 */
+	private Species getSpecies( OWLClass speciesClass ) {
+		String iri = speciesClass.getIRI().toString();
+		Species species = this.species.get( iri );
+		if ( species == null ) {
+			species = this.parseSpecies( speciesClass );
+			Species previous = this.species.putIfAbsent( iri, species );
+			if ( previous != null )
+				species = previous;
+		}
+		return species;
+	}
+	
 	private Species parseSpecies( OWLClass speciesClass ) {
 		Species species = new Species();
 		
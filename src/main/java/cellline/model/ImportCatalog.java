@@ -0,0 +1,302 @@
+/**
+ * @file ImportCatalog.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.model;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyIRIMapper;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.OntologyCopy;
+import org.semanticweb.owlapi.util.AutoIRIMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.Timer;
+
+/**
+ * Local copies of the imported ontologies, read from an XML catalog (catalog-v001.xml as written by Protege)
+ * or from the ontology files of a directory. Added to an OWLOntologyManager it maps the imports to the local
+ * files, and {@link #load(OWLOntologyManager, OWLOntologyDocumentSource)} loads an ontology with its imports
+ * without any network access: every document is parsed without following its imports, the imports of one
+ * level are parsed in parallel, and imports missing from the catalog are reported and skipped.
+ */
+public class ImportCatalog implements OWLOntologyIRIMapper {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger logger = LoggerFactory.getLogger( ImportCatalog.class );
+
+	public static final String CATALOG_FILE_NAME = "catalog-v001.xml";
+
+	/**
+	 * Location that never exists, so that the parse of a single document fails its imports immediately
+	 */
+	private static final IRI UNRESOLVED_IRI = IRI.create( new File( System.getProperty( "java.io.tmpdir" ),
+			"unresolved-import-" + UUID.randomUUID() + ".owl" ).toURI() );
+
+	private Map<IRI, IRI> documents = new LinkedHashMap<IRI, IRI>();
+	private int threads;
+
+	public ImportCatalog( File catalog ) {
+		this( catalog, Runtime.getRuntime().availableProcessors() );
+	}
+
+	/**
+	 * @param catalog XML catalog, or directory of ontology files with or without a catalog-v001.xml
+	 * @param threads number of imports parsed at the same time
+	 */
+	public ImportCatalog( File catalog, int threads ) {
+		this.threads = Math.max( 1, threads );
+		if ( catalog.isDirectory() ) {
+			File catalogFile = new File( catalog, CATALOG_FILE_NAME );
+			if ( catalogFile.isFile() )
+				this.readCatalog( catalogFile );
+			else
+				this.readDirectory( catalog );
+		} else
+			this.readCatalog( catalog );
+		logger.info( "Read {} import locations from {}", this.documents.size(), catalog.getAbsolutePath() );
+	}
+
+	/**
+	 * @return the catalog next to the ontology file, null if there is none
+	 */
+	public static ImportCatalog forOntology( File ontologyFile ) {
+		File catalogFile = new File( ontologyFile.getAbsoluteFile().getParentFile(), CATALOG_FILE_NAME );
+		if ( catalogFile.isFile() )
+			return new ImportCatalog( catalogFile );
+		return null;
+	}
+
+	private void readCatalog( File catalogFile ) {
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			factory.setNamespaceAware( true );
+			Document document = factory.newDocumentBuilder().parse( catalogFile );
+			NodeList uris = document.getElementsByTagNameNS( "*", "uri" );
+			for ( int i = 0; i < uris.getLength(); i ++ ) {
+				Element uri = (Element) uris.item( i );
+				if ( uri.getAttribute( "name" ).isEmpty() || uri.getAttribute( "uri" ).isEmpty() ) continue;
+				URI location = getBase( catalogFile.toURI(), uri ).resolve( uri.getAttribute( "uri" ) );
+				this.documents.put( IRI.create( uri.getAttribute( "name" ) ), IRI.create( location ) );
+			}
+		} catch ( Exception e ) {
+			logger.error( "Fail to read import catalog: " + catalogFile.getAbsolutePath(), e );
+			System.exit( -1 );
+		}
+	}
+
+	/**
+	 * @return the location relative uris of the element resolve against, following the xml:base of its ancestors
+	 */
+	private static URI getBase( URI base, Node node ) {
+		Node parent = node.getParentNode();
+		if ( parent instanceof Element )
+			base = getBase( base, parent );
+		String xmlBase = ( (Element) node ).getAttributeNS( XMLConstants.XML_NS_URI, "base" );
+		return xmlBase.isEmpty() ? base : base.resolve( xmlBase );
+	}
+
+	private void readDirectory( File directory ) {
+		AutoIRIMapper mapper = new AutoIRIMapper( directory, true );
+		for ( IRI ontologyIri : mapper.getOntologyIRIs() )
+			this.documents.put( ontologyIri, mapper.getDocumentIRI( ontologyIri ) );
+	}
+
+	/**
+	 * @return the local document of the ontology, null if it is not in the catalog
+	 */
+	@Override
+	public IRI getDocumentIRI( IRI ontologyIRI ) {
+		return this.documents.get( ontologyIRI );
+	}
+
+	/**
+	 * @return the number of ontologies in the catalog
+	 */
+	public int size() {
+		return this.documents.size();
+	}
+
+	/**
+	 * Load the ontology and its imports closure from the catalog into the manager, which keeps the catalog as
+	 * IRI mapper.
+	 */
+	public OWLOntology load( OWLOntologyManager manager, OWLOntologyDocumentSource source ) throws OWLOntologyCreationException {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "load.imports" ).time();
+		manager.getIRIMappers().add( this );
+
+		// Main document, with its imports failing immediately
+		Set<OWLOntologyIRIMapper> mappers = new HashSet<OWLOntologyIRIMapper>();
+		for ( OWLOntologyIRIMapper mapper : manager.getIRIMappers() )
+			mappers.add( mapper );
+		manager.setIRIMappers( Collections.<OWLOntologyIRIMapper>singleton( new UnresolvedIRIMapper() ) );
+		OWLOntology ontology;
+		try {
+			ontology = manager.loadOntologyFromOntologyDocument( source, getSingleDocumentConfiguration() );
+		} finally {
+			manager.setIRIMappers( mappers );
+		}
+
+		// Imports, one level at a time, each document parsed by its own manager
+		Map<IRI, OWLOntology> imports = new LinkedHashMap<IRI, OWLOntology>();
+		Set<IRI> missing = new HashSet<IRI>();
+		List<IRI> level = this.getUnseenImports( Collections.singleton( ontology ), imports, missing );
+		long parseNanos = 0;
+		ExecutorService executor = Executors.newFixedThreadPool( this.threads );
+		try {
+			while ( !level.isEmpty() ) {
+				List<Future<ParsedImport>> futures = new ArrayList<Future<ParsedImport>>();
+				for ( IRI importIri : level )
+					futures.add( executor.submit( new ImportParser( importIri, this.documents.get( importIri ) ) ) );
+				List<OWLOntology> parsed = new ArrayList<OWLOntology>();
+				for ( Future<ParsedImport> future : futures ) {
+					ParsedImport parsedImport = getParsedImport( future );
+					parseNanos += parsedImport.nanos;
+					OWLOntology copy = manager.copyOntology( parsedImport.ontology, OntologyCopy.DEEP );
+					imports.put( parsedImport.importIri, copy );
+					parsed.add( copy );
+				}
+				level = this.getUnseenImports( parsed, imports, missing );
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// Link the import declarations to the parsed ontologies, the missing imports stay ignored
+		OWLOntologyLoaderConfiguration configuration = getSingleDocumentConfiguration();
+		for ( IRI missingIri : missing )
+			configuration = configuration.addIgnoredImport( missingIri );
+		for ( OWLOntology loaded : new ArrayList<OWLOntology>( manager.getOntologies() ) ) {
+			for ( OWLImportsDeclaration declaration : loaded.getImportsDeclarations() )
+				manager.makeLoadImportRequest( declaration, configuration );
+		}
+
+		long elapsed = context.stop();
+		logger.info( "Loaded {} imports in {} ms, {} ms of parsing on up to {} threads, {} missing from the catalog",
+				imports.size(), TimeUnit.NANOSECONDS.toMillis( elapsed ), TimeUnit.NANOSECONDS.toMillis( parseNanos ), this.threads, missing.size() );
+		return ontology;
+	}
+
+	private List<IRI> getUnseenImports( Iterable<OWLOntology> ontologies, Map<IRI, OWLOntology> imports, Set<IRI> missing ) {
+		Set<IRI> unseen = new HashSet<IRI>();
+		for ( OWLOntology ontology : ontologies ) {
+			for ( OWLImportsDeclaration declaration : ontology.getImportsDeclarations() ) {
+				IRI importIri = declaration.getIRI();
+				if ( imports.containsKey( importIri ) || missing.contains( importIri ) ) continue;
+				if ( this.documents.containsKey( importIri ) )
+					unseen.add( importIri );
+				else {
+					logger.warn( "Import {} is not in the catalog, skipping it", importIri );
+					missing.add( importIri );
+				}
+			}
+		}
+		return new ArrayList<IRI>( unseen );
+	}
+
+	private static ParsedImport getParsedImport( Future<ParsedImport> future ) throws OWLOntologyCreationException {
+		try {
+			return future.get();
+		} catch ( InterruptedException e ) {
+			throw new OWLOntologyCreationException( "Interrupted while parsing imports", e );
+		} catch ( ExecutionException e ) {
+			if ( e.getCause() instanceof OWLOntologyCreationException )
+				throw (OWLOntologyCreationException) e.getCause();
+			throw new OWLOntologyCreationException( "Fail to parse import", e.getCause() );
+		}
+	}
+
+	private static OWLOntologyLoaderConfiguration getSingleDocumentConfiguration() {
+		return new OWLOntologyLoaderConfiguration().setMissingImportHandlingStrategy( MissingImportHandlingStrategy.SILENT );
+	}
+
+	/**
+	 * Parse of one catalog document, without its imports.
+	 */
+	private static class ImportParser implements Callable<ParsedImport> {
+
+		private IRI importIri;
+		private IRI documentIri;
+
+		ImportParser( IRI importIri, IRI documentIri ) {
+			this.importIri = importIri;
+			this.documentIri = documentIri;
+		}
+
+		public ParsedImport call() throws OWLOntologyCreationException {
+			long start = System.nanoTime();
+			OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+			manager.setIRIMappers( Collections.<OWLOntologyIRIMapper>singleton( new UnresolvedIRIMapper() ) );
+			OWLOntology ontology = manager.loadOntologyFromOntologyDocument( new IRIDocumentSource( this.documentIri ), getSingleDocumentConfiguration() );
+			long nanos = System.nanoTime() - start;
+			MetricsRegistry.getDefault().timer( "load.import" ).update( nanos, TimeUnit.NANOSECONDS );
+			logger.info( "Parsed import {} from {} in {} ms, {} axioms", this.importIri, this.documentIri,
+					TimeUnit.NANOSECONDS.toMillis( nanos ), ontology.getAxiomCount() );
+			return new ParsedImport( this.importIri, ontology, nanos );
+		}
+	}
+
+	private static class ParsedImport {
+
+		private IRI importIri;
+		private OWLOntology ontology;
+		private long nanos;
+
+		ParsedImport( IRI importIri, OWLOntology ontology, long nanos ) {
+			this.importIri = importIri;
+			this.ontology = ontology;
+			this.nanos = nanos;
+		}
+	}
+
+	/**
+	 * Maps every import to a location that does not exist.
+	 */
+	private static class UnresolvedIRIMapper implements OWLOntologyIRIMapper {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public IRI getDocumentIRI( IRI ontologyIRI ) {
+			return UNRESOLVED_IRI;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * @file InferenceCache.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * Inferred axioms of computeInference() saved in functional syntax under a directory, one file per
+ * ontology release and reasoner. The key is a SHA-256 checksum over the bytes of the ontology document
+ * and of its imported documents, the variant of the loaded ontology such as its module seeds, and the
+ * reasoner name and the jar it was loaded from, so a new release or a reasoner upgrade is never served
+ * stale inferences. Ontologies loaded from a stream or with imports not resolved to local files have no
+ * key and are not cached.
+ */
+public class InferenceCache {
+
+	private static final Logger logger = LoggerFactory.getLogger( InferenceCache.class );
+
+	private File directory;
+
+	public InferenceCache( File directory ) {
+		this.directory = directory;
+		if ( !directory.isDirectory() && !directory.mkdirs() )
+			logger.warn( "Unable to create inference cache directory {}", directory.getAbsolutePath() );
+	}
+
+	/**
+	 * @return the cache directory
+	 */
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * @param documentFile local document the ontology was loaded from, null if it was not loaded from a file
+	 * @param variant what else than the documents the loaded ontology depends on, e.g. the module seeds
+	 * @return the cache file of the ontology inferred by the reasoner, which may not exist yet, null if the
+	 * ontology has no local documents to key it by
+	 */
+	public File getFile( OWLOntology ontology, File documentFile, String variant, OWLReasonerFactory factory ) {
+		if ( documentFile == null || !documentFile.isFile() ) {
+			logger.info( "No local ontology document, inferred axioms are not cached" );
+			return null;
+		}
+		Hasher hasher = Hashing.sha256().newHasher();
+		try {
+			hasher.putBytes( Files.hash( documentFile, Hashing.sha256() ).asBytes() );
+			// Imports in document IRI order, the imports closure is a set
+			SortedMap<String, File> importFiles = new TreeMap<String, File>();
+			for ( OWLOntology imported : ontology.getImportsClosure() ) {
+				if ( imported == ontology )
+					continue;
+				IRI documentIRI = ontology.getOWLOntologyManager().getOntologyDocumentIRI( imported );
+				if ( !"file".equals( documentIRI.getScheme() ) ) {
+					logger.info( "Import {} is not a local document, inferred axioms are not cached", documentIRI );
+					return null;
+				}
+				importFiles.put( documentIRI.toString(), new File( documentIRI.toURI() ) );
+			}
+			for ( File importFile : importFiles.values() )
+				hasher.putBytes( Files.hash( importFile, Hashing.sha256() ).asBytes() );
+		} catch ( IOException e ) {
+			logger.warn( "Unable to read ontology documents, inferred axioms are not cached", e );
+			return null;
+		}
+		hasher.putString( variant, Charsets.UTF_8 );
+		hasher.putString( getReasonerVersion( factory ), Charsets.UTF_8 );
+
+		String name = getReasonerName( factory ).replaceAll( "[^A-Za-z0-9]", "" ) + "-" + hasher.hash().toString();
+		return new File( this.directory, name + ".ofn" );
+	}
+
+	/**
+	 * @return the cached inferred ontology loaded into the manager, null if there is none or it cannot be read
+	 */
+	public OWLOntology load( OWLOntologyManager manager, File file ) {
+		if ( !file.isFile() )
+			return null;
+		try {
+			OWLOntology inferred = manager.loadOntologyFromOntologyDocument( new FileDocumentSource( file, new FunctionalSyntaxDocumentFormat() ) );
+			logger.info( "Loaded {} inferred axioms from {}", inferred.getAxiomCount(), file.getAbsolutePath() );
+			return inferred;
+		} catch ( OWLOntologyCreationException e ) {
+			logger.warn( "Unable to load inferred axioms from " + file.getAbsolutePath() + ", recomputing them", e );
+			return null;
+		}
+	}
+
+	/**
+	 * Save the inferred ontology, through a temporary file so that an interrupted run leaves no partial entry
+	 */
+	public void save( OWLOntologyManager manager, OWLOntology inferred, File file ) {
+		File temp = new File( file.getParentFile(), file.getName() + ".tmp" );
+		try {
+			manager.saveOntology( inferred, new FunctionalSyntaxDocumentFormat(), IRI.create( temp ) );
+			if ( !temp.renameTo( file ) )
+				logger.warn( "Unable to move inferred axioms to {}", file.getAbsolutePath() );
+			else
+				logger.info( "Saved {} inferred axioms to {}", inferred.getAxiomCount(), file.getAbsolutePath() );
+		} catch ( OWLOntologyStorageException e ) {
+			logger.warn( "Unable to save inferred axioms to " + file.getAbsolutePath(), e );
+		} finally {
+			temp.delete();
+		}
+	}
+
+	/**
+	 * @return the reasoner name and the jar, or class directory, its factory was loaded from
+	 */
+	public static String getReasonerVersion( OWLReasonerFactory factory ) {
+		String version = factory.getClass().getPackage() == null ? null : factory.getClass().getPackage().getImplementationVersion();
+		if ( version == null ) {
+			CodeSource source = factory.getClass().getProtectionDomain().getCodeSource();
+			URL location = source == null ? null : source.getLocation();
+			version = location == null ? "unknown" : new File( location.getPath() ).getName();
+		}
+		return getReasonerName( factory ) + " " + version;
+	}
+
+	/**
+	 * @return the reasoner name, or the factory class name for factories without one such as HermiT's
+	 */
+	public static String getReasonerName( OWLReasonerFactory factory ) {
+		String name = factory.getReasonerName();
+		return name == null ? factory.getClass().getSimpleName() : name;
+	}
+}
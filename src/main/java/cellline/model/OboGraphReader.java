@@ -0,0 +1,388 @@
+/**
+ * @file OboGraphReader.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SetOntologyID;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Streaming reader of OBO Graphs JSON (https://github.com/geneontology/obographs). Nodes, edges, logical
+ * definitions and equivalent node sets are read one at a time and turned into the axioms the ontology
+ * models parse, without an RDF or OWL parser in between:
+ *
+ *   node                declaration, rdfs:label, IAO definition, oboInOwl synonyms and database cross
+ *                       references, rdfs:comment and the basic property values as literal annotations
+ *   edge                is_a as SubClassOf, subPropertyOf, type as ClassAssertion, any other predicate
+ *                       as SubClassOf of an existential restriction
+ *   logical definition  EquivalentClasses of the defined class and the intersection of its genus and
+ *                       restrictions
+ *   equivalent nodes    EquivalentClasses of the nodes
+ *
+ * Domain, range and property chain axioms are not read. Node ids are IRIs, OBO CURIEs are expanded to
+ * http://purl.obolibrary.org/obo/PREFIX_LOCAL.
+ */
+public class OboGraphReader {
+
+	public static final String OBO_PREFIX = "http://purl.obolibrary.org/obo/";
+	public static final String OBO_IN_OWL_PREFIX = "http://www.geneontology.org/formats/oboInOwl#";
+	public static final String DEFINITION_IRI_STR = "http://purl.obolibrary.org/obo/IAO_0000115";
+
+	/**
+	 * Number of axioms added to the ontology at once
+	 */
+	static final int BATCH_SIZE = 10000;
+
+	private OWLOntologyManager manager;
+	private OWLDataFactory dataFactory;
+	private OWLOntology ontology;
+	private List<OWLAxiom> axioms = new ArrayList<OWLAxiom>();
+	private Set<String> annotationProperties = new HashSet<String>();
+	private List<JSONObject> propertyEdges = new ArrayList<JSONObject>();
+	private String graphId;
+
+	public OboGraphReader( OWLOntologyManager manager ) {
+		this.manager = manager;
+		this.dataFactory = manager.getOWLDataFactory();
+	}
+
+	/**
+	 * @return whether the file is OBO Graphs JSON by its extension, .json or .json.gz
+	 */
+	public static boolean isOboGraph( File file ) {
+		String name = file.getName().toLowerCase();
+		return name.endsWith( ".json" ) || name.endsWith( ".json.gz" );
+	}
+
+	public OWLOntology read( File file ) throws OWLOntologyCreationException {
+		try {
+			InputStream input = new FileInputStream( file );
+			try {
+				if ( file.getName().toLowerCase().endsWith( ".gz" ) )
+					input = new GZIPInputStream( input, 1 << 16 );
+				return this.read( input );
+			} finally {
+				input.close();
+			}
+		} catch ( IOException e ) {
+			throw new OWLOntologyCreationException( "Fail to read OBO Graphs JSON: " + file.getAbsolutePath(), e );
+		}
+	}
+
+	public OWLOntology read( InputStream input ) throws OWLOntologyCreationException {
+		this.ontology = this.manager.createOntology();
+		try {
+			new JSONParser().parse( new BufferedReader( new InputStreamReader( input, Charsets.UTF_8 ), 1 << 16 ), new GraphHandler() );
+		} catch ( IOException e ) {
+			throw new OWLOntologyCreationException( "Fail to read OBO Graphs JSON", e );
+		} catch ( ParseException e ) {
+			throw new OWLOntologyCreationException( "Incorrect OBO Graphs JSON: " + e, e );
+		}
+		// Properties are only typed once all nodes were read
+		for ( JSONObject edge : this.propertyEdges ) {
+			String sub = getString( edge, "sub" );
+			String obj = getString( edge, "obj" );
+			if ( this.annotationProperties.contains( sub ) )
+				this.add( this.dataFactory.getOWLSubAnnotationPropertyOfAxiom( this.getAnnotationProperty( sub ), this.getAnnotationProperty( obj ) ) );
+			else
+				this.add( this.dataFactory.getOWLSubObjectPropertyOfAxiom( this.dataFactory.getOWLObjectProperty( this.getIRI( sub ) ),
+						this.dataFactory.getOWLObjectProperty( this.getIRI( obj ) ) ) );
+		}
+		this.flush();
+		if ( this.graphId != null )
+			this.manager.applyChange( new SetOntologyID( this.ontology, this.getIRI( this.graphId ) ) );
+		return this.ontology;
+	}
+
+	private void readNode( JSONObject node ) {
+		String id = getString( node, "id" );
+		if ( id == null ) return;
+		IRI iri = this.getIRI( id );
+		String type = getString( node, "type" );
+		if ( "PROPERTY".equals( type ) ) {
+			if ( "ANNOTATION".equals( getString( node, "propertyType" ) ) ) {
+				this.annotationProperties.add( id );
+				this.add( this.dataFactory.getOWLDeclarationAxiom( this.dataFactory.getOWLAnnotationProperty( iri ) ) );
+			} else
+				this.add( this.dataFactory.getOWLDeclarationAxiom( this.dataFactory.getOWLObjectProperty( iri ) ) );
+		} else if ( "INDIVIDUAL".equals( type ) )
+			this.add( this.dataFactory.getOWLDeclarationAxiom( this.dataFactory.getOWLNamedIndividual( iri ) ) );
+		else
+			this.add( this.dataFactory.getOWLDeclarationAxiom( this.dataFactory.getOWLClass( iri ) ) );
+
+		String label = getString( node, "lbl" );
+		if ( label != null )
+			this.annotate( iri, OWLRDFVocabulary.RDFS_LABEL.getIRI().toString(), label );
+		JSONObject meta = (JSONObject) node.get( "meta" );
+		if ( meta == null ) return;
+
+		JSONObject definition = (JSONObject) meta.get( "definition" );
+		if ( definition != null && getString( definition, "val" ) != null )
+			this.annotate( iri, DEFINITION_IRI_STR, getString( definition, "val" ) );
+		for ( Object synonym : getArray( meta, "synonyms" ) ) {
+			String predicate = getString( (JSONObject) synonym, "pred" );
+			String value = getString( (JSONObject) synonym, "val" );
+			if ( value != null )
+				this.annotate( iri, this.getPropertyIri( predicate == null ? "hasRelatedSynonym" : predicate ), value );
+		}
+		for ( Object xRef : getArray( meta, "xrefs" ) ) {
+			String value = getString( (JSONObject) xRef, "val" );
+			if ( value != null )
+				this.annotate( iri, OBO_IN_OWL_PREFIX + "hasDbXref", value );
+		}
+		for ( Object comment : getArray( meta, "comments" ) )
+			this.annotate( iri, OWLRDFVocabulary.RDFS_COMMENT.getIRI().toString(), comment.toString() );
+		for ( Object propertyValue : getArray( meta, "basicPropertyValues" ) ) {
+			String predicate = getString( (JSONObject) propertyValue, "pred" );
+			String value = getString( (JSONObject) propertyValue, "val" );
+			if ( predicate != null && value != null )
+				this.annotate( iri, this.getPropertyIri( predicate ), value );
+		}
+		if ( Boolean.TRUE.equals( meta.get( "deprecated" ) ) )
+			this.add( this.dataFactory.getOWLAnnotationAssertionAxiom( this.dataFactory.getOWLDeprecated(), iri,
+					this.dataFactory.getOWLLiteral( true ) ) );
+	}
+
+	private void readEdge( JSONObject edge ) {
+		String sub = getString( edge, "sub" );
+		String predicate = getString( edge, "pred" );
+		String obj = getString( edge, "obj" );
+		if ( sub == null || predicate == null || obj == null ) return;
+		if ( predicate.equals( "is_a" ) )
+			this.add( this.dataFactory.getOWLSubClassOfAxiom( this.getOWLClass( sub ), this.getOWLClass( obj ) ) );
+		else if ( predicate.equals( "subPropertyOf" ) )
+			this.propertyEdges.add( edge );
+		else if ( predicate.equals( "type" ) )
+			this.add( this.dataFactory.getOWLClassAssertionAxiom( this.getOWLClass( obj ), this.dataFactory.getOWLNamedIndividual( this.getIRI( sub ) ) ) );
+		else if ( !predicate.equals( "inverseOf" ) )
+			this.add( this.dataFactory.getOWLSubClassOfAxiom( this.getOWLClass( sub ), this.dataFactory.getOWLObjectSomeValuesFrom(
+					this.dataFactory.getOWLObjectProperty( this.getIRI( predicate ) ), this.getOWLClass( obj ) ) ) );
+	}
+
+	private void readLogicalDefinition( JSONObject definition ) {
+		String defined = getString( definition, "definedClassId" );
+		if ( defined == null ) return;
+		Set<OWLClassExpression> operands = new LinkedHashSet<OWLClassExpression>();
+		for ( Object genus : getArray( definition, "genusIds" ) )
+			operands.add( this.getOWLClass( genus.toString() ) );
+		for ( Object restriction : getArray( definition, "restrictions" ) ) {
+			String property = getString( (JSONObject) restriction, "propertyId" );
+			String filler = getString( (JSONObject) restriction, "fillerId" );
+			if ( property != null && filler != null )
+				operands.add( this.dataFactory.getOWLObjectSomeValuesFrom( this.dataFactory.getOWLObjectProperty( this.getIRI( property ) ), this.getOWLClass( filler ) ) );
+		}
+		if ( operands.isEmpty() ) return;
+		OWLClassExpression expression = operands.size() == 1 ? operands.iterator().next() : this.dataFactory.getOWLObjectIntersectionOf( operands );
+		this.add( this.dataFactory.getOWLEquivalentClassesAxiom( this.getOWLClass( defined ), expression ) );
+	}
+
+	private void readEquivalentNodes( JSONObject nodeSet ) {
+		Set<OWLClass> classes = new LinkedHashSet<OWLClass>();
+		for ( Object node : getArray( nodeSet, "nodeIds" ) )
+			classes.add( this.getOWLClass( node.toString() ) );
+		if ( classes.size() > 1 )
+			this.add( this.dataFactory.getOWLEquivalentClassesAxiom( classes ) );
+	}
+
+	private void annotate( IRI subject, String propertyIri, String value ) {
+		this.add( this.dataFactory.getOWLAnnotationAssertionAxiom( this.dataFactory.getOWLAnnotationProperty( IRI.create( propertyIri ) ), subject,
+				this.dataFactory.getOWLLiteral( value ) ) );
+	}
+
+	private void add( OWLAxiom axiom ) {
+		this.axioms.add( axiom );
+		if ( this.axioms.size() >= BATCH_SIZE )
+			this.flush();
+	}
+
+	private void flush() {
+		this.manager.addAxioms( this.ontology, new LinkedHashSet<OWLAxiom>( this.axioms ) );
+		this.axioms.clear();
+	}
+
+	private OWLClass getOWLClass( String id ) {
+		return this.dataFactory.getOWLClass( this.getIRI( id ) );
+	}
+
+	private OWLAnnotationProperty getAnnotationProperty( String id ) {
+		return this.dataFactory.getOWLAnnotationProperty( this.getIRI( id ) );
+	}
+
+	/**
+	 * @return the IRI of the id, OBO CURIEs like GO:0005634 expanded
+	 */
+	private IRI getIRI( String id ) {
+		if ( id.contains( "://" ) )
+			return IRI.create( id );
+		int colon = id.indexOf( ':' );
+		if ( colon > 0 )
+			return IRI.create( OBO_PREFIX + id.substring( 0, colon ) + "_" + id.substring( colon + 1 ) );
+		return IRI.create( OBO_PREFIX + id );
+	}
+
+	/**
+	 * @return the IRI of a predicate, short oboInOwl names like hasExactSynonym expanded
+	 */
+	private String getPropertyIri( String predicate ) {
+		if ( predicate.contains( ":" ) )
+			return this.getIRI( predicate ).toString();
+		return OBO_IN_OWL_PREFIX + predicate;
+	}
+
+	private static String getString( JSONObject object, String key ) {
+		Object value = object.get( key );
+		return value == null ? null : value.toString();
+	}
+
+	private static JSONArray getArray( JSONObject object, String key ) {
+		Object value = object.get( key );
+		return value instanceof JSONArray ? (JSONArray) value : new JSONArray();
+	}
+
+	/**
+	 * Builds one element of the nodes, edges, logicalDefinitionAxioms or equivalentNodesSets arrays of a graph
+	 * at a time and hands it to the reader, so that only one element is in memory. The graphs are either
+	 * wrapped in a GraphDocument ({"graphs": [...]}, in any order with its other keys) or the document is a
+	 * single graph.
+	 */
+	private class GraphHandler implements ContentHandler {
+
+		private int depth;
+		private int graphDepth = -1;
+		private String graphKey;
+		private Deque<Object> containers = new ArrayDeque<Object>();
+		private Deque<String> keys = new ArrayDeque<String>();
+
+		public void startJSON() {}
+
+		public void endJSON() {}
+
+		public boolean startObject() {
+			this.depth ++;
+			this.startContainer( new JSONObject() );
+			return true;
+		}
+
+		public boolean endObject() {
+			this.endContainer();
+			this.depth --;
+			return true;
+		}
+
+		public boolean startArray() {
+			this.depth ++;
+			this.startContainer( new JSONArray() );
+			return true;
+		}
+
+		public boolean endArray() {
+			this.endContainer();
+			this.depth --;
+			return true;
+		}
+
+		public boolean startObjectEntry( String key ) {
+			// A GraphDocument may have other keys, such as "meta", before "graphs"
+			if ( this.depth == 1 ) {
+				if ( key.equals( "graphs" ) )
+					this.graphDepth = 3;
+				else if ( this.graphDepth < 0 )
+					this.graphDepth = 1;
+			}
+			if ( this.depth == this.graphDepth )
+				this.graphKey = key;
+			this.keys.push( key );
+			return true;
+		}
+
+		public boolean endObjectEntry() {
+			this.keys.pop();
+			return true;
+		}
+
+		public boolean primitive( Object value ) {
+			if ( !this.containers.isEmpty() )
+				this.attach( value );
+			else if ( this.depth == graphDepth && "id".equals( this.graphKey ) && OboGraphReader.this.graphId == null && value != null )
+				OboGraphReader.this.graphId = value.toString();
+			return true;
+		}
+
+		@SuppressWarnings( "unchecked" )
+		private void attach( Object value ) {
+			Object parent = this.containers.peek();
+			if ( parent instanceof JSONObject )
+				( (JSONObject) parent ).put( this.keys.peek(), value );
+			else
+				( (JSONArray) parent ).add( value );
+		}
+
+		private void startContainer( Object container ) {
+			if ( !this.containers.isEmpty() )
+				this.attach( container );
+			else if ( !this.isElement() )
+				return;
+			this.containers.push( container );
+		}
+
+		private void endContainer() {
+			if ( this.containers.isEmpty() )
+				return;
+			Object container = this.containers.pop();
+			if ( this.containers.isEmpty() && container instanceof JSONObject ) {
+				if ( "nodes".equals( this.graphKey ) )
+					readNode( (JSONObject) container );
+				else if ( "edges".equals( this.graphKey ) )
+					readEdge( (JSONObject) container );
+				else if ( "logicalDefinitionAxioms".equals( this.graphKey ) )
+					readLogicalDefinition( (JSONObject) container );
+				else if ( "equivalentNodesSets".equals( this.graphKey ) )
+					readEquivalentNodes( (JSONObject) container );
+			}
+		}
+
+		/**
+		 * @return whether the object being started is an element of an array of the graph
+		 */
+		private boolean isElement() {
+			return this.graphDepth > 0 && this.depth == this.graphDepth + 2 && this.graphKey != null
+					&& ( this.graphKey.equals( "nodes" ) || this.graphKey.equals( "edges" )
+						|| this.graphKey.equals( "logicalDefinitionAxioms" ) || this.graphKey.equals( "equivalentNodesSets" ) );
+		}
+	}
+}
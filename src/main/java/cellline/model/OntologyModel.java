@@ -10,9 +10,20 @@ package cellline.model;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,17 +31,38 @@ import org.apache.commons.validator.routines.UrlValidator;
 import org.semanticweb.HermiT.Reasoner;
 import org.semanticweb.HermiT.ReasonerFactory;
 import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.GZipFileDocumentSource;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
+import org.semanticweb.owlapi.profiles.OWL2ELProfile;
+import org.semanticweb.owlapi.profiles.OWLProfileReport;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
 import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
 import org.semanticweb.owlapi.search.EntitySearcher;
@@ -42,6 +74,12 @@ import org.semanticweb.owlapi.util.InferredSubClassAxiomGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+import cellline.metrics.MetricsRegistry;
+import cellline.metrics.PipelineEvents;
+import cellline.metrics.Timer;
 import cellline.object.CrossReference;
 
 /**
@@ -53,15 +91,135 @@ public class OntologyModel {
 	
 	public static final String RDF_LABEL_IRI_STR = "http://www.w3.org/2000/01/rdf-schema#label";
 	
-	protected OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	protected OWLOntologyManager manager = parseThreads > 1 ? OWLManager.createConcurrentOWLOntologyManager() : OWLManager.createOWLOntologyManager();
 	protected OWLOntology ontology;
 	protected OWLDataFactory dataFactory = manager.getOWLDataFactory();
 	protected StructuralReasoner reasoner;
+	protected ClassHierarchyIndex hierarchy;
+	private HashMap<OWLClass, Integer> classIds;
+	private RelationIndex relations;
+	private File documentFile;
+	
+	private static volatile boolean moduleExtraction = false;
+	private static volatile boolean inference = false;
+	private static volatile ImportCatalog importCatalog;
+	private static volatile InferenceCache inferenceCache;
+	private static volatile String reasonerName = "hermit";
+	private static volatile int parseThreads = 1;
+	
+	/**
+	 * Number of classes a parse task handles itself instead of splitting further
+	 */
+	public static final int PARSE_BATCH_SIZE = 64;
+	
+	public static final String ELK_FACTORY_CLASS = "org.semanticweb.elk.owlapi.ElkReasonerFactory";
+	
+	/**
+	 * @param extract true to reduce the ontologies loaded from now on to a locality module around the
+	 * branches the model parses, see {@link #extractModule()}
+	 */
+	public static void setModuleExtraction( boolean extract ) {
+		moduleExtraction = extract;
+	}
+	
+	/**
+	 * @return whether loaded ontologies are reduced to a locality module
+	 */
+	public static boolean isModuleExtraction() {
+		return moduleExtraction;
+	}
+	
+	/**
+	 * @param catalog local locations of the imports of the ontologies loaded from now on, null to use the
+	 * catalog-v001.xml next to an ontology file if there is one, and OWLAPI resolution otherwise
+	 */
+	public static void setImportCatalog( ImportCatalog catalog ) {
+		importCatalog = catalog;
+	}
+	
+	/**
+	 * @return the import catalog set for all ontologies, may be null
+	 */
+	public static ImportCatalog getImportCatalog() {
+		return importCatalog;
+	}
+	
+	/**
+	 * @param cache cache of the inferred axioms of computeInference(), null to always run the reasoner
+	 */
+	public static void setInferenceCache( InferenceCache cache ) {
+		inferenceCache = cache;
+	}
+	
+	/**
+	 * @return the inference cache, may be null
+	 */
+	public static InferenceCache getInferenceCache() {
+		return inferenceCache;
+	}
+	
+	/**
+	 * @param infer true to add the inferred subclass and class assertion axioms of computeInference() to the
+	 * ontologies loaded from now on, before the models parse them
+	 */
+	public static void setInference( boolean infer ) {
+		inference = infer;
+	}
+	
+	/**
+	 * @return whether loaded ontologies get their inferred axioms added
+	 */
+	public static boolean isInference() {
+		return inference;
+	}
+	
+	/**
+	 * @param name reasoner of computeInference(): hermit, elk, or auto for ELK when the ontology is in the
+	 * OWL 2 EL profile and ELK is on the classpath, HermiT otherwise
+	 */
+	public static void setReasoner( String name ) {
+		if ( !name.equals( "hermit" ) && !name.equals( "elk" ) && !name.equals( "auto" ) )
+			throw new IllegalArgumentException( "Unknown reasoner: " + name );
+		reasonerName = name;
+	}
+	
+	/**
+	 * @return the reasoner of computeInference()
+	 */
+	public static String getReasoner() {
+		return reasonerName;
+	}
+	
+	/**
+	 * @param threads number of fork-join workers parsing the classes of each phase of the models created
+	 * from now on, 1 to parse sequentially. Their ontologies are loaded into a concurrent OWLAPI manager.
+	 */
+	public static void setParseThreads( int threads ) {
+		parseThreads = Math.max( 1, threads );
+	}
+	
+	/**
+	 * @return the number of parse workers
+	 */
+	public static int getParseThreads() {
+		return parseThreads;
+	}
 	
 	public void loadFromFile( File ontologyFile ) {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "load." + this.getClass().getSimpleName() ).time();
+		PipelineEvents.Span event = PipelineEvents.ontologyLoad( this.getClass().getSimpleName(), ontologyFile.getAbsolutePath() );
 		try {
 			logger.info( "Loading ontology from document: " + ontologyFile.getAbsolutePath() );
-			this.ontology = this.manager.loadOntologyFromOntologyDocument( ontologyFile );
+			this.documentFile = ontologyFile;
+			ImportCatalog catalog = importCatalog != null ? importCatalog : ImportCatalog.forOntology( ontologyFile );
+			if ( OboGraphReader.isOboGraph( ontologyFile ) )
+				this.ontology = new OboGraphReader( this.manager ).read( ontologyFile );
+			else if ( catalog != null )
+				this.ontology = catalog.load( this.manager, getDocumentSource( ontologyFile ) );
+			else
+				this.ontology = this.manager.loadOntologyFromOntologyDocument( getDocumentSource( ontologyFile ) );
+			this.extractModule();
+			this.addInference();
 			this.reasoner = new StructuralReasoner( this.ontology, new SimpleConfiguration(), BufferingMode.NON_BUFFERING );
 			this.reasoner.precomputeInferences();
 			
@@ -69,13 +227,50 @@ public class OntologyModel {
 			logger.error( "Fail to load ontology from document: " + ontologyFile.getAbsolutePath(), e );
 			System.exit( -1 );
 		}
+		event.end( this.ontology.getAxiomCount() );
+		context.stop();
 		logger.info( "Loaded ontology");
 	}
 	
+	/**
+	 * @return the document of the file, gzip compressed if it ends with .gz, with the format named by its
+	 * extension: .ofn functional syntax, .omn Manchester syntax, .owx OWL/XML, .ttl Turtle, .obo OBO and .rdf
+	 * RDF/XML. The format of .owl files is detected by OWLAPI.
+	 */
+	public static OWLOntologyDocumentSource getDocumentSource( File ontologyFile ) {
+		String name = ontologyFile.getName().toLowerCase();
+		if ( name.endsWith( ".gz" ) )
+			return new GZipFileDocumentSource( ontologyFile, IRI.create( ontologyFile ), getDocumentFormat( name.substring( 0, name.length() - 3 ) ), null );
+		return new FileDocumentSource( ontologyFile, getDocumentFormat( name ) );
+	}
+	
+	private static OWLDocumentFormat getDocumentFormat( String name ) {
+		if ( name.endsWith( ".ofn" ) )
+			return new FunctionalSyntaxDocumentFormat();
+		if ( name.endsWith( ".omn" ) )
+			return new ManchesterSyntaxDocumentFormat();
+		if ( name.endsWith( ".owx" ) )
+			return new OWLXMLDocumentFormat();
+		if ( name.endsWith( ".ttl" ) )
+			return new TurtleDocumentFormat();
+		if ( name.endsWith( ".obo" ) )
+			return new OBODocumentFormat();
+		if ( name.endsWith( ".rdf" ) )
+			return new RDFXMLDocumentFormat();
+		return null;
+	}
+	
 	public void loadFromFile( InputStream ontologyFile ) {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "load." + this.getClass().getSimpleName() ).time();
+		PipelineEvents.Span event = PipelineEvents.ontologyLoad( this.getClass().getSimpleName(), "input stream" );
 		try {
 			logger.info( "Loading ontology from input stream" );
-			this.ontology = this.manager.loadOntologyFromOntologyDocument( ontologyFile );
+			if ( importCatalog != null )
+				this.ontology = importCatalog.load( this.manager, new StreamDocumentSource( ontologyFile ) );
+			else
+				this.ontology = this.manager.loadOntologyFromOntologyDocument( ontologyFile );
+			this.extractModule();
+			this.addInference();
 			this.reasoner = new StructuralReasoner( this.ontology, new SimpleConfiguration(), BufferingMode.NON_BUFFERING );
 			this.reasoner.precomputeInferences();
 			
@@ -83,38 +278,250 @@ public class OntologyModel {
 			logger.error( "Fail to load ontology from document from input stream", e );
 			System.exit( -1 );
 		}
+		event.end( this.ontology.getAxiomCount() );
+		context.stop();
 		logger.info( "Loaded ontology");
 	}
 	
 	public void LoadFromIri( IRI ontologyIRI ) {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "load." + this.getClass().getSimpleName() ).time();
+		PipelineEvents.Span event = PipelineEvents.ontologyLoad( this.getClass().getSimpleName(), ontologyIRI.toString() );
 		try {
 			logger.info( "Loading ontology from source IRI: " + ontologyIRI );
-			this.ontology = this.manager.loadOntology( ontologyIRI );
+			IRI documentIRI = importCatalog != null ? importCatalog.getDocumentIRI( ontologyIRI ) : null;
+			if ( documentIRI != null )
+				this.ontology = importCatalog.load( this.manager, new IRIDocumentSource( documentIRI ) );
+			else
+				this.ontology = this.manager.loadOntology( ontologyIRI );
+			this.extractModule();
+			this.addInference();
 			this.reasoner = new StructuralReasoner( this.ontology, new SimpleConfiguration(), BufferingMode.NON_BUFFERING );
 			this.reasoner.precomputeInferences();
 		} catch ( OWLOntologyCreationException e ) {
 			logger.error( "Fail to load ontology from source IRI: " + ontologyIRI, e );
 			System.exit( -1 );
 		}
+		event.end( this.ontology.getAxiomCount() );
+		context.stop();
 		logger.info( "Loaded Ontology");
 	}
 	
+	/**
+	 * @return IRIs of the root classes of the branches the model parses, empty to keep the whole ontology
+	 */
+	protected Set<String> getModuleSeedIris() {
+		return Collections.emptySet();
+	}
+	
+	/**
+	 * Reduce the loaded ontology to a syntactic locality module before the reasoner is built. The signature
+	 * is the seed classes with their asserted subclasses. Its bottom module keeps every axiom of those classes,
+	 * e.g. the derives from and bearer of restrictions, together with the super classes of the classes they
+	 * reach, and the declarations and annotations of the module entities.
+	 * 
+	 * The module is not a new ontology: the other axioms are removed in place from the loaded ontology and
+	 * from every ontology of its imports closure, which belong to the model's own manager. A copy would
+	 * list the axioms in another order, and with it the parsed synonyms and cross references.
+	 */
+	protected void extractModule() {
+		Set<String> seedIris = this.getModuleSeedIris();
+		if ( !moduleExtraction || seedIris.isEmpty() )
+			return;
+		Timer.Context context = MetricsRegistry.getDefault().timer( "module." + this.getClass().getSimpleName() ).time();
+		Set<OWLEntity> signature = new HashSet<OWLEntity>();
+		Deque<OWLClass> queue = new ArrayDeque<OWLClass>();
+		for ( String seedIri : seedIris ) {
+			OWLClass seed = this.dataFactory.getOWLClass( IRI.create( seedIri ) );
+			if ( signature.add( seed ) )
+				queue.add( seed );
+		}
+		while ( !queue.isEmpty() ) {
+			for ( OWLClass subClass : this.getAssertedSubClasses( queue.poll() ) ) {
+				if ( signature.add( subClass ) )
+					queue.add( subClass );
+			}
+		}
+		
+		int axiomCount = this.ontology.getAxiomCount( Imports.INCLUDED );
+		Set<OWLAxiom> module = new SyntacticLocalityModuleExtractor( this.manager, this.ontology, ModuleType.BOT ).extract( signature );
+		Set<OWLEntity> moduleSignature = new HashSet<OWLEntity>( signature );
+		for ( OWLAxiom axiom : module )
+			moduleSignature.addAll( axiom.getSignature() );
+		for ( OWLOntology imported : this.ontology.getImportsClosure() ) {
+			for ( OWLEntity entity : moduleSignature ) {
+				module.addAll( imported.getDeclarationAxioms( entity ) );
+				module.addAll( imported.getAnnotationAssertionAxioms( entity.getIRI() ) );
+			}
+		}
+		// Annotation property hierarchy, e.g. the sub properties of the EFO definition citation
+		module.addAll( this.ontology.getAxioms( AxiomType.SUB_ANNOTATION_PROPERTY_OF, Imports.INCLUDED ) );
+		
+		// Remove the other axioms in place
+		int moduleCount = 0;
+		for ( OWLOntology imported : this.ontology.getImportsClosure() ) {
+			Set<OWLAxiom> removed = new HashSet<OWLAxiom>();
+			for ( OWLAxiom axiom : imported.getAxioms() ) {
+				if ( !module.contains( axiom ) )
+					removed.add( axiom );
+			}
+			this.manager.removeAxioms( imported, removed );
+			moduleCount += imported.getAxiomCount();
+		}
+		context.stop();
+		logger.info( "Extracted module of {} axioms from {} axioms around {} classes", moduleCount, axiomCount, signature.size() );
+	}
+	
+	/**
+	 * @return the named classes asserted as subclass or equivalent class of an intersection with the parent,
+	 * as the StructuralReasoner would report them
+	 */
+	private Set<OWLClass> getAssertedSubClasses( OWLClass parent ) {
+		Set<OWLClass> subClasses = new HashSet<OWLClass>();
+		for ( OWLAxiom axiom : this.ontology.getReferencingAxioms( parent, Imports.INCLUDED ) ) {
+			if ( axiom instanceof OWLSubClassOfAxiom ) {
+				OWLSubClassOfAxiom subClassAxiom = (OWLSubClassOfAxiom) axiom;
+				if ( !subClassAxiom.getSubClass().isAnonymous() && subClassAxiom.getSuperClass().asConjunctSet().contains( parent ) )
+					subClasses.add( subClassAxiom.getSubClass().asOWLClass() );
+			} else if ( axiom instanceof OWLEquivalentClassesAxiom ) {
+				OWLEquivalentClassesAxiom equivalentAxiom = (OWLEquivalentClassesAxiom) axiom;
+				for ( OWLClassExpression expression : equivalentAxiom.getClassExpressions() ) {
+					if ( expression.asConjunctSet().contains( parent ) )
+						subClasses.addAll( equivalentAxiom.getNamedClasses() );
+				}
+			}
+		}
+		subClasses.remove( parent );
+		return subClasses;
+	}
+	
+	/**
+	 * Replace the ontology by its inferred subclass and class assertion axioms. With an inference cache set,
+	 * the axioms are loaded from the cache when the same ontology documents were inferred by the same reasoner
+	 * before, and saved to it otherwise.
+	 */
 	public void computeInference() {
-		OWLReasoner hermit = new ReasonerFactory().createReasoner( this.ontology );
+		OWLOntology inferred = this.inferAxioms();
+		if ( inferred != null )
+			this.ontology = inferred;
+	}
+	
+	/**
+	 * Add the inferred axioms of computeInference() to the loaded ontology when enabled by
+	 * {@link #setInference(boolean)}, so that the structural reasoner of the parsing sees the inferred hierarchy.
+	 */
+	protected void addInference() {
+		if ( !inference )
+			return;
+		OWLOntology inferred = this.inferAxioms();
+		if ( inferred == null )
+			return;
+		int axiomCount = this.ontology.getAxiomCount();
+		this.manager.addAxioms( this.ontology, inferred.getAxioms() );
+		this.manager.removeOntology( inferred );
+		logger.info( "Added {} inferred axioms to {}", this.ontology.getAxiomCount() - axiomCount, this.getClass().getSimpleName() );
+	}
+	
+	/**
+	 * @return a new ontology of the inferred subclass and class assertion axioms, from the inference cache if set,
+	 * null if it cannot be created
+	 */
+	private OWLOntology inferAxioms() {
+		Timer.Context context = MetricsRegistry.getDefault().timer( "inference." + this.getClass().getSimpleName() ).time();
+		OWLReasonerFactory factory = this.getReasonerFactory();
+		File cacheFile = null;
+		if ( inferenceCache != null ) {
+			cacheFile = inferenceCache.getFile( this.ontology, this.documentFile, this.getInferenceVariant(), factory );
+			OWLOntology inferred = cacheFile == null ? null : inferenceCache.load( this.manager, cacheFile );
+			if ( inferred != null ) {
+				context.stop();
+				return inferred;
+			}
+		}
 		
-		InferredOntologyGenerator generator = new InferredOntologyGenerator( hermit );
-		generator.addGenerator( new InferredSubClassAxiomGenerator() );
-		generator.addGenerator( new InferredClassAssertionAxiomGenerator() );
-		OWLOntology inferred;
+		logger.info( "Computing inferences of {} with {}", this.getClass().getSimpleName(), InferenceCache.getReasonerName( factory ) );
+		OWLReasoner owlReasoner = factory.createReasoner( this.ontology );
+		
+		// Only these generators, the default ones ask for property hierarchies ELK does not implement
+		List<InferredAxiomGenerator<? extends OWLAxiom>> generators = new ArrayList<InferredAxiomGenerator<? extends OWLAxiom>>();
+		generators.add( new InferredSubClassAxiomGenerator() );
+		generators.add( new InferredClassAssertionAxiomGenerator() );
+		InferredOntologyGenerator generator = new InferredOntologyGenerator( owlReasoner, generators );
 		try {
-			inferred = this.manager.createOntology();
+			OWLOntology inferred = this.manager.createOntology();
 			generator.fillOntology( this.dataFactory, inferred );
-			this.ontology = inferred;
+			if ( cacheFile != null )
+				inferenceCache.save( this.manager, inferred, cacheFile );
+			return inferred;
 		} catch (OWLOntologyCreationException e) {
 			logger.warn( "Enable to create inferred ontology", e );
+			return null;
+		} finally {
+			owlReasoner.dispose();
+			context.stop();
 		}
 	}
 	
+	/**
+	 * @return the module seeds the loaded ontology was reduced to, empty for the whole ontology
+	 */
+	private String getInferenceVariant() {
+		Set<String> seedIris = this.getModuleSeedIris();
+		if ( !moduleExtraction || seedIris.isEmpty() )
+			return "";
+		return "module " + new TreeSet<String>( seedIris );
+	}
+	
+	/**
+	 * @return the factory of the reasoner selected by {@link #setReasoner(String)} for this ontology
+	 */
+	protected OWLReasonerFactory getReasonerFactory() {
+		if ( reasonerName.equals( "hermit" ) )
+			return new ReasonerFactory();
+		OWLReasonerFactory elk = null;
+		try {
+			elk = (OWLReasonerFactory) Class.forName( ELK_FACTORY_CLASS ).getDeclaredConstructor().newInstance();
+		} catch ( ReflectiveOperationException e ) {
+			logger.warn( "ELK is not on the classpath, using HermiT" );
+			return new ReasonerFactory();
+		}
+		if ( reasonerName.equals( "auto" ) ) {
+			OWLProfileReport report = new OWL2ELProfile().checkOntology( this.ontology );
+			if ( !report.isInProfile() ) {
+				logger.info( "{} is outside the OWL 2 EL profile ({} violations), using HermiT", this.getClass().getSimpleName(), report.getViolations().size() );
+				return new ReasonerFactory();
+			}
+		}
+		return elk;
+	}
+	
+	/**
+	 * Extract the direct subclass relations into a ClassHierarchyIndex and release the OWLAPI manager,
+	 * ontology and reasoner. Only the parsed entities and the subclass relations remain, so parsing and
+	 * computeInference() have to come first.
+	 */
+	public void detach() {
+		if ( this.ontology == null )
+			return;
+		Timer.Context context = MetricsRegistry.getDefault().timer( "detach." + this.getClass().getSimpleName() ).time();
+		this.hierarchy = new ClassHierarchyIndex( this.ontology, this.reasoner );
+		this.reasoner.dispose();
+		this.manager.removeOntology( this.ontology );
+		this.reasoner = null;
+		this.relations = null;
+		this.classIds = null;
+		this.ontology = null;
+		this.manager = null;
+		context.stop();
+		logger.info( "Detached {} from OWLAPI, kept {} classes in the hierarchy index", this.getClass().getSimpleName(), this.hierarchy.getClassCount() );
+	}
+	
+	/**
+	 * @return whether the OWLAPI structures were released by {@link #detach()}
+	 */
+	public boolean isDetached() {
+		return this.hierarchy != null;
+	}
+	
 	public OntologyModel() {}
 	
 	public OntologyModel( File ontologyFile ) {
@@ -167,6 +574,8 @@ public class OntologyModel {
 	public Boolean isSubClassOfRelation( OWLClass source, OWLClass target, int distance ) {
 		if ( source == null || target == null )
 			return false;
+		if ( this.hierarchy != null )
+			return this.hierarchy.isDirectSubClassOf( source.getIRI().toString(), target.getIRI().toString() );
 		while ( distance > 0 ) {
 			NodeSet<OWLClass> superClassSet = this.reasoner.getSuperClasses( source, true );
 			for ( OWLClass superClass : superClassSet.getFlattened() ) {
@@ -199,6 +608,9 @@ public class OntologyModel {
 	public Boolean hasSameParent( OWLClass source, OWLClass target, OWLClass exclude ) {
 		if ( source == null || target == null )
 			return false;
+		if ( this.hierarchy != null )
+			return this.hierarchy.hasSameParent( source.getIRI().toString(), target.getIRI().toString(),
+					exclude == null ? null : exclude.getIRI().toString() );
 		Set<OWLClass> sourceParentSet = this.reasoner.getSuperClasses( source, true ).getFlattened();
 		Set<OWLClass> targetParentSet = this.reasoner.getSuperClasses( target, true ).getFlattened();
 		for ( OWLClass sourceParent : sourceParentSet ) {
@@ -215,4 +627,133 @@ public class OntologyModel {
 		}
 		return false;
 	}
+	
+	/**
+	 * Parse of one class of a phase. In parallel parse mode it runs concurrently with the other classes of the
+	 * phase, so it may only read the ontology, the reasoner and the entities of earlier phases.
+	 */
+	protected interface ClassParser<T> {
+		T parse( OWLClass owlClass );
+	}
+	
+	/**
+	 * @return the subclasses of the class, OWL:Nothing excluded, in the order the reasoner reports them
+	 */
+	protected List<OWLClass> getSubClassList( String iri ) {
+		List<OWLClass> subClasses = new ArrayList<OWLClass>();
+		for ( OWLClass subClass : this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( iri ) ), false ).getFlattened() ) {
+			// Ignore OWL:Nothing
+			if ( !subClass.isOWLNothing() )
+				subClasses.add( subClass );
+		}
+		return subClasses;
+	}
+	
+	/**
+	 * @return the object property relations of the classes, indexed on first use
+	 */
+	protected synchronized RelationIndex getRelationIndex() {
+		if ( this.relations == null ) {
+			Timer.Context context = MetricsRegistry.getDefault().timer( "relations." + this.getClass().getSimpleName() ).time();
+			this.relations = new RelationIndex( this.ontology );
+			context.stop();
+			logger.info( "Indexed {} relations of {}", this.relations.size(), this.getClass().getSimpleName() );
+		}
+		return this.relations;
+	}
+	
+	/**
+	 * @return the ids of the classes under the class, as one bit per class of the ontology signature, see
+	 * {@link #getClassId(OWLClass)}. The subclasses are the ones the reasoner reports, so testing a bit is the
+	 * same as finding the class among the non-direct super classes of a subclass.
+	 */
+	protected BitSet getSubClassBits( String iri ) {
+		this.indexClasses();
+		BitSet subClassBits = new BitSet( this.classIds.size() );
+		for ( OWLClass subClass : this.reasoner.getSubClasses( this.dataFactory.getOWLClass( IRI.create( iri ) ), false ).getFlattened() ) {
+			int id = this.getClassId( subClass );
+			if ( id >= 0 )
+				subClassBits.set( id );
+		}
+		return subClassBits;
+	}
+	
+	/**
+	 * @return the id of the class among the classes of the ontology signature, -1 if it is not one of them
+	 * or the classes have not been indexed by {@link #getSubClassBits(String)} yet
+	 */
+	protected int getClassId( OWLClass owlClass ) {
+		if ( this.classIds == null )
+			return -1;
+		Integer id = this.classIds.get( owlClass );
+		return id == null ? -1 : id;
+	}
+	
+	private synchronized void indexClasses() {
+		if ( this.classIds != null )
+			return;
+		HashMap<OWLClass, Integer> ids = new HashMap<OWLClass, Integer>();
+		for ( OWLClass owlClass : this.ontology.getClassesInSignature( Imports.INCLUDED ) )
+			ids.put( owlClass, ids.size() );
+		ids.put( this.dataFactory.getOWLNothing(), ids.size() );
+		this.classIds = ids;
+	}
+	
+	/**
+	 * Parse the classes on a fork-join pool of {@link #getParseThreads()} workers, or in this thread when
+	 * there is one. The results keep the order of the classes, so the caller fills its maps exactly as a
+	 * sequential parse would.
+	 */
+	protected <T> List<T> parseClasses( List<OWLClass> classes, ClassParser<T> parser ) {
+		Object[] results = new Object[classes.size()];
+		if ( parseThreads <= 1 || classes.size() <= PARSE_BATCH_SIZE ) {
+			for ( int i = 0; i < results.length; i ++ )
+				results[i] = parser.parse( classes.get( i ) );
+		} else {
+			ForkJoinPool pool = new ForkJoinPool( parseThreads );
+			try {
+				pool.invoke( new ParseTask<T>( classes, parser, results, 0, results.length ) );
+			} finally {
+				pool.shutdown();
+			}
+		}
+		List<T> parsed = new ArrayList<T>( results.length );
+		for ( Object result : results ) {
+			@SuppressWarnings( "unchecked" )
+			T value = (T) result;
+			parsed.add( value );
+		}
+		return parsed;
+	}
+	
+	private static class ParseTask<T> extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private List<OWLClass> classes;
+		private ClassParser<T> parser;
+		private Object[] results;
+		private int start;
+		private int end;
+		
+		ParseTask( List<OWLClass> classes, ClassParser<T> parser, Object[] results, int start, int end ) {
+			this.classes = classes;
+			this.parser = parser;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		protected void compute() {
+			if ( this.end - this.start <= PARSE_BATCH_SIZE ) {
+				for ( int i = this.start; i < this.end; i ++ )
+					this.results[i] = this.parser.parse( this.classes.get( i ) );
+			} else {
+				int middle = ( this.start + this.end ) >>> 1;
+				invokeAll( new ParseTask<T>( this.classes, this.parser, this.results, this.start, middle ),
+						new ParseTask<T>( this.classes, this.parser, this.results, middle, this.end ) );
+			}
+		}
+	}
 }
@@ -0,0 +1,133 @@
+/**
+ * @file OntologyModelRegistry.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import cellline.metrics.MetricsRegistry;
+
+/**
+ * Ontology models loaded once per process, keyed by model class and source (canonical file path or
+ * classpath resource). Concurrent requests for the same source wait for a single load, later requests
+ * get the same instance and are logged as an avoided duplicate load. The models are shared, callers
+ * treat them as read-only once loaded.
+ */
+public class OntologyModelRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger( OntologyModelRegistry.class );
+
+	public static final String BUNDLED_DOID_SOURCE = "classpath:disease/doid_merged.owl";
+
+	private static final OntologyModelRegistry DEFAULT = new OntologyModelRegistry();
+
+	/**
+	 * @return the registry shared by the applications and matchers
+	 */
+	public static OntologyModelRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	private ConcurrentMap<String, FutureTask<?>> models = new ConcurrentHashMap<String, FutureTask<?>>();
+
+	/**
+	 * @return the DOID bundled with the application
+	 */
+	public DiseaseOntologyModel getDiseaseOntologyModel() {
+		return this.get( DiseaseOntologyModel.class, BUNDLED_DOID_SOURCE, new Callable<DiseaseOntologyModel>() {
+			public DiseaseOntologyModel call() {
+				return new DiseaseOntologyModel();
+			}
+		} );
+	}
+
+	public DiseaseOntologyModel getDiseaseOntologyModel( final File doidFile ) {
+		return this.get( DiseaseOntologyModel.class, getSource( doidFile ), new Callable<DiseaseOntologyModel>() {
+			public DiseaseOntologyModel call() {
+				return new DiseaseOntologyModel( doidFile );
+			}
+		} );
+	}
+
+	public EFOOntologyModel getEFOOntologyModel( final File efoFile ) {
+		return this.get( EFOOntologyModel.class, getSource( efoFile ), new Callable<EFOOntologyModel>() {
+			public EFOOntologyModel call() {
+				return new EFOOntologyModel( efoFile );
+			}
+		} );
+	}
+
+	public CLOOntologyModel getCLOOntologyModel( final File cloFile ) {
+		return this.get( CLOOntologyModel.class, getSource( cloFile ), new Callable<CLOOntologyModel>() {
+			public CLOOntologyModel call() {
+				return new CLOOntologyModel( cloFile );
+			}
+		} );
+	}
+
+	/**
+	 * @return whether a model of the class was loaded or is loading from the source
+	 */
+	public boolean contains( Class<? extends OntologyModel> type, String source ) {
+		return this.models.containsKey( getKey( type, source ) );
+	}
+
+	/**
+	 * Forget all models, e.g. to reload changed files in a long-running process.
+	 */
+	public void clear() {
+		this.models.clear();
+	}
+
+	private <T extends OntologyModel> T get( Class<T> type, String source, Callable<T> loader ) {
+		String key = getKey( type, source );
+		FutureTask<T> task = new FutureTask<T>( loader );
+		FutureTask<?> model = this.models.putIfAbsent( key, task );
+		if ( model == null ) {
+			model = task;
+			task.run();
+		} else {
+			logger.info( "Reusing {} loaded from {} instead of loading it again", type.getSimpleName(), source );
+			MetricsRegistry.getDefault().counter( "load.reused" ).inc();
+		}
+		try {
+			return type.cast( model.get() );
+		} catch ( InterruptedException e ) {
+			logger.error( "Interrupted while loading " + type.getSimpleName() + " from " + source, e );
+			System.exit( -1 );
+		} catch ( ExecutionException e ) {
+			logger.error( "Fail to load " + type.getSimpleName() + " from " + source, e.getCause() );
+			System.exit( -1 );
+		}
+		return null;
+	}
+
+	private static String getKey( Class<? extends OntologyModel> type, String source ) {
+		// A module and the whole ontology from the same source are different models
+		return type.getName() + " " + source + ( OntologyModel.isModuleExtraction() ? " module" : "" );
+	}
+
+	/**
+	 * @return the canonical path of the file, so that different paths to one file share the model
+	 */
+	public static String getSource( File file ) {
+		try {
+			return file.getCanonicalPath();
+		} catch ( IOException e ) {
+			return file.getAbsolutePath();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ * @file RelationIndex.java
+ * @author Edison Ong
+ * @since Oct 19, 2026
+ * @version 1.0
+ * @comment
+ */
+package cellline.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLNaryBooleanClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLQuantifiedObjectRestriction;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+
+/**
+ * Object property relations of the named classes of an ontology, built in one pass over its subclass and
+ * equivalent class axioms. A class C with an axiom C SubClassOf (or EquivalentTo) ... p some F ... is related
+ * through p to the named classes of the filler F, at any depth of intersections, unions and nested
+ * restrictions. The fillers of a class are kept sorted, as the signature of an axiom is.
+ */
+public class RelationIndex {
+
+	private HashMap<OWLObjectProperty, HashMap<OWLClass, Set<OWLClass>>> relations = new HashMap<OWLObjectProperty, HashMap<OWLClass, Set<OWLClass>>>();
+	private int size = 0;
+
+	public RelationIndex( OWLOntology ontology ) {
+		for ( OWLSubClassOfAxiom axiom : ontology.getAxioms( AxiomType.SUBCLASS_OF ) ) {
+			if ( !axiom.getSubClass().isAnonymous() )
+				this.addRelations( axiom.getSubClass().asOWLClass(), axiom.getSuperClass() );
+		}
+		for ( OWLEquivalentClassesAxiom axiom : ontology.getAxioms( AxiomType.EQUIVALENT_CLASSES ) ) {
+			for ( OWLClass subject : axiom.getNamedClasses() ) {
+				for ( OWLClassExpression expression : axiom.getClassExpressionsMinus( subject ) )
+					this.addRelations( subject, expression );
+			}
+		}
+	}
+
+	private void addRelations( OWLClass subject, OWLClassExpression expression ) {
+		if ( expression instanceof OWLQuantifiedObjectRestriction ) {
+			OWLQuantifiedObjectRestriction restriction = (OWLQuantifiedObjectRestriction) expression;
+			if ( !restriction.getProperty().isAnonymous() )
+				this.addFillers( subject, restriction.getProperty().asOWLObjectProperty(), restriction.getFiller().getClassesInSignature() );
+			this.addRelations( subject, restriction.getFiller() );
+		} else if ( expression instanceof OWLNaryBooleanClassExpression ) {
+			for ( OWLClassExpression operand : ( (OWLNaryBooleanClassExpression) expression ).getOperands() )
+				this.addRelations( subject, operand );
+		}
+	}
+
+	private void addFillers( OWLClass subject, OWLObjectProperty property, Set<OWLClass> fillers ) {
+		if ( fillers.isEmpty() )
+			return;
+		HashMap<OWLClass, Set<OWLClass>> subjects = this.relations.get( property );
+		if ( subjects == null ) {
+			subjects = new HashMap<OWLClass, Set<OWLClass>>();
+			this.relations.put( property, subjects );
+		}
+		Set<OWLClass> subjectFillers = subjects.get( subject );
+		if ( subjectFillers == null ) {
+			subjectFillers = new TreeSet<OWLClass>();
+			subjects.put( subject, subjectFillers );
+		}
+		int before = subjectFillers.size();
+		subjectFillers.addAll( fillers );
+		this.size += subjectFillers.size() - before;
+	}
+
+	/**
+	 * @return the number of (subject, property, filler) relations
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return the named classes the subject is related to through the property, sorted, empty if there is none
+	 */
+	public Set<OWLClass> getFillers( OWLClass subject, OWLObjectProperty property ) {
+		HashMap<OWLClass, Set<OWLClass>> subjects = this.relations.get( property );
+		Set<OWLClass> fillers = subjects == null ? null : subjects.get( subject );
+		return fillers == null ? Collections.<OWLClass>emptySet() : Collections.unmodifiableSet( fillers );
+	}
+}
@@ -7,7 +7,9 @@
  */
 package cellline.object;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 
@@ -178,6 +180,20 @@ public class Disease implements Comparable<Disease> {
 		this.synonyms.addAll(synonyms);
 	}
 	
+	private List<Disease> crossReferenceDiseases = Collections.emptyList();
+	/**
+	 * @return the DOID and EFO diseases with this accession or a cross reference to it, empty if not assigned
+	 */
+	public List<Disease> getCrossReferenceDiseases() {
+		return crossReferenceDiseases;
+	}
+	/**
+	 * @param crossReferenceDiseases the DOID and EFO diseases with this accession or a cross reference to it
+	 */
+	public void setCrossReferenceDiseases(List<Disease> crossReferenceDiseases) {
+		this.crossReferenceDiseases = crossReferenceDiseases;
+	}
+	
 	public Disease() {
 		this.synonyms = new HashSet<String>();
 		this.crossReferences = new HashSet<CrossReference>();